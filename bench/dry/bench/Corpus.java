@@ -0,0 +1,67 @@
+/**
+ * Corpus.java
+ * Builds the Java sources the benchmarks are run on.
+ *
+ * A corpus is a single class of synthetic wet code made by dry.Generator
+ * from the sample files in dry/samples, with half of its methods cloned.
+ * The random seed is fixed, so every run benchmarks the same code.
+ *
+ * Sizes:
+ *      small  -- 1 000 AST nodes
+ *      medium -- 100 000 AST nodes
+ *      huge   -- 1 000 000 AST nodes (about 7 MB of source)
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.bench;
+
+import japa.parser.JavaParser;
+import japa.parser.ast.CompilationUnit;
+
+import dry.Generator;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+
+public class Corpus {
+
+    // directory containing the seed files; can be changed with -Ddry.samples=<dir>
+    static final String samples = System.getProperty("dry.samples", "dry/samples");
+
+    private Corpus() {
+        // hide the constructor
+    }
+
+    // returns the number of AST nodes in a corpus of the given size
+    public static long nodes(String size) {
+        switch(size) {
+            case "small":
+            return 1000;
+
+            case "medium":
+            return 100000;
+
+            case "huge":
+            return 1000000;
+
+            default:
+            throw new IllegalArgumentException("invalid corpus size... " + size);
+        }
+    }
+
+    // returns the source code of a corpus of the given size
+    public static byte[] source(String size) throws Exception {
+        StringWriter out = new StringWriter();
+        new Generator(samples, 0.5, 0).write(out, "gen", "Corpus", "Corpus.java", nodes(size));
+        return out.toString().getBytes("UTF-8");
+    }
+
+    // parses source code produced by source()
+    public static CompilationUnit parse(byte[] source) throws Exception {
+        return JavaParser.parse(new ByteArrayInputStream(source), "UTF-8");
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * HeuristicBenchmark.java
+ * Measures every heuristic end-to-end on an already parsed file,
+ * i.e. what DRY.test() costs after parsing. "FusedHeuristic" measures
+ * all the heuristics of DRY.heuristics computed from a single traversal.
+ *
+ * The cached hash codes of the nodes are invalidated before every run,
+ * so each run pays for hashing the tree just like a freshly parsed file.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.bench;
+
+import japa.parser.ast.CompilationUnit;
+import japa.parser.ast.Node;
+
+import dry.DRY;
+import dry.heuristics.FusedHeuristic;
+import dry.heuristics.Heuristic;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HeuristicBenchmark {
+
+    @Param({"ZeroHeuristic", "Iteration1Heuristic", "AllPairsNaiveHeuristic",
+        "AllPairsWeightedHeuristic", "ModifiedBakerHeuristic", "Type2NaiveHeuristic", "Type2WeightedHeuristic",
+        "SuffixArrayHeuristic", "LexicalBakerHeuristic", "FusedHeuristic"})
+    String heuristic;
+
+    @Param({"small", "medium", "huge"})
+    String size;
+
+    CompilationUnit cu;
+    Heuristic<Object> visitor;
+    FusedHeuristic fused;
+
+    @Setup
+    public void setUp() throws Exception {
+        cu = Corpus.parse(Corpus.source(size));
+        if (heuristic.equals("FusedHeuristic")) {
+            Class<?>[] classes = new Class<?>[DRY.heuristics.length];
+            for (int h = 0; h < classes.length; h++) {
+                classes[h] = DRY.loadHeuristic("dry.heuristics." + DRY.heuristics[h]);
+            }
+            fused = new FusedHeuristic(classes);
+        } else {
+            visitor = DRY.newHeuristic(DRY.loadHeuristic("dry.heuristics." + heuristic));
+        }
+    }
+
+    @Benchmark
+    public Object visitCompilationUnit() {
+        Node.invalidateHashCodes();
+        if (fused != null) {
+            return fused.score(cu);
+        }
+        return DRY.test(visitor, cu);
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * ParseBenchmark.java
+ * Measures how long it takes to parse small, medium and huge files,
+ * with the shared static JavaParser and with a ReusableParser, from a
+ * stream and from source code that is decoded once as a whole, and how
+ * long the LexicalBakerHeuristic takes to score the same source code
+ * without parsing it.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.bench;
+
+import japa.parser.JavaParser;
+import japa.parser.ReusableParser;
+import japa.parser.ast.CompilationUnit;
+
+import dry.DRY;
+import dry.heuristics.LexicalBakerHeuristic;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({"small", "medium", "huge"})
+    String size;
+
+    byte[] source;
+    ReusableParser parser;
+    LexicalBakerHeuristic<Object> lexicalBaker;
+
+    @Setup
+    public void setUp() throws Exception {
+        source = Corpus.source(size);
+        parser = new ReusableParser();
+        lexicalBaker = new LexicalBakerHeuristic<Object>();
+    }
+
+    @Benchmark
+    public CompilationUnit javaParser() throws Exception {
+        return JavaParser.parse(new ByteArrayInputStream(source), "UTF-8");
+    }
+
+    @Benchmark
+    public CompilationUnit reusableParser() throws Exception {
+        return parser.parse(new ByteArrayInputStream(source), "UTF-8");
+    }
+
+    @Benchmark
+    public CompilationUnit reusableParserDecoded() throws Exception {
+        return parser.parse(source, "UTF-8");
+    }
+
+    @Benchmark
+    public Double lexicalBakerDecoded() {
+        return DRY.test(lexicalBaker, size, JavaParser.decode(ByteBuffer.wrap(source), "UTF-8"));
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * TreeBenchmark.java
+ * Measures the operations on whole parse trees that the heuristics
+ * depend on: deep equality (EqualsVisitor), structural hash codes
+ * (Node.hashCode, with and without the cache), printing (DumpVisitor)
+ * and fingerprinting the printed source (HashingSink).
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.bench;
+
+import japa.parser.ast.CompilationUnit;
+import japa.parser.ast.Node;
+import japa.parser.ast.visitor.EqualsVisitor;
+import japa.parser.ast.visitor.HashingSink;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TreeBenchmark {
+
+    @Param({"small", "medium", "huge"})
+    String size;
+
+    // two separately parsed copies of the same corpus, so equals() has to compare every node
+    CompilationUnit cu;
+    CompilationUnit copy;
+
+    final HashingSink sink = new HashingSink();
+
+    @Setup
+    public void setUp() throws Exception {
+        byte[] source = Corpus.source(size);
+        cu = Corpus.parse(source);
+        copy = Corpus.parse(source);
+    }
+
+    @Benchmark
+    public boolean equalsVisitor() {
+        return EqualsVisitor.equals(cu, copy);
+    }
+
+    // hash code of the whole tree, computed from scratch
+    @Benchmark
+    public int hashCodeCold() {
+        Node.invalidateHashCodes();
+        return cu.hashCode();
+    }
+
+    // hash code of the whole tree, when it has already been computed
+    @Benchmark
+    public int hashCodeCached() {
+        return cu.hashCode();
+    }
+
+    @Benchmark
+    public String dumpVisitor() {
+        return cu.toString();
+    }
+
+    @Benchmark
+    public long hashingSink() {
+        return sink.reset().hash(cu).getLow();
+    }
+}
@@ -0,0 +1,28 @@
+#!/bin/bash
+# Runs the JMH benchmarks in bench/ with allocation profiling
+# J. Hassler Thurston
+# CSC200H Research Project
+# Fall 2014
+#
+# Usage: ./benchScript.sh [JMH options, e.g. a benchmark name pattern like "Parse"]
+# The JMH jars (jmh-core, jmh-generator-annprocess, jopt-simple and
+# commons-math3) must be listed in JMH_CLASSPATH, separated by ':'.
+
+
+if [ -z "$JMH_CLASSPATH" ]; then
+	echo "JMH_CLASSPATH is not set; it must list the JMH jars" >&2
+	exit 1
+fi
+# Where the compiled classes go
+classes="${TMPDIR:-/tmp}/dry-bench"
+# File to put all the data
+resultfile="bench_results.csv"
+
+# compile the parser, the heuristics and the benchmarks;
+# the JMH annotation processor generates the benchmark harness
+rm -rf "$classes"
+mkdir -p "$classes"
+javac -nowarn -cp "$JMH_CLASSPATH" -d "$classes" `find japa/src dry bench -name '*.java'` || exit 1
+
+# run the benchmarks; -prof gc reports the bytes allocated per operation
+java -cp "$classes:$JMH_CLASSPATH" org.openjdk.jmh.Main -prof gc -rf csv -rff "$resultfile" "$@"
@@ -0,0 +1,309 @@
+/**
+ * Batch.java
+ * Computes DRY scores for many files in a single run.
+ * Instead of starting one JVM per (heuristic, file) pair, we collect
+ * every input file once, parse each file once, and score it with
+ * every requested heuristic, streaming the results as we go.
+ * Files are scored in parallel by a ParallelScorer.
+ *
+ * Inputs can be Java files, directories (searched recursively for
+ * .java files), glob patterns such as "src/**\/*.java", a list file
+ * given as @listfile, or "-" to read a list of files from stdin.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class Batch {
+
+    // command-line arguments
+    static String[] heuristics = DRY.heuristics;
+    static String format = "csv";
+    static String output = null;
+    static int jobs = Runtime.getRuntime().availableProcessors();
+    static boolean timing = false;
+    static String cacheFile = null;
+    static int cacheSize = ScoreCache.defaultSize;
+    static List<String> inputs = new ArrayList<String>();
+
+    /**
+     * Main method
+     * Parses command-line arguments, collects the input files and scores
+     * each of them with every requested heuristic.
+    */
+    public static void main(String[] args) throws Exception {
+        // parse command line arguments
+        parseCommandArgs(args);
+
+        // find every file we need to score
+        List<String> files = collectFiles(inputs);
+
+        // look up the heuristics once, instead of once per file
+        Class<?>[] classes = new Class<?>[heuristics.length];
+        for (int h = 0; h < heuristics.length; h++) {
+            classes[h] = DRY.loadHeuristic("dry.heuristics." + heuristics[h]);
+            if (classes[h] == null) {
+                System.exit(1);
+            }
+        }
+
+        PrintStream out = output == null ? System.out : new PrintStream(new FileOutputStream(output));
+        ResultWriter writer = ResultWriter.forFormat(format, out, heuristics);
+        writer.setTiming(timing);
+        writer.begin();
+        ParallelScorer scorer = new ParallelScorer(classes, jobs);
+        ScoreCache cache = null;
+        if (cacheFile != null) {
+            cache = new ScoreCache(cacheFile, cacheSize);
+            scorer.setCache(cache);
+        }
+        scorer.score(files, writer);
+        writer.end();
+        if (cache != null) {
+            try {
+                cache.save();
+            } catch (IOException e) {
+                System.err.println("Warning: could not save the score cache " + cacheFile + ": " + e.getMessage());
+            }
+        }
+        if (timing) {
+            scorer.printSummary(System.err);
+        }
+        if (output != null) {
+            out.close();
+        }
+    }
+
+    /**
+     * Parses command line arguments
+     * Arguments must be of this form: [-H heuristics] [-f format] [-o file] [-j jobs] [-t] [-C cache] <input>...
+    */
+    public static void parseCommandArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch(args[i]) {
+                case "-H":
+                case "--heuristics":
+                heuristics = parseHeuristics(requireValue(args, i++));
+                break;
+
+                case "-f":
+                case "--format":
+                format = requireValue(args, i++);
+                if (!format.equals("csv") && !format.equals("json")) {
+                    System.err.println("invalid format... " + format);
+                    System.exit(1);
+                }
+                break;
+
+                case "-o":
+                case "--output":
+                output = requireValue(args, i++);
+                break;
+
+                case "-j":
+                case "--jobs":
+                try {
+                    jobs = Integer.parseInt(requireValue(args, i++));
+                } catch (NumberFormatException e) {
+                    jobs = 0;
+                }
+                if (jobs < 1) {
+                    System.err.println("invalid number of jobs... " + args[i]);
+                    System.exit(1);
+                }
+                break;
+
+                case "-t":
+                case "--timing":
+                timing = true;
+                break;
+
+                case "-C":
+                case "--cache":
+                cacheFile = requireValue(args, i++);
+                break;
+
+                case "--cache-size":
+                try {
+                    cacheSize = Integer.parseInt(requireValue(args, i++));
+                } catch (NumberFormatException e) {
+                    cacheSize = 0;
+                }
+                if (cacheSize < 1) {
+                    System.err.println("invalid cache size... " + args[i]);
+                    System.exit(1);
+                }
+                break;
+
+                default:
+                inputs.add(args[i]);
+                break;
+            }
+        }
+        if (inputs.isEmpty()) {
+            printUsage();
+            System.exit(0);
+        }
+    }
+
+    // returns the value following the option at index i, or exits if there is none
+    static String requireValue(String[] args, int i) {
+        if (i + 1 >= args.length) {
+            System.err.println("missing value for " + args[i]);
+            System.exit(1);
+        }
+        return args[i + 1];
+    }
+
+    // parses a comma separated list of heuristics, or "all"
+    static String[] parseHeuristics(String list) {
+        if (list.equals("all")) {
+            return DRY.heuristics;
+        }
+        String[] names = list.split(",");
+        for (String name : names) {
+            if (!Arrays.asList(DRY.heuristics).contains(name)) {
+                System.err.println("invalid heuristic... " + name);
+                System.exit(1);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Prints usage information
+    */
+    public static void printUsage() {
+        String usage = "";
+        usage += "DRY batch usage: java DRY --batch [options] <file|directory|glob|@listfile|->...\n";
+        usage += "\t-H, --heuristics <h1,h2,...>: heuristics to run (default: all)\n";
+        usage += "\t-f, --format <csv|json>: output format (default: csv). json prints one object per line\n";
+        usage += "\t-o, --output <file>: write results to a file instead of stdout\n";
+        usage += "\t-j, --jobs <n>: number of files to score in parallel (default: number of processors)\n";
+        usage += "\t-t, --timing: add the time taken for each file to the output, and print a throughput summary to stderr\n";
+        usage += "\t-C, --cache <file>: reuse the scores of files whose contents were scored before, and save the new ones to file\n";
+        usage += "\t--cache-size <n>: the most scores the cache keeps; the least recently used ones are dropped (default: " + ScoreCache.defaultSize + ")\n";
+        usage += "\tDirectories are searched recursively for .java files, globs such as 'src/**/*.java' are expanded, ";
+        usage += "@listfile reads file names from listfile and - reads file names from stdin.";
+        System.out.println(usage);
+    }
+
+
+    /**
+     * Expands the command-line inputs into a list of files, in the order they were given.
+     * Each file is only listed once, even if several inputs match it.
+    */
+    public static List<String> collectFiles(List<String> specs) throws IOException {
+        Set<String> files = new LinkedHashSet<String>();
+        for (String spec : specs) {
+            if (spec.equals("-")) {
+                readList(System.in, files);
+            } else if (spec.startsWith("@")) {
+                InputStream in = new FileInputStream(spec.substring(1));
+                try {
+                    readList(in, files);
+                } finally {
+                    in.close();
+                }
+            } else if (isGlob(spec)) {
+                files.addAll(expandGlob(spec));
+            } else if (Files.isDirectory(Paths.get(spec))) {
+                files.addAll(walk(Paths.get(spec), null));
+            } else {
+                // missing files are reported when they are scored
+                files.add(spec);
+            }
+        }
+        return new ArrayList<String>(files);
+    }
+
+    // reads one file name per line; blank lines are skipped
+    static void readList(InputStream in, Set<String> files) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty()) {
+                files.add(line);
+            }
+        }
+    }
+
+    static boolean isGlob(String spec) {
+        for (char c : "*?[{".toCharArray()) {
+            if (spec.indexOf(c) >= 0) return true;
+        }
+        return false;
+    }
+
+    // walks the longest glob-free directory prefix of the pattern and keeps the matching files
+    static List<String> expandGlob(String pattern) throws IOException {
+        String base = "";
+        int slash = -1;
+        for (int i = 0; i < pattern.length() && "*?[{".indexOf(pattern.charAt(i)) < 0; i++) {
+            if (pattern.charAt(i) == '/') slash = i;
+        }
+        if (slash >= 0) {
+            base = pattern.substring(0, slash + 1);
+        }
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        Path root = Paths.get(base);
+        if (!base.isEmpty() && !Files.isDirectory(root)) {
+            return new ArrayList<String>();
+        }
+        return walk(root, matcher);
+    }
+
+    // lists the regular files below a directory, sorted so that runs are reproducible.
+    // Without a matcher, only .java files are kept.
+    static List<String> walk(Path root, final PathMatcher matcher) throws IOException {
+        final List<String> found = new ArrayList<String>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (!attrs.isRegularFile()) {
+                    return FileVisitResult.CONTINUE;
+                }
+                if (matcher == null ? file.toString().endsWith(".java") : matcher.matches(file)) {
+                    found.add(file.toString());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                System.err.println("Error reading file: " + file);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        Collections.sort(found);
+        return found;
+    }
+}
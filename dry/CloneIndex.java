@@ -0,0 +1,572 @@
+/**
+ * CloneIndex.java
+ * Finds the code that was copied between the files of a project.
+ *
+ * The heuristics score every file on its own, so a method copied from
+ * one file into another never counts against either of them. A
+ * CloneIndex looks at a whole project instead: it maps the fingerprint
+ * of every method, constructor and statement (blocks included) of at
+ * least minSize nodes to the places where it occurs, in any file. The
+ * fingerprints are those of japa.parser.ast.visitor.NormalizedHasher,
+ * so copies with consistently renamed variables and literals are found
+ * too. Every fingerprint that occurs more than once is a clone class.
+ *
+ * The index is built in a single pass over the files on a work-stealing
+ * thread pool, like the ParallelScorer: every worker parses a file with
+ * a parser borrowed from a ParserPool, fingerprints it with its own
+ * hasher and collects the fragments of the file, and the fragments are
+ * added to the index in the order the files were given, no matter which
+ * order the tasks finish in. So the report is the same on every run.
+ * The parse tree is not kept. The index holds one entry per distinct
+ * fingerprint (its number of copies, its size, the fingerprint of the
+ * fragment around its first copy and where that copy is), in primitive
+ * arrays of an open addressing hash table, and one more location for
+ * every further copy. So its memory grows with the number of distinct
+ * fragments and copies, not with the number of nodes of the project.
+ *
+ * A clone class whose copies all lie in the copies of one other clone
+ * class, one in each, is only a part of that class, and is not reported
+ * on its own. The project DRY score is the fraction of the nodes of the
+ * project that are redundant copies: every reported clone class of k
+ * copies of n nodes adds (k-1)*n of them, but a node is counted only once.
+ * The classes are counted from the largest fragments down, and a copy that
+ * lies in a redundant copy of a larger class is already counted; of the
+ * other copies of a class, all but one are redundant.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry;
+
+import japa.parser.ParserPool;
+import japa.parser.ReusableParser;
+import japa.parser.TokenMgrError;
+import japa.parser.ast.CompilationUnit;
+import japa.parser.ast.Node;
+import japa.parser.ast.NodeKind;
+import japa.parser.ast.body.ConstructorDeclaration;
+import japa.parser.ast.body.MethodDeclaration;
+import japa.parser.ast.stmt.Statement;
+import japa.parser.ast.visitor.NormalizedHasher;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+public class CloneIndex {
+
+    // default number of nodes a fragment needs to be indexed; smaller ones are copied by chance
+    public static final int defaultMinSize = 10;
+
+    static final NodeKind[] kinds = NodeKind.values();
+
+    // command-line arguments
+    static String output = null;
+    static int jobs = Runtime.getRuntime().availableProcessors();
+    static int minSize = defaultMinSize;
+    static boolean timing = false;
+    static List<String> inputs = new ArrayList<String>();
+
+    // the number of nodes a fragment needs to be indexed
+    final int minimum;
+
+    // the indexed files; locations refer to them by their index
+    List<String> files = new ArrayList<String>();
+
+    // the hash table: the entry of each fingerprint plus 1, or 0 for a free slot
+    int[] table = new int[1024];
+
+    // per entry: the fingerprint, its number of copies, its number of nodes and its kind,
+    // the fingerprint of the fragment around its first copy (0 if there is none), whether
+    // that is the one around every copy, and its first and last location
+    long[] fingerprints = new long[512];
+    int[] copies = new int[512];
+    int[] sizes = new int[512];
+    int[] kindOrdinals = new int[512];
+    long[] parents = new long[512];
+    boolean[] sameParent = new boolean[512];
+    int[] firstLocations = new int[512];
+    int[] lastLocations = new int[512];
+    int entries = 0;
+
+    // per location: the file, where the copy begins and ends, and the next location of the same entry, or -1
+    int[] locationFiles = new int[512];
+    int[] beginLines = new int[512];
+    int[] beginColumns = new int[512];
+    int[] endLines = new int[512];
+    int[] endColumns = new int[512];
+    int[] nextLocations = new int[512];
+    int locations = 0;
+
+    // statistics of the indexed files
+    long nodes = 0;
+    long fragments = 0;
+    int indexed = 0;
+    int failed = 0;
+    long wallNanos = 0;
+
+    // one hasher per worker thread
+    final ThreadLocal<NormalizedHasher> hashers = new ThreadLocal<NormalizedHasher>() {
+        @Override
+        protected NormalizedHasher initialValue() {
+            return new NormalizedHasher();
+        }
+    };
+
+    public CloneIndex(int minimum) {
+        this.minimum = minimum;
+    }
+    public CloneIndex() {
+        this(defaultMinSize);
+    }
+
+    /**
+     * Main method
+     * Parses command-line arguments, indexes the fragments of every input
+     * file and prints the project DRY score and the clone classes.
+    */
+    public static void main(String[] args) throws Exception {
+        // parse command line arguments
+        parseCommandArgs(args);
+
+        // find every file we need to index
+        List<String> files = Batch.collectFiles(inputs);
+
+        CloneIndex index = new CloneIndex(minSize);
+        index.build(files, jobs);
+        PrintStream out = output == null ? System.out : new PrintStream(new FileOutputStream(output));
+        index.writeReport(out);
+        if (timing) {
+            index.printSummary(System.err, jobs);
+        }
+        if (output != null) {
+            out.close();
+        }
+    }
+
+    /**
+     * Parses command line arguments
+     * Arguments must be of this form: [-m size] [-o file] [-j jobs] [-t] <input>...
+    */
+    public static void parseCommandArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch(args[i]) {
+                case "-m":
+                case "--min-size":
+                try {
+                    minSize = Integer.parseInt(Batch.requireValue(args, i++));
+                } catch (NumberFormatException e) {
+                    minSize = 0;
+                }
+                if (minSize < 1) {
+                    System.err.println("invalid minimum size... " + args[i]);
+                    System.exit(1);
+                }
+                break;
+
+                case "-o":
+                case "--output":
+                output = Batch.requireValue(args, i++);
+                break;
+
+                case "-j":
+                case "--jobs":
+                try {
+                    jobs = Integer.parseInt(Batch.requireValue(args, i++));
+                } catch (NumberFormatException e) {
+                    jobs = 0;
+                }
+                if (jobs < 1) {
+                    System.err.println("invalid number of jobs... " + args[i]);
+                    System.exit(1);
+                }
+                break;
+
+                case "-t":
+                case "--timing":
+                timing = true;
+                break;
+
+                default:
+                inputs.add(args[i]);
+                break;
+            }
+        }
+        if (inputs.isEmpty()) {
+            printUsage();
+            System.exit(0);
+        }
+    }
+
+    /**
+     * Prints usage information
+    */
+    public static void printUsage() {
+        String usage = "";
+        usage += "DRY clones usage: java DRY --clones [options] <file|directory|glob|@listfile|->...\n";
+        usage += "\tprints the project DRY score (the fraction of the nodes of all files that are redundant copies)\n";
+        usage += "\tand every class of copied methods, constructors and statements, with the files and lines of its copies\n";
+        usage += "\t-m, --min-size <n>: only index fragments of at least n nodes (default: " + defaultMinSize + ")\n";
+        usage += "\t-o, --output <file>: write the report to a file instead of stdout\n";
+        usage += "\t-j, --jobs <n>: number of files to index in parallel (default: number of processors)\n";
+        usage += "\t-t, --timing: print the time taken and the size of the index to stderr\n";
+        usage += "\tInputs are given as for --batch.";
+        System.out.println(usage);
+    }
+
+    // the indexed fragments of a single file, in pre-order, and its number of nodes
+    static class Fragments {
+        int nodes = 0;
+        long[] fingerprints = new long[256];
+        long[] parents = new long[256];
+        int[] sizes = new int[256];
+        int[] kindOrdinals = new int[256];
+        int[] beginLines = new int[256];
+        int[] beginColumns = new int[256];
+        int[] endLines = new int[256];
+        int[] endColumns = new int[256];
+        int size = 0;
+        // the fragments around the current one, innermost last
+        int[] open = new int[64];
+        int depth = 0;
+
+        // adds the node with the given fingerprint and size, inside the innermost open fragment that contains it
+        void add(Node n, long fingerprint, int nodes) {
+            while (depth > 0 && !contains(open[depth - 1], n)) {
+                depth--;
+            }
+            if (size == fingerprints.length) {
+                int length = size * 2;
+                fingerprints = Arrays.copyOf(fingerprints, length);
+                parents = Arrays.copyOf(parents, length);
+                sizes = Arrays.copyOf(sizes, length);
+                kindOrdinals = Arrays.copyOf(kindOrdinals, length);
+                beginLines = Arrays.copyOf(beginLines, length);
+                beginColumns = Arrays.copyOf(beginColumns, length);
+                endLines = Arrays.copyOf(endLines, length);
+                endColumns = Arrays.copyOf(endColumns, length);
+            }
+            fingerprints[size] = fingerprint;
+            parents[size] = depth > 0 ? fingerprints[open[depth - 1]] : 0;
+            sizes[size] = nodes;
+            kindOrdinals[size] = n.getKind().ordinal();
+            beginLines[size] = n.getBeginLine();
+            beginColumns[size] = n.getBeginColumn();
+            endLines[size] = n.getEndLine();
+            endColumns[size] = n.getEndColumn();
+            if (depth == open.length) {
+                open = Arrays.copyOf(open, depth * 2);
+            }
+            open[depth++] = size++;
+        }
+
+        // returns whether fragment f ends after node n begins; n never begins before f does
+        boolean contains(int f, Node n) {
+            return n.getBeginLine() < endLines[f]
+                || (n.getBeginLine() == endLines[f] && n.getBeginColumn() <= endColumns[f]);
+        }
+    }
+
+    /**
+     * Indexes every fragment of every file, on the given number of threads.
+     * Files that cannot be read or parsed are reported and skipped.
+    */
+    public void build(final List<String> files, int threads) throws InterruptedException {
+        long start = System.nanoTime();
+        this.files = files;
+        final ParserPool parsers = new ParserPool(threads);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            // fan the files out over the pool
+            List<Future<Fragments>> futures = new ArrayList<Future<Fragments>>(files.size());
+            for (final String file : files) {
+                futures.add(pool.submit(new Callable<Fragments>() {
+                    public Fragments call() {
+                        return index(file, parsers);
+                    }
+                }));
+            }
+            // add the fragments in input order, so that the numbering of the
+            // entries and locations does not depend on the timing of the tasks
+            for (int f = 0; f < futures.size(); f++) {
+                Fragments fragments = null;
+                try {
+                    fragments = futures.get(f).get();
+                } catch (ExecutionException e) {
+                    System.err.println("Error indexing file: " + files.get(f) + ": " + e.getCause());
+                }
+                if (fragments == null) {
+                    synchronized (this) {
+                        failed++;
+                    }
+                } else {
+                    add(f, fragments);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        wallNanos = System.nanoTime() - start;
+    }
+
+    // parses the given file with a borrowed parser, and returns its fragments, or null if it cannot be parsed
+    Fragments index(String name, ParserPool parsers) {
+        CompilationUnit cu = null;
+        try {
+            byte[] contents = Files.readAllBytes(Paths.get(name));
+            ReusableParser parser = null;
+            try {
+                parser = parsers.borrow();
+                // only the AST is needed, parse errors are not explained
+                parser.setDiagnostics(false);
+                cu = DRY.parse(name, contents, parser);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (TokenMgrError e) {
+                System.err.println("Error: " + name + " could not be tokenized: " + e.getMessage());
+            } finally {
+                parsers.release(parser);
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading file: " + name);
+        }
+        if (cu == null) {
+            return null;
+        }
+        NormalizedHasher hasher = hashers.get().hash(cu);
+        Fragments fragments = new Fragments();
+        fragments.nodes = hasher.getSize(0);
+        for (int i = 0; i < hasher.size(); i++) {
+            Node n = hasher.getNode(i);
+            if (n instanceof Statement || n instanceof MethodDeclaration || n instanceof ConstructorDeclaration) {
+                int size = hasher.getSize(i);
+                if (size >= minimum) {
+                    fragments.add(n, hasher.getFingerprint(i), size);
+                }
+            }
+        }
+        return fragments;
+    }
+
+    // adds the fragments of a file to the index
+    synchronized void add(int file, Fragments f) {
+        nodes += f.nodes;
+        fragments += f.size;
+        indexed++;
+        for (int i = 0; i < f.size; i++) {
+            int location = addLocation(file, f.beginLines[i], f.beginColumns[i], f.endLines[i], f.endColumns[i]);
+            int e = find(f.fingerprints[i]);
+            if (e < 0) {
+                e = addEntry(f.fingerprints[i]);
+                sizes[e] = f.sizes[i];
+                kindOrdinals[e] = f.kindOrdinals[i];
+                parents[e] = f.parents[i];
+                sameParent[e] = true;
+                firstLocations[e] = location;
+            } else {
+                if (parents[e] != f.parents[i]) {
+                    sameParent[e] = false;
+                }
+                nextLocations[lastLocations[e]] = location;
+            }
+            copies[e]++;
+            lastLocations[e] = location;
+        }
+    }
+
+    // returns the slot of the given fingerprint in the table, or the free slot where it belongs
+    int slot(long fingerprint) {
+        int mask = table.length - 1;
+        int s = (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+        while (table[s] != 0 && fingerprints[table[s] - 1] != fingerprint) {
+            s = (s + 1) & mask;
+        }
+        return s;
+    }
+
+    // returns the entry of the given fingerprint, or -1 if it was not indexed
+    int find(long fingerprint) {
+        return table[slot(fingerprint)] - 1;
+    }
+
+    int addEntry(long fingerprint) {
+        if (entries == fingerprints.length) {
+            int length = entries * 2;
+            fingerprints = Arrays.copyOf(fingerprints, length);
+            copies = Arrays.copyOf(copies, length);
+            sizes = Arrays.copyOf(sizes, length);
+            kindOrdinals = Arrays.copyOf(kindOrdinals, length);
+            parents = Arrays.copyOf(parents, length);
+            sameParent = Arrays.copyOf(sameParent, length);
+            firstLocations = Arrays.copyOf(firstLocations, length);
+            lastLocations = Arrays.copyOf(lastLocations, length);
+        }
+        // keep the table at most half full
+        if (2 * (entries + 1) > table.length) {
+            table = new int[table.length * 2];
+            for (int e = 0; e < entries; e++) {
+                table[slot(fingerprints[e])] = e + 1;
+            }
+        }
+        int e = entries++;
+        fingerprints[e] = fingerprint;
+        table[slot(fingerprint)] = e + 1;
+        return e;
+    }
+
+    int addLocation(int file, int beginLine, int beginColumn, int endLine, int endColumn) {
+        if (locations == locationFiles.length) {
+            int length = locations * 2;
+            locationFiles = Arrays.copyOf(locationFiles, length);
+            beginLines = Arrays.copyOf(beginLines, length);
+            beginColumns = Arrays.copyOf(beginColumns, length);
+            endLines = Arrays.copyOf(endLines, length);
+            endColumns = Arrays.copyOf(endColumns, length);
+            nextLocations = Arrays.copyOf(nextLocations, length);
+        }
+        int l = locations++;
+        locationFiles[l] = file;
+        beginLines[l] = beginLine;
+        beginColumns[l] = beginColumn;
+        endLines[l] = endLine;
+        endColumns[l] = endColumn;
+        nextLocations[l] = -1;
+        return l;
+    }
+
+    // returns whether every copy of entry e lies in a copy of the same clone class, one in each
+    boolean nested(int e) {
+        if (!sameParent[e] || parents[e] == 0) {
+            return false;
+        }
+        int parent = find(parents[e]);
+        return parent >= 0 && copies[parent] == copies[e];
+    }
+
+    /**
+     * Returns the entries of the reported clone classes: the fragments with
+     * more than one copy that are not a part of another clone class, the
+     * classes with the most redundant nodes first.
+    */
+    public synchronized Integer[] cloneClasses() {
+        List<Integer> classes = new ArrayList<Integer>();
+        for (int e = 0; e < entries; e++) {
+            if (copies[e] > 1 && !nested(e)) {
+                classes.add(e);
+            }
+        }
+        Integer[] sorted = classes.toArray(new Integer[classes.size()]);
+        Arrays.sort(sorted, new Comparator<Integer>() {
+            public int compare(Integer a, Integer b) {
+                int c = Long.compare(redundant(b), redundant(a));
+                // then in the order their first copies were indexed
+                return c != 0 ? c : Integer.compare(firstLocations[a], firstLocations[b]);
+            }
+        });
+        return sorted;
+    }
+
+    // the number of nodes of all copies of entry e but one
+    long redundant(int e) {
+        return (long) (copies[e] - 1) * sizes[e];
+    }
+
+    /**
+     * Returns the project DRY score: the fraction of the nodes of all indexed
+     * files that are redundant copies of another fragment, from 0.0 (no code
+     * was copied) to 1.0. A node in copies of several clone classes is counted once.
+    */
+    public synchronized double score() {
+        return score(cloneClasses());
+    }
+
+    double score(Integer[] classes) {
+        return ParallelScorer.divide(redundantNodes(classes), nodes);
+    }
+
+    // the number of nodes in the redundant copies of the given clone classes, each counted once
+    long redundantNodes(Integer[] classes) {
+        // a copy only lies in copies of larger fragments, so those are counted first
+        Integer[] bySize = classes.clone();
+        Arrays.sort(bySize, new Comparator<Integer>() {
+            public int compare(Integer a, Integer b) {
+                return Integer.compare(sizes[b], sizes[a]);
+            }
+        });
+        // per file, where each redundant copy counted so far begins and ends; they never overlap
+        List<TreeMap<Long, Long>> counted = new ArrayList<TreeMap<Long, Long>>(files.size());
+        for (int f = 0; f < files.size(); f++) {
+            counted.add(new TreeMap<Long, Long>());
+        }
+        long sum = 0;
+        for (int e : bySize) {
+            boolean kept = false;
+            for (int l = firstLocations[e]; l >= 0; l = nextLocations[l]) {
+                TreeMap<Long, Long> ranges = counted.get(locationFiles[l]);
+                long begin = position(beginLines[l], beginColumns[l]);
+                long end = position(endLines[l], endColumns[l]);
+                Map.Entry<Long, Long> around = ranges.floorEntry(begin);
+                if (around != null && around.getValue() >= end) {
+                    // in a redundant copy of a larger class
+                    continue;
+                }
+                if (!kept) {
+                    kept = true;
+                } else {
+                    ranges.put(begin, end);
+                    sum += sizes[e];
+                }
+            }
+        }
+        return sum;
+    }
+
+    // a line and column as a number that orders positions in a file
+    static long position(int line, int column) {
+        return ((long) line << 32) | column;
+    }
+
+    /**
+     * Writes the project DRY score, and every clone class with the file and lines of each of its copies.
+    */
+    public synchronized void writeReport(PrintStream out) {
+        Integer[] classes = cloneClasses();
+        out.println("Project DRY score: " + score(classes));
+        out.println(String.format("%d clone classes in %d files of %d nodes", classes.length, indexed, nodes));
+        for (int c = 0; c < classes.length; c++) {
+            int e = classes[c];
+            out.println(String.format("Clone class %d: %d copies of a %s of %d nodes", c + 1, copies[e],
+                kinds[kindOrdinals[e]].name(), sizes[e]));
+            for (int l = firstLocations[e]; l >= 0; l = nextLocations[l]) {
+                out.println("\t" + files.get(locationFiles[l]) + ":" + beginLines[l] + "-" + endLines[l]);
+            }
+        }
+    }
+
+    /**
+     * Prints the number of files indexed, the time it took and the size of the index.
+    */
+    public synchronized void printSummary(PrintStream out, int threads) {
+        double seconds = wallNanos / 1e9;
+        out.println(String.format("Indexed %d files (%d failed) in %.3f s on %d threads: %.1f files/s",
+            indexed, failed, seconds, threads, ParallelScorer.divide(indexed + failed, seconds)));
+        out.println(String.format("Clone index: %d fragments of %d nodes, %d distinct fingerprints, %d locations",
+            fragments, nodes, entries, locations));
+    }
+}
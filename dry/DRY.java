@@ -24,9 +24,13 @@ import japa.parser.ast.body.Parameter;
 import japa.parser.ast.visitor.GenericVisitor;
 import japa.parser.ast.visitor.VoidVisitorAdapter;
 import japa.parser.ParseException;
+import japa.parser.ReusableParser;
+import japa.parser.TokenMgrError;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 
 import java.util.List;
 import java.util.Arrays;
@@ -45,8 +49,9 @@ public class DRY {
     static String heuristic;
     
     // available heuristics to use
-    static String[] heuristics = new String[] {"ZeroHeuristic", "Iteration1Heuristic", "AllPairsNaiveHeuristic",
-        "AllPairsWeightedHeuristic", "ModifiedBakerHeuristic"};
+    public static String[] heuristics = new String[] {"ZeroHeuristic", "Iteration1Heuristic", "AllPairsNaiveHeuristic",
+        "AllPairsWeightedHeuristic", "ModifiedBakerHeuristic", "Type2NaiveHeuristic", "Type2WeightedHeuristic",
+        "SuffixArrayHeuristic", "LexicalBakerHeuristic"};
     
     /** 
      * Main method
@@ -61,11 +66,30 @@ public class DRY {
      * Fall 2014
     */
     public static void main(String[] args) throws Exception {
+        // score many files in this JVM if we were asked to
+        if (args.length > 0 && (args[0].equals("-b") || args[0].equals("--batch"))) {
+            Batch.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // find the code copied between the files of a project if we were asked to
+        if (args.length > 0 && args[0].equals("--clones")) {
+            CloneIndex.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        // generate synthetic wet code if we were asked to
+        if (args.length > 0 && (args[0].equals("-g") || args[0].equals("--generate"))) {
+            Generator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         // parse command line arguments
         parseCommandArgs(args);
 
         // test the heuristic on the file
         Double dryScore = test(heuristic, filename);
+        if (comments) {
+            // print the result after the trace
+            Tracer.standardOutput().flush();
+        }
         if (verbose) {
             System.out.println("DRY Score for " + filename + " using heuristic " + heuristic + " is: " + dryScore);
         } else {
@@ -122,9 +146,16 @@ public class DRY {
     public static void printUsage() {
         String usage = "";
         usage += "DRY usage: java DRY <heuristic> <filename> [-c, --comments] [-v, --verbose]\n";
-        usage += "\t-c, --comments: print out debugging comments (currently unused)\n";
+        usage += "\t-c, --comments: trace the heuristic: one line per node reached (enter) and scored (exit),\n";
+        usage += "\t\twith its depth, kind, position and, on exit, its score and the time it took in ns\n";
         usage += "\t-v, --verbose: print out the result in sentence form. ";
-        usage += "Default is to print out the number followed by a comma.";
+        usage += "Default is to print out the number followed by a comma.\n";
+        usage += "   or: java DRY --batch [options] <file|directory|glob|@listfile|->...\n";
+        usage += "\tscores many files in a single run. Use java DRY --batch with no arguments for details.\n";
+        usage += "   or: java DRY --clones [options] <file|directory|glob|@listfile|->...\n";
+        usage += "\tfinds the code copied between files and scores the whole project. Use java DRY --clones with no arguments for details.\n";
+        usage += "   or: java DRY --generate [options] <output directory>\n";
+        usage += "\tgenerates synthetic wet code. Use java DRY --generate with no arguments for details.";
         System.out.println(usage);
     }
     
@@ -136,48 +167,182 @@ public class DRY {
      * Fall 2014
     */
     public static Double test(String className, String file) {
-        Double result = -1D;
-
         // prepare the heuristic
-        GenericVisitor<Double, Object> visitor = null;
+        Class<?> heuristicClass = loadHeuristic(className);
+        if (heuristicClass == null) {
+            return -1D;
+        }
+        Heuristic<Object> visitor = newHeuristic(heuristicClass);
+        if (visitor == null) {
+            return -1D;
+        }
+        // prepare the file, which is only lexed if the heuristic reads its source
+        if (readsSource(visitor)) {
+            CharBuffer source = read(file);
+            if (source == null) {
+                return -1D;
+            }
+            return test((TokenHeuristic<Object>) visitor, file, source);
+        }
+        CompilationUnit cu = parse(file);
+        if (cu == null) {
+            return -1D;
+        }
+        return test(visitor, cu);
+    }
+
+    /**
+     * Runs the DRYness test on an already parsed file, using a fresh instance of the given heuristic class.
+     * Lets callers that score one file against several heuristics parse the file only once.
+    */
+    public static Double test(Class<?> heuristicClass, CompilationUnit cu) {
+        Heuristic<Object> visitor = newHeuristic(heuristicClass);
+        if (visitor == null) {
+            return -1D;
+        }
+        return test(visitor, cu);
+    }
+
+    /**
+     * Runs the DRYness test on an already parsed file, reusing the given heuristic instance.
+     * The heuristic is reset first, so it does not matter which file it visited before.
+    */
+    public static Double test(Heuristic<Object> visitor, CompilationUnit cu) {
+        visitor.reset();
+        // run the test and return the result
+        if (visitor instanceof Iteration1Heuristic) {
+            // same score, without recursing into deeply nested code
+            return ((Iteration1Heuristic<Object>) visitor).walk(cu, null);
+        }
+        if (visitor instanceof ZeroHeuristic) {
+            // every node scores 0, so there is no need to visit them
+            return 0D;
+        }
+        return visitor.visit(cu, null);
+    }
+
+    /**
+     * Runs the DRYness test on the source code of a file, without parsing it, reusing the given heuristic instance.
+     * Returns -1 (after printing an error) if the source cannot be tokenized.
+    */
+    public static Double test(TokenHeuristic<Object> visitor, String file, CharBuffer source) {
+        visitor.reset();
         try {
-            // get the class name from the string
-            // http://stackoverflow.com/questions/4767088/creating-an-instance-from-string-in-java
-            Class c = Class.forName(className);
+            return visitor.score(source);
+        } catch (TokenMgrError e) {
+            System.err.println("Error: " + file + " could not be tokenized: " + e.getMessage());
+            return -1D;
+        }
+    }
+
+    // returns whether the given heuristic scores the source code of a file rather than its parse tree
+    public static boolean readsSource(Heuristic<Object> visitor) {
+        return visitor instanceof TokenHeuristic && ((TokenHeuristic<Object>) visitor).readsSource();
+    }
 
-            // create a new instance of the class and cast it to a GenericVisitor
+    /**
+     * Creates a new instance of the given heuristic class.
+     * Returns null (after printing an error) if the class is not a heuristic.
+    */
+    public static Heuristic<Object> newHeuristic(Class<?> heuristicClass) {
+        try {
+            // create a new instance of the class and cast it to a Heuristic
             // http://stackoverflow.com/questions/4386870/creating-new-instance-from-class-with-constructor-parameter
-            visitor = (GenericVisitor<Double, Object>) c.newInstance();
+            // the class is only known at run time, so the cast is unchecked
+            @SuppressWarnings("unchecked")
+            Heuristic<Object> visitor = (Heuristic<Object>) heuristicClass.newInstance();
 
             // Set comments to the command-line variable
-            // Will be implemented if we can sub-interface GenericVisitor
-            // visitor.setComments(comments);
+            visitor.setComments(comments);
+            return visitor;
 
+        } catch(Exception e) {
+            System.err.println("Error: " + heuristicClass.getName() + " is not a valid DRYness metric.");
+            return null;
+        }
+    }
+
+    /**
+     * Looks up the class implementing a DRYness metric, given its fully qualified name.
+     * Returns null (after printing an error) if the class cannot be found.
+    */
+    public static Class<?> loadHeuristic(String className) {
+        try {
+            // get the class name from the string
+            // http://stackoverflow.com/questions/4767088/creating-an-instance-from-string-in-java
+            return Class.forName(className);
         } catch(Exception e) {
             System.err.println("Error: " + className + " is not a valid DRYness metric.");
-            return -1D;
+            return null;
         }
-        // prepare the file
+    }
+
+    /**
+     * Parses a Java file into a CompilationUnit.
+     * Returns null (after printing an error) if the file cannot be read or parsed.
+    */
+    public static CompilationUnit parse(String file) {
+        return parse(file, null);
+    }
+
+    /**
+     * Parses a Java file into a CompilationUnit with the given parser instance,
+     * or with the shared JavaParser if parser is null.
+     * Returns null (after printing an error) if the file cannot be read or parsed.
+    */
+    public static CompilationUnit parse(String file, ReusableParser parser) {
         try {
-            // open the file for reading
-            FileInputStream in = new FileInputStream(file);
+            // map the file into memory and parse it
+            File in = new File(file);
+            return parser == null ? JavaParser.parse(in) : parser.parse(in, null);
+        } catch (IOException io) {
+            System.err.println("Error reading file: " + file);
+            return null;
+        } catch (ParseException io) {
+            printParseError(file);
+            return null;
+        }
+    }
 
-            // parse the file
-            CompilationUnit cu = JavaParser.parse(in);
+    /**
+     * Parses the contents of a Java file that has already been read into a CompilationUnit,
+     * with the given parser instance, or with the shared JavaParser if parser is null.
+     * Returns null (after printing an error) if the file cannot be parsed.
+    */
+    public static CompilationUnit parse(String file, byte[] contents, ReusableParser parser) {
+        // decode the whole file at once
+        return parse(file, JavaParser.decode(ByteBuffer.wrap(contents), null), parser);
+    }
 
-            // run the test and print out the result
-            result = visitor.visit(cu, null);
+    /**
+     * Parses the decoded contents of a Java file into a CompilationUnit,
+     * with the given parser instance, or with the shared JavaParser if parser is null.
+     * Returns null (after printing an error) if the file cannot be parsed.
+    */
+    public static CompilationUnit parse(String file, CharBuffer source, ReusableParser parser) {
+        try {
+            return parser == null ? JavaParser.parse(source) : parser.parse(source);
+        } catch (ParseException io) {
+            printParseError(file);
+            return null;
+        }
+    }
 
-            // close the file
-            in.close();
+    /**
+     * Maps a Java file into memory and decodes it as a whole.
+     * Returns null (after printing an error) if the file cannot be read.
+    */
+    public static CharBuffer read(String file) {
+        try {
+            return JavaParser.decode(JavaParser.map(new File(file)), null);
         } catch (IOException io) {
             System.err.println("Error reading file: " + file);
-            return -1D;
-        } catch (ParseException io) {
-            System.err.println("Error: " + file + " could not be parsed. Please make sure there are no syntax errors " +
-                "by compiling " + file + " with javac.");
-            return -1D;
+            return null;
         }
-        return result;
+    }
+
+    static void printParseError(String file) {
+        System.err.println("Error: " + file + " could not be parsed. Please make sure there are no syntax errors " +
+            "by compiling " + file + " with javac.");
     }
 }
@@ -0,0 +1,629 @@
+/**
+ * Generator.java
+ * Generates synthetic "wet" Java code of any size, for measuring how
+ * the heuristics and the batch scorer scale.
+ *
+ * The methods of the sample files (dry/samples) are used as seeds.
+ * Every generated method is either
+ *      fresh    -- a seed method whose literals are changed, so it is
+ *                  not a copy of any other generated method
+ *      copied   -- an exact copy of a recently generated method
+ *                  (only the method name differs)
+ *      renamed  -- a copy of a recently generated method with its
+ *                  parameters and local variables renamed
+ *      unrolled -- a copy of a recently generated method with its
+ *                  counting loops unrolled into repeated statements
+ * The duplication ratio is the chance that a generated method is one of
+ * the last three kinds. Methods are added to a class until it has the
+ * requested number of AST nodes, and classes can be spread over a
+ * project tree of packages. Clones may be taken from earlier files too.
+ * Generated methods are named m1, m2, ..., so the seed methods that they
+ * call are added to the end of the class under their own names, as they
+ * are in the seed files (and counted as fresh methods). So the generated
+ * files compile.
+ *
+ * Because the generator knows which methods it copied, it also writes
+ * the ground truth of every file: how many methods of each kind it
+ * contains, and which fraction of its AST nodes are repeated code.
+ * AST nodes are counted the way the heuristics see them, i.e. as the
+ * nodes visited by Iteration1Heuristic.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry;
+
+import japa.parser.JavaParser;
+import japa.parser.ParseException;
+import japa.parser.ast.CompilationUnit;
+import japa.parser.ast.Node;
+import japa.parser.ast.body.BodyDeclaration;
+import japa.parser.ast.body.MethodDeclaration;
+import japa.parser.ast.body.TypeDeclaration;
+import japa.parser.ast.body.VariableDeclarator;
+import japa.parser.ast.body.VariableDeclaratorId;
+import japa.parser.ast.expr.BinaryExpr;
+import japa.parser.ast.expr.Expression;
+import japa.parser.ast.expr.IntegerLiteralExpr;
+import japa.parser.ast.expr.MethodCallExpr;
+import japa.parser.ast.expr.NameExpr;
+import japa.parser.ast.expr.StringLiteralExpr;
+import japa.parser.ast.expr.UnaryExpr;
+import japa.parser.ast.expr.VariableDeclarationExpr;
+import japa.parser.ast.stmt.BlockStmt;
+import japa.parser.ast.stmt.ExpressionStmt;
+import japa.parser.ast.stmt.ForStmt;
+import japa.parser.ast.stmt.Statement;
+import japa.parser.ast.visitor.ModifierVisitorAdapter;
+import japa.parser.ast.visitor.VoidVisitorAdapter;
+
+import dry.heuristics.Iteration1Heuristic;
+import dry.heuristics.NodeListener;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+public class Generator {
+
+    // command-line arguments
+    static String seedDir = "dry/samples";
+    static long nodes = 1000;
+    static int files = 1;
+    static double duplication = 0.5;
+    static long randomSeed = 0;
+    static String output = null;
+
+    // number of files in each package of a generated project
+    static final int filesPerPackage = 16;
+    // loops with more iterations than this are not unrolled
+    static final int maxUnroll = 16;
+    // number of recently generated methods that clones are taken from
+    static final int poolSize = 64;
+
+    // kinds of generated methods
+    static final int FRESH = 0, COPIED = 1, RENAMED = 2, UNROLLED = 3;
+    static final String[] kinds = new String[] {"fresh", "copied", "renamed", "unrolled"};
+
+    // a seed method, with the original values of everything we change when we render it
+    static class Seed {
+        final MethodDeclaration method;
+        final String name;
+        final IdentityHashMap<Node, String> originals = new IdentityHashMap<Node, String>();
+        // names of the parameters and local variables
+        final Set<String> locals = new HashSet<String>();
+        // names of the methods it calls without a scope, which may be other seeds
+        final Set<String> calls = new LinkedHashSet<String>();
+        // the same method with its loops unrolled, or null if it has no loops to unroll
+        Seed unrolled;
+        long nodes;
+
+        Seed(MethodDeclaration method) {
+            this.method = method;
+            this.name = method.getName();
+        }
+    }
+
+    // how a generated method is rendered from a seed
+    static class Recipe {
+        final Seed seed;
+        // added to every integer literal (and appended to every string literal), if not 0
+        final int offset;
+        // appended to the names of the local variables, if not 0
+        final int rename;
+
+        Recipe(Seed seed, int offset, int rename) {
+            this.seed = seed;
+            this.offset = offset;
+            this.rename = rename;
+        }
+    }
+
+    /**
+     * The ground truth of a generated file.
+    */
+    public static class GroundTruth {
+        public final String file;
+        public long nodes;
+        public int methods;
+        // number of methods of each kind
+        public final int[] kinds = new int[Generator.kinds.length];
+        // number of nodes in copied, renamed and unrolled code
+        public long wetNodes;
+
+        GroundTruth(String file) {
+            this.file = file;
+        }
+
+        // fraction of the nodes of the file that are repeated code
+        public double wetness() {
+            return nodes == 0 ? 0 : (double) wetNodes / nodes;
+        }
+
+        public static String header() {
+            return "file,nodes,methods,fresh,copied,renamed,unrolled,wetNodes,wetness";
+        }
+
+        public String toString() {
+            return file + "," + nodes + "," + methods + "," + kinds[FRESH] + "," + kinds[COPIED] + ","
+                + kinds[RENAMED] + "," + kinds[UNROLLED] + "," + wetNodes + "," + wetness();
+        }
+    }
+
+    final List<Seed> seeds = new ArrayList<Seed>();
+    // the seeds by name, for the calls between them; the first one wins if several have the same name
+    final Map<String, Seed> callees = new HashMap<String, Seed>();
+    final double ratio;
+    final Random random;
+    // recently generated methods
+    final List<Recipe> pool = new ArrayList<Recipe>();
+    // number of methods generated so far
+    int generated = 0;
+
+    // counts the nodes the heuristics visit
+    final Iteration1Heuristic<Object> counter = new Iteration1Heuristic<Object>();
+    long counted;
+
+    /**
+     * Creates a generator that takes its seed methods from the Java files in seedDir.
+     * duplication is the chance that a generated method is a clone; randomSeed makes runs reproducible.
+    */
+    public Generator(String seedDir, double duplication, long randomSeed) throws IOException, ParseException {
+        this.ratio = duplication;
+        this.random = new Random(randomSeed);
+        counter.setListener(new NodeListener() {
+            public void nodeVisited(Node n) {
+                counted++;
+            }
+        });
+        File[] found = new File(seedDir).listFiles();
+        if (found == null) {
+            throw new IOException("cannot read the seed directory " + seedDir);
+        }
+        Arrays.sort(found);
+        for (File file : found) {
+            if (!file.getName().endsWith(".java")) continue;
+            CompilationUnit cu = DRY.parse(file.getPath());
+            if (cu == null || cu.getTypes() == null) continue;
+            for (TypeDeclaration type : cu.getTypes()) {
+                if (type.getMembers() == null) continue;
+                for (BodyDeclaration member : type.getMembers()) {
+                    if (member instanceof MethodDeclaration) {
+                        Seed seed = newSeed((MethodDeclaration) member);
+                        seeds.add(seed);
+                        if (!callees.containsKey(seed.name)) {
+                            callees.put(seed.name, seed);
+                        }
+                    }
+                }
+            }
+        }
+        if (seeds.isEmpty()) {
+            throw new IOException("no methods found in the seed directory " + seedDir);
+        }
+    }
+
+    // prepares a seed method, and its unrolled version if it has counting loops
+    Seed newSeed(MethodDeclaration method) throws ParseException {
+        Seed seed = prepare(method);
+        MethodDeclaration unrolled = (MethodDeclaration) parseMethod(method.toString()).accept(new Unroller(), null);
+        if (!unrolled.toString().equals(method.toString())) {
+            seed.unrolled = prepare(unrolled);
+        }
+        return seed;
+    }
+
+    Seed prepare(MethodDeclaration method) {
+        final Seed seed = new Seed(method);
+        // remember the original literals and names
+        method.accept(new VoidVisitorAdapter<Object>() {
+            public void visit(IntegerLiteralExpr n, Object arg) {
+                seed.originals.put(n, n.getValue());
+            }
+            public void visit(StringLiteralExpr n, Object arg) {
+                seed.originals.put(n, n.getValue());
+            }
+            public void visit(NameExpr n, Object arg) {
+                seed.originals.put(n, n.getName());
+            }
+            public void visit(VariableDeclaratorId n, Object arg) {
+                seed.originals.put(n, n.getName());
+                seed.locals.add(n.getName());
+            }
+            public void visit(MethodCallExpr n, Object arg) {
+                if (n.getScope() == null) {
+                    seed.calls.add(n.getName());
+                }
+                super.visit(n, arg);
+            }
+        }, null);
+        seed.nodes = count(method);
+        return seed;
+    }
+
+    /**
+     * Writes a class with (at least) the given number of AST nodes to out,
+     * and returns its ground truth.
+    */
+    public GroundTruth write(Writer out, String packageName, String className, String file, long nodes) throws IOException {
+        GroundTruth truth = new GroundTruth(file);
+        String header = "package " + packageName + ";\n\npublic class " + className + " {\n";
+        try {
+            truth.nodes = count(parse(header + "}\n"));
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("invalid package or class name: " + packageName + "." + className);
+        }
+        out.write(header);
+        // the names of the methods called by the generated methods
+        List<String> called = new ArrayList<String>();
+        while (truth.nodes < nodes) {
+            generated++;
+            // pick the kind of method, and what it is made from
+            int kind = FRESH;
+            Recipe source = null;
+            if (!pool.isEmpty() && random.nextDouble() < ratio) {
+                kind = COPIED + random.nextInt(3);
+                source = pool.get(random.nextInt(pool.size()));
+                if (kind == UNROLLED && source.seed.unrolled == null) {
+                    kind = COPIED;
+                }
+            }
+            Recipe recipe;
+            long wet;
+            switch(kind) {
+                case COPIED:
+                recipe = source;
+                wet = recipe.seed.nodes;
+                break;
+
+                case RENAMED:
+                recipe = new Recipe(source.seed, source.offset, generated);
+                wet = recipe.seed.nodes;
+                break;
+
+                case UNROLLED:
+                recipe = new Recipe(source.seed.unrolled, source.offset, source.rename);
+                wet = recipe.seed.nodes - source.seed.nodes;
+                break;
+
+                default:
+                recipe = new Recipe(seeds.get(random.nextInt(seeds.size())), generated, 0);
+                wet = 0;
+                break;
+            }
+            out.write("\n    " + render(recipe, "m" + generated).replace("\n", "\n    ") + "\n");
+
+            truth.nodes += recipe.seed.nodes;
+            truth.wetNodes += wet;
+            truth.methods++;
+            truth.kinds[kind]++;
+            if (pool.size() < poolSize) {
+                pool.add(recipe);
+            } else {
+                pool.set(generated % poolSize, recipe);
+            }
+            addNew(called, recipe.seed.calls);
+        }
+        // add the called seeds as they are, and the seeds that they call in turn
+        for (int c = 0; c < called.size(); c++) {
+            Seed callee = callees.get(called.get(c));
+            if (callee == null) {
+                continue;
+            }
+            out.write("\n    " + render(new Recipe(callee, 0, 0), callee.name).replace("\n", "\n    ") + "\n");
+            truth.nodes += callee.nodes;
+            truth.methods++;
+            truth.kinds[FRESH]++;
+            addNew(called, callee.calls);
+        }
+        out.write("}\n");
+        return truth;
+    }
+
+    // prints the seed method of a recipe with its literals and local variables changed
+    String render(final Recipe recipe, String name) {
+        final Seed seed = recipe.seed;
+        seed.method.setName(name);
+        seed.method.accept(new VoidVisitorAdapter<Object>() {
+            public void visit(IntegerLiteralExpr n, Object arg) {
+                if (!n.isMinValue()) {
+                    n.setValue(shift(seed.originals.get(n), recipe.offset));
+                }
+            }
+            public void visit(StringLiteralExpr n, Object arg) {
+                String value = seed.originals.get(n);
+                n.setValue(recipe.offset == 0 ? value : value + " " + recipe.offset);
+            }
+            public void visit(NameExpr n, Object arg) {
+                n.setName(rename(seed.originals.get(n)));
+            }
+            public void visit(VariableDeclaratorId n, Object arg) {
+                n.setName(rename(seed.originals.get(n)));
+            }
+            String rename(String original) {
+                if (recipe.rename == 0 || !seed.locals.contains(original)) {
+                    return original;
+                }
+                return original + "_" + recipe.rename;
+            }
+        }, null);
+        return seed.method.toString();
+    }
+
+    // appends the names that are not in the list yet
+    static void addNew(List<String> names, Set<String> more) {
+        for (String name : more) {
+            if (!names.contains(name)) {
+                names.add(name);
+            }
+        }
+    }
+
+    // adds offset to a decimal integer literal, if it stays an int
+    static String shift(String literal, int offset) {
+        try {
+            long value = Long.parseLong(literal) + offset;
+            if (value <= Integer.MAX_VALUE) {
+                return Long.toString(value);
+            }
+        } catch (NumberFormatException e) {
+            // hexadecimal and octal literals are left alone
+        }
+        return literal;
+    }
+
+    // counts the nodes of a tree the way the heuristics visit them
+    long count(Node n) {
+        counted = 0;
+        n.accept(counter, null);
+        return counted;
+    }
+
+    static CompilationUnit parse(String source) throws ParseException {
+        return JavaParser.parse(new ByteArrayInputStream(source.getBytes()));
+    }
+
+    static MethodDeclaration parseMethod(String method) throws ParseException {
+        return (MethodDeclaration) parse("class C {\n" + method + "\n}\n").getTypes().get(0).getMembers().get(0);
+    }
+
+
+    // replaces every loop of the form for (int i = a; i < b; i++) body, where
+    // a and b are integer literals, with the block { int i = a; body i++; body i++; ... }
+    static class Unroller extends ModifierVisitorAdapter<Object> {
+
+        public Node visit(ForStmt n, Object arg) {
+            // unroll the inner loops first
+            super.visit(n, arg);
+            int iterations = iterations(n);
+            if (iterations < 1) {
+                return n;
+            }
+            List<Statement> stmts = new ArrayList<Statement>();
+            stmts.add(new ExpressionStmt(n.getInit().get(0)));
+            for (int i = 0; i < iterations; i++) {
+                if (n.getBody() instanceof BlockStmt && ((BlockStmt) n.getBody()).getStmts() != null) {
+                    stmts.addAll(((BlockStmt) n.getBody()).getStmts());
+                } else if (!(n.getBody() instanceof BlockStmt)) {
+                    stmts.add(n.getBody());
+                }
+                stmts.add(new ExpressionStmt(n.getUpdate().get(0)));
+            }
+            return new BlockStmt(stmts);
+        }
+
+        // returns the number of iterations of a counting loop, or -1 if it is not one
+        static int iterations(ForStmt n) {
+            if (n.getInit() == null || n.getInit().size() != 1 || !(n.getInit().get(0) instanceof VariableDeclarationExpr)) {
+                return -1;
+            }
+            List<VariableDeclarator> vars = ((VariableDeclarationExpr) n.getInit().get(0)).getVars();
+            if (vars.size() != 1 || !(vars.get(0).getInit() instanceof IntegerLiteralExpr)) {
+                return -1;
+            }
+            String var = vars.get(0).getId().getName();
+            Long start = value(vars.get(0).getInit());
+
+            if (!(n.getCompare() instanceof BinaryExpr)) {
+                return -1;
+            }
+            BinaryExpr compare = (BinaryExpr) n.getCompare();
+            Long end = value(compare.getRight());
+            if (!isName(compare.getLeft(), var) || start == null || end == null) {
+                return -1;
+            }
+            long iterations;
+            if (compare.getOperator() == BinaryExpr.Operator.less) {
+                iterations = end - start;
+            } else if (compare.getOperator() == BinaryExpr.Operator.lessEquals) {
+                iterations = end - start + 1;
+            } else {
+                return -1;
+            }
+
+            if (n.getUpdate() == null || n.getUpdate().size() != 1 || !(n.getUpdate().get(0) instanceof UnaryExpr)) {
+                return -1;
+            }
+            UnaryExpr update = (UnaryExpr) n.getUpdate().get(0);
+            if (!isName(update.getExpr(), var) || (update.getOperator() != UnaryExpr.Operator.posIncrement
+                    && update.getOperator() != UnaryExpr.Operator.preIncrement)) {
+                return -1;
+            }
+            if (iterations > maxUnroll) {
+                return -1;
+            }
+            return (int) iterations;
+        }
+
+        static Long value(Expression e) {
+            if (!(e instanceof IntegerLiteralExpr)) {
+                return null;
+            }
+            try {
+                return Long.parseLong(((IntegerLiteralExpr) e).getValue());
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+
+        static boolean isName(Expression e, String name) {
+            return e instanceof NameExpr && ((NameExpr) e).getName().equals(name);
+        }
+    }
+
+
+    /**
+     * Main method
+     * Parses command-line arguments and writes the generated files and their ground truth.
+    */
+    public static void main(String[] args) throws Exception {
+        parseCommandArgs(args);
+
+        Generator generator;
+        try {
+            generator = new Generator(seedDir, duplication, randomSeed);
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        List<GroundTruth> truths = new ArrayList<GroundTruth>();
+        long total = 0;
+        for (int f = 0; f < files; f++) {
+            String pkg = "p" + (f / filesPerPackage);
+            File dir = new File(new File(output, "gen"), pkg);
+            dir.mkdirs();
+            String className = "Gen" + f;
+            File file = new File(dir, className + ".java");
+            Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+            try {
+                GroundTruth truth = generator.write(out, "gen." + pkg, className, "gen/" + pkg + "/" + className + ".java", nodes);
+                truths.add(truth);
+                total += truth.nodes;
+            } finally {
+                out.close();
+            }
+        }
+
+        PrintStream csv = new PrintStream(new FileOutputStream(new File(output, "ground_truth.csv")));
+        csv.println(GroundTruth.header());
+        for (GroundTruth truth : truths) {
+            csv.println(truth);
+        }
+        csv.close();
+        System.err.println("Generated " + files + " files with " + total + " AST nodes in " + output);
+    }
+
+    /**
+     * Parses command line arguments
+     * Arguments must be of this form: [-s dir] [-n nodes] [-F files] [-d ratio] [-r seed] <output directory>
+    */
+    public static void parseCommandArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch(args[i]) {
+                case "-s":
+                case "--seeds":
+                seedDir = Batch.requireValue(args, i++);
+                break;
+
+                case "-n":
+                case "--nodes":
+                nodes = parseCount(Batch.requireValue(args, i++));
+                break;
+
+                case "-F":
+                case "--files":
+                files = (int) parseCount(Batch.requireValue(args, i++));
+                break;
+
+                case "-d":
+                case "--duplication":
+                try {
+                    duplication = Double.parseDouble(Batch.requireValue(args, i++));
+                } catch (NumberFormatException e) {
+                    duplication = -1;
+                }
+                if (duplication < 0 || duplication > 1) {
+                    System.err.println("invalid duplication ratio... " + args[i]);
+                    System.exit(1);
+                }
+                break;
+
+                case "-r":
+                case "--random-seed":
+                try {
+                    randomSeed = Long.parseLong(Batch.requireValue(args, i++));
+                } catch (NumberFormatException e) {
+                    System.err.println("invalid random seed... " + args[i]);
+                    System.exit(1);
+                }
+                break;
+
+                default:
+                output = args[i];
+                break;
+            }
+        }
+        if (output == null) {
+            printUsage();
+            System.exit(0);
+        }
+    }
+
+    // parses a positive count such as 1000, 100k or 10M
+    static long parseCount(String count) {
+        long unit = 1;
+        if (count.endsWith("k") || count.endsWith("K")) {
+            unit = 1000;
+        } else if (count.endsWith("m") || count.endsWith("M")) {
+            unit = 1000000;
+        }
+        try {
+            long value = Long.parseLong(unit == 1 ? count : count.substring(0, count.length() - 1)) * unit;
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        System.err.println("invalid count... " + count);
+        System.exit(1);
+        return 0;
+    }
+
+    /**
+     * Prints usage information
+    */
+    public static void printUsage() {
+        String usage = "";
+        usage += "DRY generator usage: java DRY --generate [options] <output directory>\n";
+        usage += "\t-s, --seeds <dir>: directory of Java files whose methods are used as seeds (default: dry/samples)\n";
+        usage += "\t-n, --nodes <n>: number of AST nodes in each file, e.g. 1k, 100k or 10M (default: 1k)\n";
+        usage += "\t-F, --files <n>: number of files, 16 per package (default: 1)\n";
+        usage += "\t-d, --duplication <ratio>: chance that a method is copied, renamed or unrolled (default: 0.5)\n";
+        usage += "\t-r, --random-seed <n>: seed of the random generator, for reproducible output (default: 0)\n";
+        usage += "\tFiles are written to <output directory>/gen/p<k>/Gen<n>.java, ";
+        usage += "and their ground truth to <output directory>/ground_truth.csv.";
+        System.out.println(usage);
+    }
+}
@@ -0,0 +1,311 @@
+/**
+ * ParallelScorer.java
+ * Scores many files at once on a work-stealing thread pool.
+ *
+ * Each file becomes one task on a ForkJoinPool. Workers borrow a parser
+ * from a ParserPool for every file, and every worker thread keeps its
+ * own heuristic instances, which are reset and reused for every file
+ * it scores, so workers never share mutable state. Each file is decoded
+ * once. Heuristics that read the source code (see
+ * TokenHeuristic.readsSource()) only lex it, and the file is parsed only
+ * if some other heuristic needs its parse tree. When all of those are
+ * built-in ones, a FusedHeuristic computes all of their scores from a
+ * single walk of the parse tree. With a ScoreCache, files whose contents were scored
+ * before are not parsed at all. Results are handed to the ResultWriter in the order
+ * the files were given, no matter which order the tasks finish in.
+ *
+ * The time each file takes (parse + all heuristics) is recorded, and
+ * a throughput summary can be printed once every file is done.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry;
+
+import japa.parser.JavaParser;
+import japa.parser.ParserPool;
+import japa.parser.ReusableParser;
+import japa.parser.TokenMgrError;
+import japa.parser.ast.CompilationUnit;
+
+import dry.heuristics.FusedHeuristic;
+import dry.heuristics.Heuristic;
+import dry.heuristics.TokenHeuristic;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+public class ParallelScorer {
+
+    // the heuristics every file is scored with
+    final Class<?>[] classes;
+    // number of worker threads
+    final int threads;
+
+    // parsers are borrowed from a pool with one parser per worker thread
+    final ParserPool parsers;
+
+    // whether each heuristic scores the source code of a file, without its parse tree
+    final boolean[] lexical;
+    // the indices of the heuristics that need the parse tree, and their classes
+    final int[] treeIndices;
+    final Class<?>[] treeClasses;
+
+    // whether the scores of the tree heuristics are computed by a FusedHeuristic
+    final boolean fused;
+
+    // one fused heuristic per worker thread
+    final ThreadLocal<FusedHeuristic> fusedVisitors = new ThreadLocal<FusedHeuristic>() {
+        @Override
+        protected FusedHeuristic initialValue() {
+            return new FusedHeuristic(treeClasses);
+        }
+    };
+
+    // one set of heuristic instances per worker thread
+    final ThreadLocal<Heuristic<Object>[]> visitors = new ThreadLocal<Heuristic<Object>[]>() {
+        @Override
+        protected Heuristic<Object>[] initialValue() {
+            // an array of a generic type can only be created unchecked
+            @SuppressWarnings("unchecked")
+            Heuristic<Object>[] v = (Heuristic<Object>[]) new Heuristic<?>[classes.length];
+            for (int h = 0; h < classes.length; h++) {
+                v[h] = DRY.newHeuristic(classes[h]);
+            }
+            return v;
+        }
+    };
+
+    // scores of files seen before, or null
+    ScoreCache cache = null;
+
+    // statistics of the last run
+    long files;
+    long cached;
+    long bytes;
+    long wallNanos;
+    long[] latencies = new long[0];
+
+    public ParallelScorer(Class<?>[] classes, int threads) {
+        this.classes = classes;
+        this.threads = threads;
+        this.parsers = new ParserPool(threads);
+        this.lexical = new boolean[classes.length];
+        int trees = 0;
+        for (int h = 0; h < classes.length; h++) {
+            Heuristic<Object> visitor = DRY.newHeuristic(classes[h]);
+            lexical[h] = visitor != null && DRY.readsSource(visitor);
+            if (!lexical[h]) trees++;
+        }
+        this.treeIndices = new int[trees];
+        this.treeClasses = new Class<?>[trees];
+        for (int h = 0, t = 0; h < classes.length; h++) {
+            if (!lexical[h]) {
+                treeIndices[t] = h;
+                treeClasses[t++] = classes[h];
+            }
+        }
+        this.fused = FusedHeuristic.supports(treeClasses);
+    }
+
+    public void setCache(ScoreCache cache) {
+        this.cache = cache;
+    }
+
+    // the result of scoring a single file
+    static class FileResult {
+        final Double[] scores;
+        final long nanos;
+        final long bytes;
+        // whether the scores came from the cache
+        boolean cached = false;
+
+        FileResult(Double[] scores, long nanos, long bytes) {
+            this.scores = scores;
+            this.nanos = nanos;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Scores every file with every heuristic, writing the results in input order.
+    */
+    public void score(List<String> files, ResultWriter writer) throws InterruptedException {
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            // fan the files out over the pool
+            List<Future<FileResult>> futures = new ArrayList<Future<FileResult>>(files.size());
+            for (final String file : files) {
+                futures.add(pool.submit(new Callable<FileResult>() {
+                    public FileResult call() {
+                        return scoreFile(file);
+                    }
+                }));
+            }
+            // collect the results in input order, streaming each one as soon as it is ready
+            latencies = new long[files.size()];
+            bytes = 0;
+            cached = 0;
+            for (int i = 0; i < futures.size(); i++) {
+                FileResult result;
+                try {
+                    result = futures.get(i).get();
+                } catch (ExecutionException e) {
+                    System.err.println("Error scoring file: " + files.get(i) + ": " + e.getCause());
+                    Double[] failed = new Double[classes.length];
+                    Arrays.fill(failed, -1D);
+                    result = new FileResult(failed, 0, 0);
+                }
+                latencies[i] = result.nanos;
+                bytes += result.bytes;
+                if (result.cached) cached++;
+                writer.write(files.get(i), result.scores, result.nanos);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        this.files = files.size();
+        this.wallNanos = System.nanoTime() - start;
+    }
+
+    // reads a file and looks its scores up in the cache; if they are not all there, lexes the file
+    // for the heuristics that read its source, and parses it with this worker's parser for the others
+    FileResult scoreFile(String file) {
+        long start = System.nanoTime();
+        Double[] scores = new Double[classes.length];
+        Arrays.fill(scores, -1D);
+        byte[] contents;
+        try {
+            contents = Files.readAllBytes(Paths.get(file));
+        } catch (IOException e) {
+            System.err.println("Error reading file: " + file);
+            return new FileResult(scores, System.nanoTime() - start, 0);
+        }
+        long[] hash = null;
+        if (cache != null) {
+            hash = ScoreCache.hash(contents);
+            Double[] hits = lookup(hash);
+            if (hits != null) {
+                FileResult result = new FileResult(hits, System.nanoTime() - start, contents.length);
+                result.cached = true;
+                return result;
+            }
+        }
+        // decode the whole file once, for the lexer and the parser
+        CharBuffer source = JavaParser.decode(ByteBuffer.wrap(contents), null);
+        Heuristic<Object>[] v = visitors.get();
+        for (int h = 0; h < v.length; h++) {
+            if (lexical[h]) {
+                scores[h] = DRY.test((TokenHeuristic<Object>) v[h], file, source.duplicate());
+            }
+        }
+        CompilationUnit cu = null;
+        if (treeClasses.length > 0) {
+            ReusableParser parser = null;
+            try {
+                parser = parsers.borrow();
+                // only the AST is needed, parse errors are not explained
+                parser.setDiagnostics(false);
+                cu = DRY.parse(file, source, parser);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (TokenMgrError e) {
+                System.err.println("Error: " + file + " could not be tokenized: " + e.getMessage());
+            } finally {
+                parsers.release(parser);
+            }
+        }
+        if (cu != null && fused) {
+            Double[] treeScores = fusedVisitors.get().score(cu);
+            for (int t = 0; t < treeIndices.length; t++) {
+                scores[treeIndices[t]] = treeScores[t];
+            }
+        } else if (cu != null) {
+            for (int h : treeIndices) {
+                if (v[h] != null) {
+                    scores[h] = DRY.test(v[h], cu);
+                }
+            }
+        }
+        if (cache != null) {
+            // a file that could not be lexed or parsed is tried again next time
+            for (int h = 0; h < classes.length; h++) {
+                if (scores[h] >= 0) {
+                    cache.put(hash, classes[h], scores[h]);
+                }
+            }
+        }
+        return new FileResult(scores, System.nanoTime() - start, contents.length);
+    }
+
+    // returns the cached scores of every heuristic, or null if any of them is missing
+    Double[] lookup(long[] hash) {
+        Double[] scores = new Double[classes.length];
+        for (int h = 0; h < classes.length; h++) {
+            scores[h] = cache.get(hash, classes[h]);
+            if (scores[h] == null) {
+                return null;
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Prints the number of files scored, the throughput and the per-file latency distribution of the last run.
+    */
+    public void printSummary(PrintStream out) {
+        double seconds = wallNanos / 1e9;
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        out.println(String.format("Scored %d files (%.1f KB) in %.3f s on %d threads: %.1f files/s, %.1f KB/s",
+            files, bytes / 1024.0, seconds, threads, divide(files, seconds), divide(bytes / 1024.0, seconds)));
+        if (sorted.length > 0) {
+            out.println(String.format("Per-file latency (ms): mean %.3f, p50 %.3f, p90 %.3f, p99 %.3f, max %.3f",
+                mean(sorted) / 1e6, percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.90) / 1e6,
+                percentile(sorted, 0.99) / 1e6, sorted[sorted.length - 1] / 1e6));
+        }
+        out.println(String.format("Parser pool: %d parsers created, %d of %d parses reused a parser, %d waited %.3f ms in total",
+            parsers.getCreated(), parsers.getHits(), parsers.getBorrows(), parsers.getWaits(), parsers.getWaitNanos() / 1e6));
+        if (cache != null) {
+            out.println(String.format("Score cache: %d of %d files were scored from the cache", cached, files));
+        }
+    }
+
+    // computes the division of two numbers, but if the second number is 0, we return 0
+    static double divide(double sum, double i) {
+        if (i == 0) {
+            return 0;
+        }
+        return sum / i;
+    }
+
+    static double mean(long[] values) {
+        double sum = 0;
+        for (long v : values) {
+            sum += v;
+        }
+        return divide(sum, values.length);
+    }
+
+    // nearest-rank percentile of a sorted array
+    static long percentile(long[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+    }
+}
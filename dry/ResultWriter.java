@@ -0,0 +1,166 @@
+/**
+ * ResultWriter.java
+ * Streams DRY scores for many files to an output stream,
+ * one record per file, as soon as each file has been scored.
+ *
+ * Two formats are supported:
+ *      csv  -- a header line "file,<heuristic>,..." followed by one line per file
+ *      json -- one JSON object per line (JSON Lines), e.g.
+ *              {"file":"Foo.java","scores":{"ZeroHeuristic":0.0}}
+ * With timing enabled, the milliseconds spent on each file are added
+ * as a "millis" column/field.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry;
+
+import java.io.PrintStream;
+
+public abstract class ResultWriter {
+
+    // where the records are written
+    protected final PrintStream out;
+    // short names of the heuristics, in the order their scores are given
+    protected final String[] heuristics;
+    // whether the time taken for each file is written too
+    protected boolean timing = false;
+
+    protected ResultWriter(PrintStream out, String[] heuristics) {
+        this.out = out;
+        this.heuristics = heuristics;
+    }
+
+    /**
+     * Returns a writer for the given format name ("csv" or "json"),
+     * or null if the format is not supported.
+    */
+    public static ResultWriter forFormat(String format, PrintStream out, String[] heuristics) {
+        switch(format) {
+            case "csv":
+            return new CsvWriter(out, heuristics);
+
+            case "json":
+            return new JsonWriter(out, heuristics);
+
+            default:
+            return null;
+        }
+    }
+
+    public void setTiming(boolean val) {
+        this.timing = val;
+    }
+
+    // called once before the first record
+    public abstract void begin();
+
+    // writes the scores of a single file; scores[i] belongs to heuristics[i].
+    // nanos is the time it took to parse and score the file
+    public abstract void write(String file, Double[] scores, long nanos);
+
+    // called once after the last record
+    public void end() {
+        out.flush();
+    }
+
+
+    // comma separated values, with a header row
+    static class CsvWriter extends ResultWriter {
+
+        CsvWriter(PrintStream out, String[] heuristics) {
+            super(out, heuristics);
+        }
+
+        public void begin() {
+            StringBuilder line = new StringBuilder("file");
+            for (String h : heuristics) {
+                line.append(',').append(h);
+            }
+            if (timing) {
+                line.append(",millis");
+            }
+            out.println(line);
+        }
+
+        public void write(String file, Double[] scores, long nanos) {
+            StringBuilder line = new StringBuilder(quote(file));
+            for (Double score : scores) {
+                line.append(',').append(score);
+            }
+            if (timing) {
+                line.append(',').append(nanos / 1e6);
+            }
+            out.println(line);
+            out.flush();
+        }
+
+        // quotes a field if it contains a separator, a quote or a newline
+        static String quote(String field) {
+            if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0) {
+                return field;
+            }
+            return "\"" + field.replace("\"", "\"\"") + "\"";
+        }
+    }
+
+
+    // one JSON object per line
+    static class JsonWriter extends ResultWriter {
+
+        JsonWriter(PrintStream out, String[] heuristics) {
+            super(out, heuristics);
+        }
+
+        public void begin() {
+        }
+
+        public void write(String file, Double[] scores, long nanos) {
+            StringBuilder line = new StringBuilder("{\"file\":");
+            line.append(quote(file)).append(",\"scores\":{");
+            for (int i = 0; i < scores.length; i++) {
+                if (i > 0) line.append(',');
+                line.append(quote(heuristics[i])).append(':').append(number(scores[i]));
+            }
+            line.append('}');
+            if (timing) {
+                line.append(",\"millis\":").append(nanos / 1e6);
+            }
+            line.append('}');
+            out.println(line);
+            out.flush();
+        }
+
+        // JSON has no NaN or Infinity, so those become null
+        static String number(Double d) {
+            if (d == null || d.isNaN() || d.isInfinite()) {
+                return "null";
+            }
+            return d.toString();
+        }
+
+        static String quote(String s) {
+            StringBuilder b = new StringBuilder("\"");
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch(c) {
+                    case '"': b.append("\\\""); break;
+                    case '\\': b.append("\\\\"); break;
+                    case '\n': b.append("\\n"); break;
+                    case '\r': b.append("\\r"); break;
+                    case '\t': b.append("\\t"); break;
+                    default:
+                    if (c < 0x20) {
+                        b.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        b.append(c);
+                    }
+                }
+            }
+            return b.append('"').toString();
+        }
+    }
+}
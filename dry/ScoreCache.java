@@ -0,0 +1,326 @@
+/**
+ * ScoreCache.java
+ * Remembers the DRY scores of files between runs.
+ *
+ * A score is stored under the hash of the file contents (SHA-256,
+ * truncated to 128 bits) and the name and version of the heuristic, so
+ * a file only has to be parsed again when its contents change or when
+ * a heuristic changes its version (see the version field of each
+ * heuristic). Where the file lives does not matter.
+ *
+ * The cache is kept in memory while scoring and written to a compact
+ * binary file afterwards:
+ *      int magic, int format version, int number of records, and then
+ *      per record: the content hash (2 longs), the heuristic key (long),
+ *      the score (double) and the time it was last used (long).
+ * The number of records is bounded; when the cache is full, the least
+ * recently used scores are dropped.
+ *
+ * Several threads may use one ScoreCache at the same time, and several
+ * processes may share one cache file: save() takes a lock on the file,
+ * merges the scores other processes saved in the meantime, and replaces
+ * the file atomically, so a reader never sees a half-written cache.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ScoreCache {
+
+    // "DRYC"
+    static final int magic = 0x44525943;
+    // version of the file format
+    static final int format = 1;
+    // default maximum number of scores kept (40 bytes each on disk)
+    public static final int defaultSize = 1000000;
+
+    // a content hash together with a heuristic key
+    static final class Key {
+        final long hash1, hash2, heuristic;
+
+        Key(long hash1, long hash2, long heuristic) {
+            this.hash1 = hash1;
+            this.hash2 = hash2;
+            this.heuristic = heuristic;
+        }
+
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return hash1 == k.hash1 && hash2 == k.hash2 && heuristic == k.heuristic;
+        }
+
+        public int hashCode() {
+            // the content hash is already uniformly distributed
+            return (int) (hash1 ^ heuristic);
+        }
+    }
+
+    // a cached score, and when it was last used
+    static final class Entry {
+        final double score;
+        long used;
+
+        Entry(double score, long used) {
+            this.score = score;
+            this.used = used;
+        }
+    }
+
+    final File file;
+    final int maxSize;
+    // in least recently used order
+    final LinkedHashMap<Key, Entry> entries;
+    // whether there are scores, or uses of scores, that have not been saved yet
+    boolean modified = false;
+    // keys of the heuristics, by class
+    final Map<Class<?>, Long> heuristicKeys = new HashMap<Class<?>, Long>();
+    // statistics
+    long hits, misses;
+
+    /**
+     * Creates a cache that is stored in the given file and keeps at most maxSize scores.
+     * The scores already in the file are loaded; a missing or unreadable file gives an empty cache.
+    */
+    public ScoreCache(String file, int maxSize) {
+        this.file = new File(file);
+        this.maxSize = maxSize;
+        final int max = maxSize;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > max;
+            }
+        };
+        try {
+            read(entries);
+        } catch (IOException e) {
+            System.err.println("Warning: ignoring unreadable score cache " + file + ": " + e.getMessage());
+            entries.clear();
+        }
+    }
+
+    // hashes the contents of a file
+    public static long[] hash(byte[] contents) {
+        byte[] digest = sha256().digest(contents);
+        return new long[] {toLong(digest, 0), toLong(digest, 8)};
+    }
+
+    /**
+     * Returns the cached score of the given contents for the given heuristic, or null if there is none.
+    */
+    public synchronized Double get(long[] hash, Class<?> heuristic) {
+        Entry e = entries.get(new Key(hash[0], hash[1], heuristicKey(heuristic)));
+        if (e == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        // the new time of use has to be saved as well, or the entry would be evicted as if it was never used
+        e.used = System.currentTimeMillis();
+        modified = true;
+        return e.score;
+    }
+
+    /**
+     * Stores the score of the given contents for the given heuristic.
+    */
+    public synchronized void put(long[] hash, Class<?> heuristic, Double score) {
+        entries.put(new Key(hash[0], hash[1], heuristicKey(heuristic)), new Entry(score, System.currentTimeMillis()));
+        modified = true;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Writes the cache to its file, if anything was added to it or used since it was loaded.
+     * Scores that other processes saved since the cache was loaded are kept as well.
+    */
+    public synchronized void save() throws IOException {
+        if (!modified) {
+            return;
+        }
+        File dir = file.getAbsoluteFile().getParentFile();
+        dir.mkdirs();
+        // only one process may update the cache file at a time
+        RandomAccessFile lockFile = new RandomAccessFile(new File(file.getPath() + ".lock"), "rw");
+        try {
+            FileChannel channel = lockFile.getChannel();
+            FileLock lock = channel.lock();
+            try {
+                // merge what other processes saved in the meantime, keeping the most recent use
+                HashMap<Key, Entry> onDisk = new HashMap<Key, Entry>();
+                try {
+                    read(onDisk);
+                } catch (IOException e) {
+                    onDisk.clear();
+                }
+                HashMap<Key, Entry> merged = new HashMap<Key, Entry>(onDisk);
+                for (Map.Entry<Key, Entry> e : entries.entrySet()) {
+                    Entry theirs = merged.put(e.getKey(), e.getValue());
+                    if (theirs != null && theirs.used > e.getValue().used) {
+                        e.getValue().used = theirs.used;
+                    }
+                }
+                // write to a temporary file, and replace the cache file with it
+                File tmp = File.createTempFile(file.getName() + ".", ".tmp", dir);
+                try {
+                    write(tmp, merged);
+                    Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    tmp.delete();
+                }
+                modified = false;
+            } finally {
+                lock.release();
+            }
+        } finally {
+            lockFile.close();
+        }
+    }
+
+    // reads the cache file into map, least recently used first
+    void read(Map<Key, Entry> map) throws IOException {
+        if (!file.exists()) {
+            return;
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16));
+        try {
+            if (in.readInt() != magic || in.readInt() != format) {
+                throw new IOException("not a score cache, or written by another version");
+            }
+            int count = in.readInt();
+            // the header is 12 bytes and every record 40, so a count that does not fit the file is corrupt
+            if (count < 0 || count > (file.length() - 12) / 40) {
+                throw new IOException("corrupt score cache: " + count + " records");
+            }
+            List<Key> keys = new ArrayList<Key>(Math.min(count, maxSize));
+            final List<Entry> values = new ArrayList<Entry>(Math.min(count, maxSize));
+            for (int i = 0; i < count; i++) {
+                keys.add(new Key(in.readLong(), in.readLong(), in.readLong()));
+                double score = in.readDouble();
+                values.add(new Entry(score, in.readLong()));
+            }
+            // the file is written in least recently used order, but other processes may have merged into it
+            Integer[] order = new Integer[keys.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, new Comparator<Integer>() {
+                public int compare(Integer a, Integer b) {
+                    return Long.compare(values.get(a).used, values.get(b).used);
+                }
+            });
+            for (Integer i : order) {
+                map.put(keys.get(i), values.get(i));
+            }
+        } catch (EOFException e) {
+            throw new IOException("truncated score cache");
+        } finally {
+            in.close();
+        }
+    }
+
+    // writes the given scores to the given file, least recently used first
+    void write(File to, Map<Key, Entry> scores) throws IOException {
+        List<Map.Entry<Key, Entry>> sorted = new ArrayList<Map.Entry<Key, Entry>>(scores.entrySet());
+        Collections.sort(sorted, new Comparator<Map.Entry<Key, Entry>>() {
+            public int compare(Map.Entry<Key, Entry> a, Map.Entry<Key, Entry> b) {
+                return Long.compare(a.getValue().used, b.getValue().used);
+            }
+        });
+        // keep only the most recently used scores
+        int skip = Math.max(0, sorted.size() - maxSize);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(to), 1 << 16));
+        try {
+            out.writeInt(magic);
+            out.writeInt(format);
+            out.writeInt(sorted.size() - skip);
+            for (Iterator<Map.Entry<Key, Entry>> it = sorted.listIterator(skip); it.hasNext(); ) {
+                Map.Entry<Key, Entry> e = it.next();
+                out.writeLong(e.getKey().hash1);
+                out.writeLong(e.getKey().hash2);
+                out.writeLong(e.getKey().heuristic);
+                out.writeDouble(e.getValue().score);
+                out.writeLong(e.getValue().used);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    // the key of a heuristic: a hash of its name and version
+    long heuristicKey(Class<?> heuristic) {
+        Long key = heuristicKeys.get(heuristic);
+        if (key == null) {
+            String id = heuristic.getName() + "#" + version(heuristic);
+            key = toLong(sha256().digest(id.getBytes(StandardCharsets.UTF_8)), 0);
+            heuristicKeys.put(heuristic, key);
+        }
+        return key;
+    }
+
+    // the version of a heuristic, given by its static version field (0 if it has none)
+    static int version(Class<?> heuristic) {
+        try {
+            return heuristic.getField("version").getInt(null);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform has SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static long toLong(byte[] b, int offset) {
+        long l = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            l = (l << 8) | (b[i] & 0xff);
+        }
+        return l;
+    }
+}
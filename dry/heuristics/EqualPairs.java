@@ -0,0 +1,138 @@
+/**
+ * EqualPairs.java
+ * Counts the pairs of equal nodes in a list of nodes.
+ *
+ * Comparing every pair of nodes with equals() takes quadratic time,
+ * and every comparison is a deep EqualsVisitor comparison. Instead, we
+ * group the nodes into classes of equal nodes with a hash map keyed by
+ * the (cached, structural) hash code of the nodes, so equals() is only
+ * called for nodes that have the same hash code. A class of k equal
+ * nodes contains k*(k-1)/2 equal pairs, which is exactly the number the
+ * pairwise comparison would have counted.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.heuristics;
+
+import japa.parser.ast.Node;
+import japa.parser.ast.NodeKind;
+import japa.parser.ast.visitor.NormalizedHasher;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+public class EqualPairs {
+
+    private EqualPairs() {
+        // hide the constructor
+    }
+
+    /**
+     * Returns the number of pairs (i, j) with i < j such that
+     * nodes.get(i).equals(nodes.get(j)), in linear expected time.
+    */
+    public static long count(List<? extends Node> nodes) {
+        if (nodes == null || nodes.size() < 2) {
+            return 0;
+        }
+        // number of nodes seen so far in each class of equal nodes
+        HashMap<Node, int[]> classes = new HashMap<Node, int[]>(nodes.size() * 2);
+        long pairs = 0;
+        for (Node n : nodes) {
+            int[] seen = classes.get(n);
+            if (seen == null) {
+                classes.put(n, new int[] {1});
+            } else {
+                // n is equal to every node already in its class
+                pairs += seen[0];
+                seen[0]++;
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Returns the number of pairs (i, j) with i < j in a list of n nodes.
+    */
+    public static long all(long n) {
+        return n * (n - 1) / 2;
+    }
+
+    // counts the pairs of equal nodes in each list
+    public static long[] countEach(List<? extends List<? extends Node>> lists) {
+        long[] counts = new long[lists.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = count(lists.get(i));
+        }
+        return counts;
+    }
+
+    // counts all pairs of nodes in each list
+    public static long[] allEach(List<? extends List<?>> lists) {
+        long[] counts = new long[lists.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = all(lists.get(i).size());
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the number of equal pairs of nodes for each kind of node
+     * (indexed by the ordinal of the kind), among the nodes the hasher hashed.
+     * Nodes with subtrees of at least minSize nodes are equal when their
+     * fingerprints are; smaller ones (leaves such as names and literals,
+     * which are all copies of each other up to renaming) only when they are
+     * equal, as in count(List). The fingerprints are sorted by kind and
+     * value, so nodes with equal fingerprints end up next to each other.
+    */
+    public static long[] count(NormalizedHasher hasher, int minSize) {
+        long[] counts = new long[NodeKind.COUNT];
+        // number of nodes seen so far in each class of equal small nodes
+        HashMap<Node, int[]> classes = new HashMap<Node, int[]>();
+        // the fingerprints of the other nodes grouped by kind, as in a counting sort
+        int[] starts = new int[NodeKind.COUNT + 1];
+        for (int i = 0; i < hasher.size(); i++) {
+            Node n = hasher.getNode(i);
+            NodeKind kind = n.getKind();
+            if (kind == null) {
+                continue;
+            }
+            if (hasher.getSize(i) >= minSize) {
+                starts[kind.ordinal() + 1]++;
+                continue;
+            }
+            int[] seen = classes.get(n);
+            if (seen == null) {
+                classes.put(n, new int[] {1});
+            } else {
+                counts[kind.ordinal()] += seen[0];
+                seen[0]++;
+            }
+        }
+        for (int k = 0; k < NodeKind.COUNT; k++) {
+            starts[k + 1] += starts[k];
+        }
+        long[] fingerprints = new long[starts[NodeKind.COUNT]];
+        int[] filled = Arrays.copyOf(starts, NodeKind.COUNT);
+        for (int i = 0; i < hasher.size(); i++) {
+            NodeKind kind = hasher.getNode(i).getKind();
+            if (kind != null && hasher.getSize(i) >= minSize) {
+                fingerprints[filled[kind.ordinal()]++] = hasher.getFingerprint(i);
+            }
+        }
+        for (int k = 0; k < NodeKind.COUNT; k++) {
+            Arrays.sort(fingerprints, starts[k], starts[k + 1]);
+            // a run of r equal fingerprints contains r*(r-1)/2 equal pairs
+            for (int i = starts[k], run = 0; i < starts[k + 1]; i++) {
+                run = i > starts[k] && fingerprints[i] == fingerprints[i - 1] ? run + 1 : 0;
+                counts[k] += run;
+            }
+        }
+        return counts;
+    }
+}
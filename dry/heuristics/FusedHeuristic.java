@@ -0,0 +1,144 @@
+/**
+ * FusedHeuristic.java
+ * Computes the scores of several heuristics from a single traversal.
+ *
+ * The built-in heuristics all walk the parse tree in the same way:
+ * Iteration1Heuristic computes its score from the walk itself, the
+ * AllPairs heuristics and the ModifiedBaker heuristic only look at the
+ * nodes of each type they met on the way, and ZeroHeuristic always
+ * scores 0. So instead of walking the tree once per heuristic, we walk
+ * it once with Iteration1Heuristic, let a NodeBuckets listener group the
+ * nodes by type, and compute the remaining scores from those groups.
+ * The Type2 heuristics additionally need the fingerprints of a
+ * NormalizedHasher, which are computed once for both of them, and the
+ * SuffixArrayHeuristic and LexicalBakerHeuristic read the tokens of the
+ * file instead of walking it.
+ * The scores are exactly the ones the heuristics compute on their own.
+ * The walk does not recurse (see Iteration1Heuristic.walk()), so deeply
+ * nested code does not need a large thread stack.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.heuristics;
+
+import japa.parser.ast.CompilationUnit;
+import japa.parser.ast.visitor.NormalizedHasher;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class FusedHeuristic {
+
+    // the heuristics that can be fused
+    static final List<Class<?>> fusable = Arrays.asList(new Class<?>[] {
+        ZeroHeuristic.class, Iteration1Heuristic.class, AllPairsNaiveHeuristic.class,
+        AllPairsWeightedHeuristic.class, ModifiedBakerHeuristic.class, Type2NaiveHeuristic.class,
+        Type2WeightedHeuristic.class, SuffixArrayHeuristic.class, LexicalBakerHeuristic.class
+    });
+
+    // the heuristics to compute, in the order their scores are returned
+    final Class<?>[] heuristics;
+
+    // the single traversal, and the nodes it visited grouped by type
+    final Iteration1Heuristic<Object> traversal = new Iteration1Heuristic<Object>();
+    final NodeBuckets buckets = new NodeBuckets();
+    final NormalizedHasher hasher = new NormalizedHasher();
+
+    // only used to compute scores from the grouped nodes
+    final AllPairsNaiveHeuristic<Object> naive = new AllPairsNaiveHeuristic<Object>();
+    final AllPairsWeightedHeuristic<Object> weighted = new AllPairsWeightedHeuristic<Object>();
+    final ModifiedBakerHeuristic<Object> baker = new ModifiedBakerHeuristic<Object>();
+    final SuffixArrayHeuristic<Object> suffixArray = new SuffixArrayHeuristic<Object>();
+    final LexicalBakerHeuristic<Object> lexicalBaker = new LexicalBakerHeuristic<Object>();
+
+    // whether the tree has to be walked at all, and whether the nodes have to be grouped
+    final boolean walk;
+    final boolean group;
+
+    public FusedHeuristic(Class<?>[] heuristics) {
+        boolean walk = false, group = false;
+        for (Class<?> h : heuristics) {
+            if (!supports(h)) {
+                throw new IllegalArgumentException(h.getName() + " cannot be fused");
+            }
+            boolean walks = h != ZeroHeuristic.class && !TokenHeuristic.class.isAssignableFrom(h);
+            walk |= walks;
+            group |= walks && h != Iteration1Heuristic.class;
+        }
+        this.heuristics = heuristics;
+        this.walk = walk;
+        this.group = group;
+        if (group) {
+            traversal.setListener(buckets);
+        }
+    }
+
+    // returns whether the scores of the given heuristic can be computed by a FusedHeuristic
+    public static boolean supports(Class<?> heuristic) {
+        return fusable.contains(heuristic);
+    }
+
+    // returns whether all of the given heuristics can be computed by a FusedHeuristic
+    public static boolean supports(Class<?>[] heuristics) {
+        for (Class<?> h : heuristics) {
+            if (!supports(h)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Computes the score of every heuristic for the given file, walking its parse tree once.
+     * scores[i] is the score of heuristics[i].
+    */
+    public Double[] score(CompilationUnit cu) {
+        buckets.clear();
+        Double treeScore = walk ? traversal.walk(cu, null) : Double.valueOf(0);
+
+        // the AllPairs and Type2 heuristics share the pair counts
+        long[] equalPairs = null, renamedPairs = null, allPairs = null;
+        if (group) {
+            allPairs = EqualPairs.allEach(buckets.lists());
+        }
+        Double[] scores = new Double[heuristics.length];
+        for (int h = 0; h < heuristics.length; h++) {
+            Class<?> heuristic = heuristics[h];
+            if (heuristic == ZeroHeuristic.class) {
+                scores[h] = Double.valueOf(0);
+            } else if (heuristic == Iteration1Heuristic.class) {
+                scores[h] = treeScore;
+            } else if (heuristic == SuffixArrayHeuristic.class) {
+                suffixArray.reset();
+                scores[h] = suffixArray.score(cu);
+            } else if (heuristic == LexicalBakerHeuristic.class) {
+                lexicalBaker.reset();
+                scores[h] = lexicalBaker.score(cu);
+            } else if (heuristic == ModifiedBakerHeuristic.class) {
+                scores[h] = baker.computeBakerDrynessScore(buckets.counts(ModifiedBakerHeuristic.operatorKinds),
+                    buckets.counts(ModifiedBakerHeuristic.operandKinds));
+            } else if (heuristic == Type2NaiveHeuristic.class || heuristic == Type2WeightedHeuristic.class) {
+                if (renamedPairs == null) {
+                    renamedPairs = EqualPairs.count(hasher.hash(cu), Type2NaiveHeuristic.minSize);
+                }
+                if (heuristic == Type2NaiveHeuristic.class) {
+                    scores[h] = naive.computePairwiseDrynessScore(renamedPairs, allPairs);
+                } else {
+                    scores[h] = weighted.computePairwiseDrynessScore(renamedPairs, allPairs);
+                }
+            } else {
+                if (equalPairs == null) {
+                    equalPairs = EqualPairs.countEach(buckets.lists());
+                }
+                if (heuristic == AllPairsNaiveHeuristic.class) {
+                    scores[h] = naive.computePairwiseDrynessScore(equalPairs, allPairs);
+                } else {
+                    scores[h] = weighted.computePairwiseDrynessScore(equalPairs, allPairs);
+                }
+            }
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,36 @@
+/**
+ * Heuristic.java
+ * Common interface of the DRYness heuristics.
+ *
+ * A heuristic is a GenericVisitor that computes the DRYness score of a
+ * CompilationUnit when it visits it. Heuristics keep all of their state
+ * in the instance, so a heuristic object can be reused for many files
+ * (calling reset() between files), and different instances can score
+ * different files on different threads at the same time.
+ * A single instance must only be used by one thread at a time.
+ * Every heuristic also has a static version field, which identifies
+ * its scores in the ScoreCache.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.heuristics;
+
+import japa.parser.ast.visitor.GenericVisitor;
+
+public interface Heuristic<A> extends GenericVisitor<Double, A> {
+
+    // turns the debugging comments on or off; they are traced to standard output
+    public void setComments(boolean val);
+
+    // traces the work of this heuristic to the given tracer, or turns tracing off if it is null
+    public void setTracer(Tracer tracer);
+
+    // forgets everything collected from the previously visited file,
+    // keeping allocated storage around for the next one
+    public void reset();
+
+}
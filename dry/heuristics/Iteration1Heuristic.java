@@ -17,6 +17,7 @@ import japa.parser.ast.BlockComment;
 import japa.parser.ast.CompilationUnit;
 import japa.parser.ast.ImportDeclaration;
 import japa.parser.ast.LineComment;
+import japa.parser.ast.Node;
 import japa.parser.ast.PackageDeclaration;
 import japa.parser.ast.TypeParameter;
 import japa.parser.ast.body.AnnotationDeclaration;
@@ -99,27 +100,95 @@ import japa.parser.ast.type.Type;
 import japa.parser.ast.type.VoidType;
 import japa.parser.ast.type.WildcardType;
 import japa.parser.ast.visitor.GenericVisitor;
+import japa.parser.ast.visitor.TreeWalker;
 
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
 
 /**
  * @author J. Hassler Thurston
  */
-public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
+public class Iteration1Heuristic<A> implements Heuristic<A> {
 
-    boolean comments = false;
+    // version of the scores of this heuristic; change it whenever the scores change,
+    // so that scores cached by an older version are not used
+    public static final int version = 1;
+
+    // told about the nodes walk() reaches and scores, if not null
+    Tracer tracer = null;
+    // told about every node this heuristic visits, if not null
+    NodeListener listener = null;
     public Iteration1Heuristic(boolean comments) {
-        this.comments = comments;
+        setComments(comments);
     }
     public Iteration1Heuristic() {
-        this.comments = false;
+        this(false);
     }
     public void setComments(boolean val) {
-        this.comments = val;
+        setTracer(val ? Tracer.standardOutput() : null);
+    }
+    public void setTracer(Tracer tracer) {
+        this.tracer = tracer;
+    }
+    public void setListener(NodeListener listener) {
+        this.listener = listener;
+    }
+
+    // this heuristic keeps no state between visits
+    public void reset() {
+    }
+
+    // used by walk(): the scores of the walked nodes whose parent has not used them yet
+    final TreeWalker walker = new TreeWalker();
+    IdentityHashMap<Node, Double> scores = null;
+    // used by walk() when tracing: when each node on the path to the current one was reached, by depth
+    long[] enterTimes = new long[64];
+
+    /**
+     * Computes the same score as visit(), without recursion: the tree is walked
+     * bottom-up, and every node is visited after its children, whose scores are
+     * looked up instead of computed again. So deeply nested code (long chains
+     * of a + b + c, say) cannot overflow the stack.
+     * The hash codes of the nodes are computed bottom-up on the way as well,
+     * so that comparing statements later does not recurse either.
+     * If there is a tracer, it is told when each node is reached and what
+     * its score is; visit() does not trace.
+    */
+    public Double walk(Node root, A arg) {
+        scores = new IdentityHashMap<Node, Double>();
+        Double score = new Double(0);
+        try {
+            walker.reset(root);
+            while (walker.hasNext()) {
+                if (walker.next() == TreeWalker.Event.EXIT) {
+                    Node n = walker.getNode();
+                    n.hashCode();
+                    score = n.accept(this, arg);
+                    scores.put(n, score);
+                    if (tracer != null) {
+                        int depth = walker.getDepth();
+                        tracer.exit(n, depth, score, System.nanoTime() - enterTimes[depth]);
+                    }
+                } else if (tracer != null) {
+                    int depth = walker.getDepth();
+                    if (depth == enterTimes.length) {
+                        enterTimes = Arrays.copyOf(enterTimes, depth * 2);
+                    }
+                    tracer.enter(walker.getNode(), depth);
+                    enterTimes[depth] = System.nanoTime();
+                }
+            }
+        } finally {
+            scores = null;
+            walker.reset(null);
+        }
+        return score;
     }
 
     public Double visit(AnnotationDeclaration n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "AnnotationDeclaration");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getJavaDoc() != null) {
             n.getJavaDoc().accept(this, arg);
         }
@@ -133,12 +202,12 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
                 member.accept(this, arg);
             }
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0); // stub
     }
 
     public Double visit(AnnotationMemberDeclaration n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "AnnotationMemberDeclaration");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getJavaDoc() != null) {
             n.getJavaDoc().accept(this, arg);
         }
@@ -151,34 +220,33 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
         if (n.getDefaultValue() != null) {
             n.getDefaultValue().accept(this, arg);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0); // stub
     }
 
     public Double visit(ArrayAccessExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ArrayAccessExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         n.getName().accept(this, arg);
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getIndex().accept(this, arg)));
         return n.getIndex().accept(this, arg);
     }
 
     public Double visit(ArrayCreationExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ArrayCreationExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         n.getType().accept(this, arg);
         if (n.getDimensions() != null) {
             for (Expression dim : n.getDimensions()) {
                 dim.accept(this, arg);
             }
-            if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
             return new Double(0); // stub
         } else {
-            if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getInitializer().accept(this, arg)));
             return n.getInitializer().accept(this, arg);
         }
     }
 
     public Double visit(ArrayInitializerExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ArrayInitializerExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double dryValues = new Double(0);
         int i = 0;
         if (n.getValues() != null) {
@@ -187,40 +255,40 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
                 i++;
             }
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (divide(dryValues,i)));
         return divide(dryValues,i);
     }
 
     public Double visit(AssertStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "AssertStmt");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double check, message = new Double(0);
         check = n.getCheck().accept(this, arg);
         if (n.getMessage() != null) {
             message = n.getMessage().accept(this, arg);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (message));
         return message; // stub
     }
 
     public Double visit(AssignExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "AssignExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         n.getTarget().accept(this, arg);
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getValue().accept(this, arg)));
         return n.getValue().accept(this, arg);
     }
 
     public Double visit(BinaryExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "BinaryExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double left = n.getLeft().accept(this, arg);
         Double right = n.getRight().accept(this, arg);
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (average(new Double[] {left, right})));
         return average(new Double[] {left, right});
     }
 
     public Double visit(BlockStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "BlockStmt");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double equalityCounter = new Double(0);
-        int pairs = 0;
+        long pairs = 0;
         Double dryValues = new Double(0);
         int i = 0;
         if (n.getStmts() != null) {
@@ -228,61 +296,59 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
             for (int s1 = 0; s1 < stmts.size(); s1++) {
                 dryValues += stmts.get(s1).accept(this, arg);
                 i++;
-                for (int s2 = 0; s2 < s1; s2++) {
-                    if (stmts.get(s1).equals(stmts.get(s2))) {
-                        equalityCounter = equalityCounter + 1;
-                    }
-                    pairs++;
-                }
             }
+            // count the pairs of equal statements by grouping equal statements,
+            // instead of comparing every pair of statements
+            equalityCounter = (double) EqualPairs.count(stmts);
+            pairs = EqualPairs.all(stmts.size());
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (average(new Double[] {divide(dryValues,i), divide(equalityCounter,pairs)})));
         return average(new Double[] {divide(dryValues,i), divide(equalityCounter,pairs)});
 
     }
 
     public Double visit(BooleanLiteralExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "BooleanLiteralExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(1)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(1); // stub
     }
 
     public Double visit(BreakStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "BreakStmt");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(0);
     }
 
     public Double visit(CastExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "CastExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         n.getType().accept(this, arg);
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getExpr().accept(this, arg)));
         return n.getExpr().accept(this, arg);
     }
 
     public Double visit(CatchClause n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "CatchClause");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double except = n.getExcept().accept(this, arg);
         Double catchBlock = n.getCatchBlock().accept(this, arg);
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (average(new Double[] {except, catchBlock})));
         return average(new Double[] {except, catchBlock});
 
     }
 
     public Double visit(CharLiteralExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "CharLiteralExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(0);
     }
 
     public Double visit(ClassExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ClassExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getType().accept(this, arg)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return n.getType().accept(this, arg);
     }
 
     public Double visit(ClassOrInterfaceDeclaration n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ClassOrInterfaceDeclaration");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getJavaDoc() != null) {
             n.getJavaDoc().accept(this, arg);
         }
@@ -314,15 +380,14 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
                 dryValues += member.accept(this, arg);
                 i++;
             }
-            if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (divide(dryValues,i)));
             return divide(dryValues,i);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0); // stub
     }
 
     public Double visit(ClassOrInterfaceType n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ClassOrInterfaceType");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getScope() != null) {
             n.getScope().accept(this, arg);
         }
@@ -331,12 +396,12 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
                 t.accept(this, arg);
             }
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0); // stub
     }
 
     public Double visit(CompilationUnit n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "CompilationUnit");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double packageValue = new Double(0), importsValue = new Double(0), typesValue = new Double(0);
         if (n.getPackage() != null) {
             packageValue = n.getPackage().accept(this, arg);
@@ -359,21 +424,21 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
             }
             typesValue = divide(dryValues, i);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (typesValue));
         return typesValue; // stub
     }
 
     public Double visit(ConditionalExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ConditionalExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double condition = n.getCondition().accept(this, arg);
         Double thenExpr = n.getThenExpr().accept(this, arg);
         Double elseExpr = n.getElseExpr().accept(this, arg);
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (average(new Double[] {condition/2, thenExpr, elseExpr})));
         return average(new Double[] {condition/2, thenExpr, elseExpr});
     }
 
     public Double visit(ConstructorDeclaration n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ConstructorDeclaration");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getJavaDoc() != null) {
             n.getJavaDoc().accept(this, arg);
         }
@@ -397,62 +462,62 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
                 name.accept(this, arg);
             }
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getBlock().accept(this, arg)));
         return n.getBlock().accept(this, arg);
     }
 
     public Double visit(ContinueStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ContinueStmt");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(0); // stub
     }
 
     public Double visit(DoStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "DoStmt");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double body = n.getBody().accept(this, arg);
         Double condition = n.getCondition().accept(this, arg);
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (average(new Double[] {body, condition/2})));
         return average(new Double[] {body, condition/2});
     }
 
     public Double visit(DoubleLiteralExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "DoubleLiteralExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(0); // stub
     }
 
     public Double visit(EmptyMemberDeclaration n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "EmptyMemberDeclaration");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getJavaDoc() != null) {
             n.getJavaDoc().accept(this, arg);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0); // stub
     }
 
     public Double visit(EmptyStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "EmptyStmt");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(0); // stub
     }
 
     public Double visit(EmptyTypeDeclaration n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "EmptyTypeDeclaration");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getJavaDoc() != null) {
             n.getJavaDoc().accept(this, arg);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0); // stub
     }
 
     public Double visit(EnclosedExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "EnclosedExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getInner().accept(this, arg)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return n.getInner().accept(this, arg);
     }
 
     public Double visit(EnumConstantDeclaration n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "EnumConstantDeclaration");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getJavaDoc() != null) {
             n.getJavaDoc().accept(this, arg);
         }
@@ -473,15 +538,14 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
                 dryValues += member.accept(this, arg);
                 i++;
             }
-            if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (divide(dryValues,i)));
             return divide(dryValues,i);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0); // stub
     }
 
     public Double visit(EnumDeclaration n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "EnumDeclaration");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getJavaDoc() != null) {
             n.getJavaDoc().accept(this, arg);
         }
@@ -507,15 +571,14 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
                 dryValues += member.accept(this, arg);
                 i++;
             }
-            if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (divide(dryValues,i)));
             return divide(dryValues,i);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0);
     }
 
     public Double visit(ExplicitConstructorInvocationStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ExplicitConstructorInvocationStmt");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double thisExpr = new Double(0);
         if (!n.isThis()) {
             if (n.getExpr() != null) {
@@ -534,27 +597,26 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
                 dryValues += e.accept(this, arg);
                 i++;
             }
-            if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (divide(dryValues,i)));
             return divide(dryValues,i);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0);
     }
 
     public Double visit(ExpressionStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ExpressionStmt");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getExpression().accept(this, arg)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return n.getExpression().accept(this, arg);
     }
 
     public Double visit(FieldAccessExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "FieldAccessExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getScope().accept(this, arg)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return n.getScope().accept(this, arg);
     }
 
     public Double visit(FieldDeclaration n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "FieldDeclaration");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getJavaDoc() != null) {
             n.getJavaDoc().accept(this, arg);
         }
@@ -570,21 +632,21 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
             dryValues += var.accept(this, arg);
             i++;
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (divide(dryValues,i)));
         return divide(dryValues,i);
     }
 
     public Double visit(ForeachStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ForeachStmt");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double var = n.getVariable().accept(this, arg);
         Double iter = n.getIterable().accept(this, arg);
         Double body = n.getBody().accept(this, arg);
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (average(new Double[] {var/3, iter/3, body})));
         return average(new Double[] {var/3, iter/3, body});
     }
 
     public Double visit(ForStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ForStmt");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double init = new Double(0), comp = new Double(0), update = new Double(0), body = new Double(0);
         if (n.getInit() != null) {
             Double dryValues = new Double(0);
@@ -608,95 +670,95 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
             update = divide(dryValues, i);
         }
         body = n.getBody().accept(this, arg);
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (average(new Double[] {init, comp, update, body})));
         return average(new Double[] {init, comp, update, body});
     }
 
     public Double visit(IfStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "IfStmt");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double cond = n.getCondition().accept(this, arg);
         Double thenStmt = n.getThenStmt().accept(this, arg);
         Double elseStmt = new Double(0);
         if (n.getElseStmt() != null) {
             elseStmt = n.getElseStmt().accept(this, arg);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (average(new Double[] {cond/2, thenStmt, elseStmt})));
         return average(new Double[] {cond/2, thenStmt, elseStmt});
     }
 
     public Double visit(ImportDeclaration n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ImportDeclaration");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getName().accept(this, arg)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return n.getName().accept(this, arg);
     }
 
     public Double visit(InitializerDeclaration n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "InitializerDeclaration");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getJavaDoc() != null) {
             n.getJavaDoc().accept(this, arg);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getBlock().accept(this, arg)));
         return n.getBlock().accept(this, arg);
     }
 
     public Double visit(InstanceOfExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "InstanceOfExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double expr = n.getExpr().accept(this, arg);
         n.getType().accept(this, arg);
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (expr));
         return expr;
     }
 
     public Double visit(IntegerLiteralExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "IntegerLiteralExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(1)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(1);
     }
 
     public Double visit(IntegerLiteralMinValueExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "IntegerLiteralMinValueExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(1)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(1);
     }
 
     public Double visit(JavadocComment n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "JavadocComment");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(0);
     }
 
     public Double visit(LabeledStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "LabeledStmt");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getStmt().accept(this, arg)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return n.getStmt().accept(this, arg);
     }
 
     public Double visit(LongLiteralExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "LongLiteralExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(1)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(1);
     }
 
     public Double visit(LongLiteralMinValueExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "LongLiteralMinValueExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(1)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(1);
     }
 
     public Double visit(MarkerAnnotationExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "MarkerAnnotationExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getName().accept(this, arg)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return n.getName().accept(this, arg);
     }
 
     public Double visit(MemberValuePair n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "MemberValuePair");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getValue().accept(this, arg)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return n.getValue().accept(this, arg);
     }
 
     public Double visit(MethodCallExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "MethodCallExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double scope = new Double(0), tArgs = new Double(0), args = new Double(0);
         if (n.getScope() != null) {
             scope = n.getScope().accept(this, arg);
@@ -719,12 +781,12 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
             }
             args = divide(dryValues, i);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (average(new Double[] {scope/3, tArgs/2, args})));
         return average(new Double[] {scope/3, tArgs/2, args});
     }
 
     public Double visit(MethodDeclaration n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "MethodDeclaration");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getJavaDoc() != null) {
             n.getJavaDoc().accept(this, arg);
         }
@@ -753,18 +815,18 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
         if (n.getBody() != null) {
             body = n.getBody().accept(this, arg);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (body));
         return body;
     }
 
     public Double visit(NameExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "NameExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(0); // stub
     }
 
     public Double visit(NormalAnnotationExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "NormalAnnotationExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         n.getName().accept(this, arg);
         if (n.getPairs() != null) {
             Double dryValues = new Double(0);
@@ -772,21 +834,20 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
             for (MemberValuePair m : n.getPairs()) {
                 dryValues += m.accept(this, arg);
             }
-            if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (divide(dryValues,i)));
             return divide(dryValues,i);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0);
     }
 
     public Double visit(NullLiteralExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "NullLiteralExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(0);
     }
 
     public Double visit(ObjectCreationExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ObjectCreationExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double scope = new Double(0), tArgs = new Double(0), type = new Double(0), args = new Double(0), aClassBody = new Double(0);
         if (n.getScope() != null) {
             n.getScope().accept(this, arg);
@@ -815,23 +876,23 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
             }
             aClassBody = divide(dryValues, i);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (average(new Double[] {type/3, args, aClassBody})));
         return average(new Double[] {type/3, args, aClassBody});
     }
 
     public Double visit(PackageDeclaration n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "PackageDeclaration");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getAnnotations() != null) {
             for (AnnotationExpr a : n.getAnnotations()) {
                 a.accept(this, arg);
             }
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getName().accept(this, arg)));
         return n.getName().accept(this, arg);
     }
 
     public Double visit(Parameter n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "Parameter");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getAnnotations() != null) {
             for (AnnotationExpr a : n.getAnnotations()) {
                 a.accept(this, arg);
@@ -839,63 +900,61 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
         }
         Double type = n.getType().accept(this, arg);
         Double id = n.getId().accept(this, arg);
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (average(new Double[] {type, id})));
         return average(new Double[] {type, id});
     }
 
     public Double visit(PrimitiveType n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "PrimitiveType");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(1)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(1);
     }
 
     public Double visit(QualifiedNameExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "QualifiedNameExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getQualifier().accept(this, arg)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return n.getQualifier().accept(this, arg);
     }
 
     public Double visit(ReferenceType n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ReferenceType");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getType().accept(this, arg)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return n.getType().accept(this, arg);
     }
 
     public Double visit(ReturnStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ReturnStmt");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getExpr() != null) {
-            if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getExpr().accept(this, arg)));
             return n.getExpr().accept(this, arg);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0);
     }
 
     public Double visit(SingleMemberAnnotationExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "SingleMemberAnnotationExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         n.getName().accept(this, arg);
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getMemberValue().accept(this, arg)));
         return n.getMemberValue().accept(this, arg);
     }
 
     public Double visit(StringLiteralExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "StringLiteralExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(1)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(1);
     }
 
     public Double visit(SuperExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "SuperExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getClassExpr() != null) {
-            if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getClassExpr().accept(this, arg)));
             return n.getClassExpr().accept(this, arg);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0);
     }
 
     public Double visit(SwitchEntryStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "SwitchEntryStmt");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getLabel() != null) {
             n.getLabel().accept(this, arg);
         }
@@ -906,15 +965,14 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
                 dryValues += s.accept(this, arg);
                 i++;
             }
-            if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (divide(dryValues,i)));
             return divide(dryValues,i);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0);
     }
 
     public Double visit(SwitchStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "SwitchStmt");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         n.getSelector().accept(this, arg);
         if (n.getEntries() != null) {
             Double dryValues = new Double(0);
@@ -923,40 +981,38 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
                 dryValues += e.accept(this, arg);
                 i++;
             }
-            if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (divide(dryValues,i)));
             return divide(dryValues,i);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0);
 
     }
 
     public Double visit(SynchronizedStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "SynchronizedStmt");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double expr = n.getExpr().accept(this, arg);
         Double block = n.getBlock().accept(this, arg);
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (average(new Double[] {expr, block})));
         return average(new Double[] {expr, block});
     }
 
     public Double visit(ThisExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ThisExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getClassExpr() != null) {
-            if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getClassExpr().accept(this, arg)));
             return n.getClassExpr().accept(this, arg);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0);
     }
 
     public Double visit(ThrowStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "ThrowStmt");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getExpr().accept(this, arg)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return n.getExpr().accept(this, arg);
     }
 
     public Double visit(TryStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "TryStmt");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double tBlock = new Double(0), cBlock = new Double(0), fBlock = new Double(0);
         tBlock = n.getTryBlock().accept(this, arg);
         if (n.getCatchs() != null) {
@@ -971,18 +1027,18 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
         if (n.getFinallyBlock() != null) {
             fBlock = n.getFinallyBlock().accept(this, arg);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (average(new Double[] {tBlock/5, cBlock, fBlock})));
         return average(new Double[] {tBlock/5, cBlock, fBlock});
     }
 
     public Double visit(TypeDeclarationStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "TypeDeclarationStmt");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getTypeDeclaration().accept(this, arg)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return n.getTypeDeclaration().accept(this, arg);
     }
 
     public Double visit(TypeParameter n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "TypeParameter");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getTypeBound() != null) {
             Double dryValues = new Double(0);
             int i = 0;
@@ -990,21 +1046,20 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
                 dryValues += c.accept(this, arg);
                 i++;
             }
-            if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (divide(dryValues,i)));
             return divide(dryValues,i);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0);
     }
 
     public Double visit(UnaryExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "UnaryExpr");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getExpr().accept(this, arg)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return n.getExpr().accept(this, arg);
     }
 
     public Double visit(VariableDeclarationExpr n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "VariableDeclarationExpr");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getAnnotations() != null) {
             for (AnnotationExpr a : n.getAnnotations()) {
                 a.accept(this, arg);
@@ -1017,62 +1072,60 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
             dryValues += v.accept(this, arg);
             i++;
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (divide(dryValues,i)));
         return divide(dryValues,i);
     }
 
     public Double visit(VariableDeclarator n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "VariableDeclarator");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         n.getId().accept(this, arg);
         if (n.getInit() != null) {
-            if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (n.getInit().accept(this, arg)));
             return n.getInit().accept(this, arg);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0);
     }
 
     public Double visit(VariableDeclaratorId n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "VariableDeclaratorId");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(0);
     }
 
     public Double visit(VoidType n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "VoidType");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(0);
     }
 
     public Double visit(WhileStmt n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "WhileStmt");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         Double cond = n.getCondition().accept(this, arg);
         Double body = n.getBody().accept(this, arg);
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (average(new Double[] {cond/2, body})));
         return average(new Double[] {cond/2, body});
     }
 
     public Double visit(WildcardType n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "WildcardType");
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         if (n.getExtends() != null) {
             n.getExtends().accept(this, arg);
         }
         if (n.getSuper() != null) {
             n.getSuper().accept(this, arg);
         }
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
         return new Double(0);
     }
 
     public Double visit(BlockComment n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "BlockComment");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(0);
     }
 
     public Double visit(LineComment n, A arg) {
-        if(comments) System.out.println("Visiting node " + n + " of type " + "LineComment");
-        if(comments) System.out.println("dryness score for node " + n + " of type " + n.getClass() + " is: " + (new Double(0)));
+        if(scores != null && scores.containsKey(n)) return scores.remove(n);
+        if(listener != null) listener.nodeVisited(n);
         return new Double(0);
     }
 
@@ -1093,5 +1146,11 @@ public class Iteration1Heuristic<A> implements GenericVisitor<Double, A> {
         }
         return sum/i;
     }
+    public Double divide(Double sum, long i) {
+        if (i == 0) {
+            return new Double(0);
+        }
+        return sum/i;
+    }
 
 }
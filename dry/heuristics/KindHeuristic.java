@@ -0,0 +1,471 @@
+/**
+ * KindHeuristic.java
+ * Base class of the heuristics that only look at the kinds of the nodes.
+ *
+ * Heuristics like the AllPairs heuristics and the ModifiedBaker heuristic
+ * do not care about the structure of the parse tree, only about which
+ * nodes of each kind it contains. A KindHeuristic walks the tree (without
+ * recursion, see japa.parser.ast.visitor.TreeWalker) and hands every node
+ * to nodeVisited() together with the ordinal of its NodeKind, so that the
+ * heuristic can keep its counters and lists in flat arrays indexed by that
+ * ordinal; when the walk is over, score() computes the score of the file.
+ * Visiting any node walks the tree below it.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.heuristics;
+
+import japa.parser.ast.BlockComment;
+import japa.parser.ast.CompilationUnit;
+import japa.parser.ast.ImportDeclaration;
+import japa.parser.ast.LineComment;
+import japa.parser.ast.Node;
+import japa.parser.ast.NodeKind;
+import japa.parser.ast.PackageDeclaration;
+import japa.parser.ast.TypeParameter;
+import japa.parser.ast.body.AnnotationDeclaration;
+import japa.parser.ast.body.AnnotationMemberDeclaration;
+import japa.parser.ast.body.ClassOrInterfaceDeclaration;
+import japa.parser.ast.body.ConstructorDeclaration;
+import japa.parser.ast.body.EmptyMemberDeclaration;
+import japa.parser.ast.body.EmptyTypeDeclaration;
+import japa.parser.ast.body.EnumConstantDeclaration;
+import japa.parser.ast.body.EnumDeclaration;
+import japa.parser.ast.body.FieldDeclaration;
+import japa.parser.ast.body.InitializerDeclaration;
+import japa.parser.ast.body.JavadocComment;
+import japa.parser.ast.body.MethodDeclaration;
+import japa.parser.ast.body.Parameter;
+import japa.parser.ast.body.VariableDeclarator;
+import japa.parser.ast.body.VariableDeclaratorId;
+import japa.parser.ast.expr.ArrayAccessExpr;
+import japa.parser.ast.expr.ArrayCreationExpr;
+import japa.parser.ast.expr.ArrayInitializerExpr;
+import japa.parser.ast.expr.AssignExpr;
+import japa.parser.ast.expr.BinaryExpr;
+import japa.parser.ast.expr.BooleanLiteralExpr;
+import japa.parser.ast.expr.CastExpr;
+import japa.parser.ast.expr.CharLiteralExpr;
+import japa.parser.ast.expr.ClassExpr;
+import japa.parser.ast.expr.ConditionalExpr;
+import japa.parser.ast.expr.DoubleLiteralExpr;
+import japa.parser.ast.expr.EnclosedExpr;
+import japa.parser.ast.expr.FieldAccessExpr;
+import japa.parser.ast.expr.InstanceOfExpr;
+import japa.parser.ast.expr.IntegerLiteralExpr;
+import japa.parser.ast.expr.IntegerLiteralMinValueExpr;
+import japa.parser.ast.expr.LongLiteralExpr;
+import japa.parser.ast.expr.LongLiteralMinValueExpr;
+import japa.parser.ast.expr.MarkerAnnotationExpr;
+import japa.parser.ast.expr.MemberValuePair;
+import japa.parser.ast.expr.MethodCallExpr;
+import japa.parser.ast.expr.NameExpr;
+import japa.parser.ast.expr.NormalAnnotationExpr;
+import japa.parser.ast.expr.NullLiteralExpr;
+import japa.parser.ast.expr.ObjectCreationExpr;
+import japa.parser.ast.expr.QualifiedNameExpr;
+import japa.parser.ast.expr.SingleMemberAnnotationExpr;
+import japa.parser.ast.expr.StringLiteralExpr;
+import japa.parser.ast.expr.SuperExpr;
+import japa.parser.ast.expr.ThisExpr;
+import japa.parser.ast.expr.UnaryExpr;
+import japa.parser.ast.expr.VariableDeclarationExpr;
+import japa.parser.ast.stmt.AssertStmt;
+import japa.parser.ast.stmt.BlockStmt;
+import japa.parser.ast.stmt.BreakStmt;
+import japa.parser.ast.stmt.CatchClause;
+import japa.parser.ast.stmt.ContinueStmt;
+import japa.parser.ast.stmt.DoStmt;
+import japa.parser.ast.stmt.EmptyStmt;
+import japa.parser.ast.stmt.ExplicitConstructorInvocationStmt;
+import japa.parser.ast.stmt.ExpressionStmt;
+import japa.parser.ast.stmt.ForStmt;
+import japa.parser.ast.stmt.ForeachStmt;
+import japa.parser.ast.stmt.IfStmt;
+import japa.parser.ast.stmt.LabeledStmt;
+import japa.parser.ast.stmt.ReturnStmt;
+import japa.parser.ast.stmt.SwitchEntryStmt;
+import japa.parser.ast.stmt.SwitchStmt;
+import japa.parser.ast.stmt.SynchronizedStmt;
+import japa.parser.ast.stmt.ThrowStmt;
+import japa.parser.ast.stmt.TryStmt;
+import japa.parser.ast.stmt.TypeDeclarationStmt;
+import japa.parser.ast.stmt.WhileStmt;
+import japa.parser.ast.type.ClassOrInterfaceType;
+import japa.parser.ast.type.PrimitiveType;
+import japa.parser.ast.type.ReferenceType;
+import japa.parser.ast.type.VoidType;
+import japa.parser.ast.type.WildcardType;
+import japa.parser.ast.visitor.GenericVisitor;
+import japa.parser.ast.visitor.TreeWalker;
+
+public abstract class KindHeuristic<A> implements Heuristic<A> {
+
+    // told about the nodes walk() reaches and the score, if not null
+    Tracer tracer = null;
+    final TreeWalker walker = new TreeWalker();
+
+    public void setComments(boolean val) {
+        setTracer(val ? Tracer.standardOutput() : null);
+    }
+
+    public void setTracer(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    // called for every node of the walked tree, in the order the tree is walked;
+    // kind is the ordinal of the NodeKind of n
+    public abstract void nodeVisited(Node n, int kind);
+
+    // computes the score from the nodes visited since the last reset()
+    public abstract Double score();
+
+    /**
+     * Hands every node of the tree below root to nodeVisited(), and returns the score.
+    */
+    public Double walk(Node root) {
+        long start = tracer != null ? System.nanoTime() : 0;
+        walker.reset(root);
+        try {
+            while (walker.hasNext()) {
+                if (walker.next() == TreeWalker.Event.ENTER) {
+                    Node n = walker.getNode();
+                    NodeKind kind = n.getKind();
+                    if (tracer != null) {
+                        tracer.enter(n, walker.getDepth());
+                    }
+                    if (kind != null) {
+                        nodeVisited(n, kind.ordinal());
+                    }
+                }
+            }
+        } finally {
+            walker.reset(null);
+        }
+        Double score = score();
+        if (tracer != null) {
+            tracer.exit(root, 0, score, System.nanoTime() - start);
+        }
+        return score;
+    }
+
+    public Double visit(CompilationUnit n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(PackageDeclaration n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ImportDeclaration n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(TypeParameter n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(LineComment n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(BlockComment n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ClassOrInterfaceDeclaration n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(EnumDeclaration n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(EmptyTypeDeclaration n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(EnumConstantDeclaration n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(AnnotationDeclaration n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(AnnotationMemberDeclaration n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(FieldDeclaration n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(VariableDeclarator n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(VariableDeclaratorId n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ConstructorDeclaration n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(MethodDeclaration n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(Parameter n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(EmptyMemberDeclaration n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(InitializerDeclaration n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(JavadocComment n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ClassOrInterfaceType n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(PrimitiveType n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ReferenceType n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(VoidType n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(WildcardType n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ArrayAccessExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ArrayCreationExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ArrayInitializerExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(AssignExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(BinaryExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(CastExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ClassExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ConditionalExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(EnclosedExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(FieldAccessExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(InstanceOfExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(StringLiteralExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(IntegerLiteralExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(LongLiteralExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(IntegerLiteralMinValueExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(LongLiteralMinValueExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(CharLiteralExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(DoubleLiteralExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(BooleanLiteralExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(NullLiteralExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(MethodCallExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(NameExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ObjectCreationExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(QualifiedNameExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ThisExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(SuperExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(UnaryExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(VariableDeclarationExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(MarkerAnnotationExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(SingleMemberAnnotationExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(NormalAnnotationExpr n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(MemberValuePair n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ExplicitConstructorInvocationStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(TypeDeclarationStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(AssertStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(BlockStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(LabeledStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(EmptyStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ExpressionStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(SwitchStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(SwitchEntryStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(BreakStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ReturnStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(IfStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(WhileStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ContinueStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(DoStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ForeachStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ForStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(ThrowStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(SynchronizedStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(TryStmt n, A arg) {
+        return walk(n);
+    }
+
+    public Double visit(CatchClause n, A arg) {
+        return walk(n);
+    }
+}
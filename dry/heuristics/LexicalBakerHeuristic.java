@@ -0,0 +1,917 @@
+/**
+ * LexicalBakerHeuristic.java
+ * Approximates the ModifiedBakerHeuristic score from the tokens of a file.
+ *
+ * The ModifiedBakerHeuristic counts the parse tree nodes of each kind
+ * that represents an operator or an operand. Most of these nodes can be
+ * told from the tokens around them, without parsing: a keyword starts a
+ * statement, an identifier followed by "(" is a method call, a type
+ * followed by an identifier declares a variable, an operator between
+ * two operands is a binary expression, and so on. So we read the tokens
+ * of the file from the ASTParserTokenManager, and estimate the number of
+ * nodes of each kind in a single pass over them, which only keeps track
+ * of the braces, parentheses and brackets that are open, and looks ahead
+ * over the tokens of a type. The score is computed from these counts
+ * in the same way as the ModifiedBakerHeuristic computes it from the real ones.
+ *
+ * The counts are estimates, which unusual code can throw off: for example,
+ * the literals of the smallest int and long are counted as negated
+ * literals, and a variable declared after an anonymous class in the same
+ * field declaration is counted as a name. In return, lexing a file is
+ * several times faster than parsing it, and a file is not parsed at all
+ * if only token heuristics score it.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.heuristics;
+
+import japa.parser.ASTParserConstants;
+import japa.parser.ReusableLexer;
+import japa.parser.Token;
+import japa.parser.ast.NodeKind;
+
+import java.util.Arrays;
+
+public class LexicalBakerHeuristic<A> extends TokenHeuristic<A> implements ASTParserConstants {
+
+    // version of the scores of this heuristic; change it whenever the scores change,
+    // so that scores cached by an older version are not used
+    public static final int version = 1;
+
+    // what an open brace encloses
+    static final int BLOCK = 0, BODY = 1, ENUM_CONSTANTS = 2, ANNOTATION_BODY = 3, INITIALIZER = 4;
+    // what an open parenthesis encloses
+    static final int EXPRESSION = 0, PARAMETERS = 1, FOR_HEADER = 2, ANNOTATION = 3, ARGUMENTS = 4;
+    // what an open bracket encloses
+    static final int INDEX = 0, DIMENSION = 1;
+
+    // the number of EOF tokens after the last token of the file, so that we can look ahead without checking
+    static final int lookahead = 4;
+
+    // the kinds of the tokens of the file, and their number; a shift operator has its real kind
+    int[] tokens = new int[1024];
+    int length = 0;
+
+    // the estimated number of nodes of each kind, indexed by the ordinal of the kind
+    final int[] counts = new int[NodeKind.COUNT];
+
+    // the open braces, with the number of parentheses that were open when each of them was opened,
+    // the open parentheses and the open brackets, innermost last
+    int[] braces = new int[16];
+    int[] braceParens = new int[16];
+    int[] parens = new int[16];
+    int[] brackets = new int[16];
+    int braceDepth, parenDepth, bracketDepth;
+
+    // what the next brace and the next parenthesis enclose, or -1 if that is not known yet
+    int nextBrace, nextParen;
+    // the token after annotations or type parameters, where a declaration may start
+    int declarationStart;
+    // the token that opens the next dimension of an array creation
+    int nextDimension;
+    // the token after the last cast
+    int castEnd;
+    // whether variables are being declared, and how many braces and parentheses are open around them
+    boolean declaring;
+    int declaringBraces, declaringParens;
+
+    // only used to compute the score from the counts
+    final ModifiedBakerHeuristic<Object> baker = new ModifiedBakerHeuristic<Object>();
+
+    public LexicalBakerHeuristic(boolean comments) {
+        setComments(comments);
+    }
+    public LexicalBakerHeuristic() {
+        this(false);
+    }
+
+    // the counts are estimated from the tokens, so there is no point in parsing the file first
+    public boolean readsSource() {
+        return true;
+    }
+
+    // forgets the tokens of the previous file, keeping the arrays around for the next one
+    public void reset() {
+        length = 0;
+    }
+
+    public void tokenRead(Token t) {
+        if (length + lookahead >= tokens.length) {
+            tokens = Arrays.copyOf(tokens, tokens.length * 2);
+        }
+        tokens[length++] = ReusableLexer.realKind(t);
+    }
+
+    // estimates the number of nodes of each kind, and computes the Baker dryness score from them
+    public Double score() {
+        Arrays.fill(tokens, length, length + lookahead, EOF);
+        classify();
+        // the while of a do statement is not a statement of its own
+        int whiles = NodeKind.WHILE_STMT.ordinal();
+        counts[whiles] = Math.max(0, counts[whiles] - counts[NodeKind.DO_STMT.ordinal()]);
+        return baker.computeBakerDrynessScore(ModifiedBakerHeuristic.counts(counts, ModifiedBakerHeuristic.operatorKinds),
+            ModifiedBakerHeuristic.counts(counts, ModifiedBakerHeuristic.operandKinds));
+    }
+
+    // counts the nodes of the tokens of the file
+    void classify() {
+        Arrays.fill(counts, 0);
+        braceDepth = parenDepth = bracketDepth = 0;
+        nextBrace = nextParen = -1;
+        declarationStart = nextDimension = castEnd = -1;
+        declaring = false;
+        int i = 0;
+        while (i < length) {
+            i = token(i);
+        }
+    }
+
+    void count(NodeKind kind) {
+        counts[kind.ordinal()]++;
+    }
+
+    int previous(int i) {
+        return i > 0 ? tokens[i - 1] : EOF;
+    }
+
+    // counts the nodes of the token at i (and maybe of a few tokens after it),
+    // and returns the first token it did not look at
+    int token(int i) {
+        int next = tokens[i + 1];
+        switch (tokens[i]) {
+        case IDENTIFIER:
+            return identifier(i);
+        case BOOLEAN: case BYTE: case CHAR: case SHORT: case INT: case LONG: case FLOAT: case DOUBLE:
+            if (declarationMayStart(i)) {
+                int end = declaration(i);
+                if (end > 0) {
+                    return end;
+                }
+            }
+            if (tokens[i + 1] == LBRACKET) {
+                int end = classLiteral(i);
+                if (end > 0) {
+                    return end;
+                }
+            }
+            count(NodeKind.PRIMITIVE_TYPE);
+            return i + 1;
+        case VOID:
+            count(NodeKind.VOID_TYPE);
+            if (next == IDENTIFIER && tokens[i + 2] == LPAREN && memberLevel()) {
+                count(NodeKind.METHOD_DECLARATION);
+                nextParen = PARAMETERS;
+                return i + 2;
+            }
+            return i + 1;
+        case INTEGER_LITERAL:
+            count(NodeKind.INTEGER_LITERAL_EXPR);
+            return i + 1;
+        case LONG_LITERAL:
+            count(NodeKind.LONG_LITERAL_EXPR);
+            return i + 1;
+        case FLOATING_POINT_LITERAL:
+            count(NodeKind.DOUBLE_LITERAL_EXPR);
+            return i + 1;
+        case CHARACTER_LITERAL:
+            count(NodeKind.CHAR_LITERAL_EXPR);
+            return i + 1;
+        case STRING_LITERAL:
+            count(NodeKind.STRING_LITERAL_EXPR);
+            return i + 1;
+        case TRUE: case FALSE:
+            count(NodeKind.BOOLEAN_LITERAL_EXPR);
+            return i + 1;
+        case NULL:
+            count(NodeKind.NULL_LITERAL_EXPR);
+            return i + 1;
+        case THIS:
+            count(next == LPAREN ? NodeKind.EXPLICIT_CONSTRUCTOR_INVOCATION_STMT : NodeKind.THIS_EXPR);
+            return i + 1;
+        case SUPER:
+            count(next == LPAREN ? NodeKind.EXPLICIT_CONSTRUCTOR_INVOCATION_STMT : NodeKind.SUPER_EXPR);
+            return i + 1;
+        case NEW:
+            return allocation(i);
+        case CLASS:
+            if (previous(i) == DOT) {
+                count(NodeKind.CLASS_EXPR);
+                return i + 1;
+            }
+            return typeDeclaration(i);
+        case INTERFACE: case ENUM:
+            return typeDeclaration(i);
+        case AT:
+            return annotation(i);
+        case PACKAGE:
+            count(NodeKind.PACKAGE_DECLARATION);
+            return name(i + 1);
+        case IMPORT: {
+            count(NodeKind.IMPORT_DECLARATION);
+            int end = name(next == STATIC ? i + 2 : i + 1);
+            return tokens[end] == DOT && tokens[end + 1] == STAR ? end + 2 : end;
+        }
+        case THROWS: {
+            int end = name(i + 1);
+            while (tokens[end] == COMMA && tokens[end + 1] == IDENTIFIER) {
+                end = name(end + 1);
+            }
+            return end;
+        }
+        case STATIC:
+            if (next == LBRACE && memberLevel()) {
+                count(NodeKind.INITIALIZER_DECLARATION);
+                nextBrace = BLOCK;
+            }
+            return i + 1;
+        case ASSERT:
+            count(NodeKind.ASSERT_STMT);
+            return i + 1;
+        case BREAK:
+            count(NodeKind.BREAK_STMT);
+            // the label is not a name
+            return next == IDENTIFIER ? i + 2 : i + 1;
+        case CONTINUE:
+            count(NodeKind.CONTINUE_STMT);
+            return next == IDENTIFIER ? i + 2 : i + 1;
+        case DO:
+            count(NodeKind.DO_STMT);
+            return i + 1;
+        case IF:
+            count(NodeKind.IF_STMT);
+            return i + 1;
+        case RETURN:
+            count(NodeKind.RETURN_STMT);
+            return i + 1;
+        case SWITCH:
+            count(NodeKind.SWITCH_STMT);
+            return i + 1;
+        case THROW:
+            count(NodeKind.THROW_STMT);
+            return i + 1;
+        case TRY:
+            count(NodeKind.TRY_STMT);
+            return i + 1;
+        case WHILE:
+            count(NodeKind.WHILE_STMT);
+            return i + 1;
+        case CATCH:
+            count(NodeKind.CATCH_CLAUSE);
+            nextParen = PARAMETERS;
+            return i + 1;
+        case FOR:
+            count(foreach(i) ? NodeKind.FOREACH_STMT : NodeKind.FOR_STMT);
+            nextParen = FOR_HEADER;
+            return i + 1;
+        case SYNCHRONIZED:
+            if (next == LPAREN) {
+                count(NodeKind.SYNCHRONIZED_STMT);
+            }
+            return i + 1;
+        case CASE:
+            count(NodeKind.SWITCH_ENTRY_STMT);
+            return i + 1;
+        case _DEFAULT:
+            // otherwise it is the default value of an annotation member
+            if (next == COLON) {
+                count(NodeKind.SWITCH_ENTRY_STMT);
+            }
+            return i + 1;
+        case INSTANCEOF: {
+            count(NodeKind.INSTANCE_OF_EXPR);
+            int end = type(i + 1, false);
+            if (end < 0) {
+                return i + 1;
+            }
+            type(i + 1, true);
+            return end;
+        }
+        case LPAREN:
+            return openParen(i);
+        case RPAREN:
+            return closeParen(i);
+        case LBRACE:
+            return openBrace(i);
+        case RBRACE:
+            return closeBrace(i);
+        case LBRACKET:
+            return openBracket(i);
+        case RBRACKET:
+            return closeBracket(i);
+        case SEMICOLON:
+            if (initializing()) {
+                declaring = false;
+            }
+            if (braceDepth > 0 && braces[braceDepth - 1] == ENUM_CONSTANTS && parenDepth == braceParens[braceDepth - 1]) {
+                // the members of the enum follow its constants
+                braces[braceDepth - 1] = BODY;
+            }
+            return i + 1;
+        case COLON:
+            if (initializing()) {
+                declaring = false;
+            }
+            return i + 1;
+        case COMMA:
+            if (initializing() && next == IDENTIFIER) {
+                return declarator(i + 1);
+            }
+            return i + 1;
+        case ASSIGN: case PLUSASSIGN: case MINUSASSIGN: case STARASSIGN: case SLASHASSIGN: case ANDASSIGN:
+        case ORASSIGN: case XORASSIGN: case REMASSIGN: case LSHIFTASSIGN: case RSIGNEDSHIFTASSIGN:
+        case RUNSIGNEDSHIFTASSIGN:
+            count(NodeKind.ASSIGN_EXPR);
+            return i + 1;
+        case LT:
+            if (previous(i) == DOT) {
+                // the type arguments of a method call
+                int end = typeArguments(i, false);
+                if (end > 0) {
+                    typeArguments(i, true);
+                    return end;
+                }
+            } else if (memberLevel() && declarationMayStart(i)) {
+                // the type parameters of a method or constructor
+                int end = typeParameters(i, false);
+                if (end > 0) {
+                    typeParameters(i, true);
+                    declarationStart = end;
+                    return end;
+                }
+            }
+            count(NodeKind.BINARY_EXPR);
+            return i + 1;
+        case RSIGNEDSHIFT:
+            // split into two tokens by the token manager
+            count(NodeKind.BINARY_EXPR);
+            return i + 2;
+        case RUNSIGNEDSHIFT:
+            count(NodeKind.BINARY_EXPR);
+            return i + 3;
+        case GT: case SC_OR: case SC_AND: case BIT_OR: case XOR: case BIT_AND: case EQ: case NE: case LE:
+        case GE: case LSHIFT: case STAR: case SLASH: case REM:
+            count(NodeKind.BINARY_EXPR);
+            return i + 1;
+        case PLUS: case MINUS:
+            count(i != castEnd && operandEnds(previous(i)) ? NodeKind.BINARY_EXPR : NodeKind.UNARY_EXPR);
+            return i + 1;
+        case INCR: case DECR: case BANG: case TILDE:
+            count(NodeKind.UNARY_EXPR);
+            return i + 1;
+        case HOOK:
+            count(NodeKind.CONDITIONAL_EXPR);
+            return i + 1;
+        default:
+            return i + 1;
+        }
+    }
+
+    int identifier(int i) {
+        int previous = previous(i), next = tokens[i + 1];
+        if (previous == DOT) {
+            // a field access, which is not counted, or a method call
+            if (next == LPAREN) {
+                count(NodeKind.METHOD_CALL_EXPR);
+            }
+            return i + 1;
+        }
+        if (braceDepth > 0 && braces[braceDepth - 1] == ENUM_CONSTANTS && parenDepth == braceParens[braceDepth - 1]
+                && (previous == LBRACE || previous == COMMA || i == declarationStart)) {
+            count(NodeKind.ENUM_CONSTANT_DECLARATION);
+            if (next == LPAREN) {
+                nextParen = ARGUMENTS;
+            } else if (next == LBRACE) {
+                nextBrace = BODY;
+            }
+            return i + 1;
+        }
+        if (parenDepth > 0 && parens[parenDepth - 1] == ANNOTATION && next == ASSIGN
+                && (previous == LPAREN || previous == COMMA)) {
+            count(NodeKind.MEMBER_VALUE_PAIR);
+            return i + 2;
+        }
+        if (declarationMayStart(i)) {
+            int end = declaration(i);
+            if (end > 0) {
+                return end;
+            }
+        }
+        if (next == LPAREN) {
+            if (memberLevel() && !initializing()) {
+                count(NodeKind.CONSTRUCTOR_DECLARATION);
+                nextParen = PARAMETERS;
+            } else {
+                count(NodeKind.METHOD_CALL_EXPR);
+            }
+            return i + 1;
+        }
+        if (next == COLON && (statementMayStart(previous) || previous == RPAREN && i != castEnd)) {
+            // the label is not a name
+            count(NodeKind.LABELED_STMT);
+            return i + 2;
+        }
+        int end = classLiteral(i);
+        if (end > 0) {
+            return end;
+        }
+        count(NodeKind.NAME_EXPR);
+        return i + 1;
+    }
+
+    // if the type starting at token i is the type of a class literal, counts its nodes and returns the "."
+    // before "class"; returns -1 otherwise
+    int classLiteral(int i) {
+        int end = type(i, false);
+        if (end < 0 || tokens[end] != DOT || tokens[end + 1] != CLASS) {
+            return -1;
+        }
+        type(i, true);
+        return end;
+    }
+
+    // if the type starting at token i declares a method, a parameter or variables, counts their nodes
+    // and returns the first token after the name of the declaration; returns -1 otherwise
+    int declaration(int i) {
+        int name = type(i, false);
+        if (name < 0) {
+            return -1;
+        }
+        if (tokens[name] == ELLIPSIS) {
+            name++;
+        }
+        if (tokens[name] != IDENTIFIER) {
+            return -1;
+        }
+        switch (tokens[name + 1]) {
+        case LPAREN:
+            if (!memberLevel() || initializing()) {
+                return -1;
+            }
+            type(i, true);
+            // the members of an annotation type are not methods
+            if (braces[braceDepth - 1] != ANNOTATION_BODY) {
+                count(NodeKind.METHOD_DECLARATION);
+            }
+            nextParen = PARAMETERS;
+            return name + 1;
+        case RPAREN: case ASSIGN: case SEMICOLON: case COMMA: case COLON: case LBRACKET:
+            // only the last parameter is followed by ")"
+            if (tokens[name + 1] == RPAREN && !inParameters()) {
+                return -1;
+            }
+            type(i, true);
+            if (inParameters()) {
+                count(NodeKind.PARAMETER);
+                count(NodeKind.VARIABLE_DECLARATOR_ID);
+                return name + 1;
+            }
+            if (!memberLevel()) {
+                count(NodeKind.VARIABLE_DECLARATION_EXPR);
+            }
+            declaring = true;
+            declaringBraces = braceDepth;
+            declaringParens = parenDepth;
+            return declarator(name);
+        default:
+            return -1;
+        }
+    }
+
+    // counts the variable declared by the identifier at token i, and returns the token after its "=", if any
+    int declarator(int i) {
+        count(NodeKind.VARIABLE_DECLARATOR);
+        count(NodeKind.VARIABLE_DECLARATOR_ID);
+        int j = i + 1;
+        while (tokens[j] == LBRACKET && tokens[j + 1] == RBRACKET) {
+            j += 2;
+        }
+        return tokens[j] == ASSIGN ? j + 1 : j;
+    }
+
+    // returns the token after the type starting at token i, or -1 if no type starts there;
+    // counts its nodes if count is set (a reference type is a ReferenceType around the type)
+    int type(int i, boolean count) {
+        boolean primitive = primitive(tokens[i]);
+        int j = primitive ? i + 1 : classType(i, count);
+        if (j < 0) {
+            return -1;
+        }
+        int dimensions = j;
+        while (tokens[j] == LBRACKET && tokens[j + 1] == RBRACKET) {
+            j += 2;
+        }
+        if (count) {
+            if (primitive) {
+                count(NodeKind.PRIMITIVE_TYPE);
+            }
+            if (!primitive || j > dimensions) {
+                count(NodeKind.REFERENCE_TYPE);
+            }
+        }
+        return j;
+    }
+
+    // returns the token after the class or interface type starting at token i, or -1 if none starts there;
+    // counts its nodes if count is set (a qualified type is a ClassOrInterfaceType for every name)
+    int classType(int i, boolean count) {
+        if (tokens[i] != IDENTIFIER) {
+            return -1;
+        }
+        int j = i;
+        while (true) {
+            if (count) {
+                count(NodeKind.CLASS_OR_INTERFACE_TYPE);
+            }
+            j++;
+            if (tokens[j] == LT) {
+                j = typeArguments(j, count);
+                if (j < 0) {
+                    return -1;
+                }
+            }
+            if (tokens[j] != DOT || tokens[j + 1] != IDENTIFIER) {
+                return j;
+            }
+            j++;
+        }
+    }
+
+    // returns the token after the type arguments starting with the "<" at token i, or -1 if there are none;
+    // counts their nodes if count is set
+    int typeArguments(int i, boolean count) {
+        int j = i;
+        do {
+            j++;
+            if (tokens[j] == HOOK) {
+                if (count) {
+                    count(NodeKind.WILDCARD_TYPE);
+                }
+                j++;
+                if (tokens[j] == EXTENDS || tokens[j] == SUPER) {
+                    j = type(j + 1, count);
+                }
+            } else {
+                j = type(j, count);
+            }
+            if (j < 0) {
+                return -1;
+            }
+        } while (tokens[j] == COMMA);
+        return closes(tokens[j]) ? j + 1 : -1;
+    }
+
+    // returns the token after the type parameters starting with the "<" at token i, or -1 if there are none;
+    // counts their nodes if count is set
+    int typeParameters(int i, boolean count) {
+        int j = i;
+        do {
+            j++;
+            if (tokens[j] != IDENTIFIER) {
+                return -1;
+            }
+            if (count) {
+                count(NodeKind.TYPE_PARAMETER);
+            }
+            j++;
+            if (tokens[j] == EXTENDS) {
+                do {
+                    j = classType(j + 1, count);
+                    if (j < 0) {
+                        return -1;
+                    }
+                } while (tokens[j] == BIT_AND);
+            }
+        } while (tokens[j] == COMMA);
+        return closes(tokens[j]) ? j + 1 : -1;
+    }
+
+    // counts the (qualified) name starting at token i, and returns the token after it
+    int name(int i) {
+        if (tokens[i] != IDENTIFIER) {
+            return i;
+        }
+        count(NodeKind.NAME_EXPR);
+        int j = i + 1;
+        while (tokens[j] == DOT && tokens[j + 1] == IDENTIFIER) {
+            count(NodeKind.QUALIFIED_NAME_EXPR);
+            j += 2;
+        }
+        return j;
+    }
+
+    // counts the class, interface, enum or annotation type declared at token i, and returns the token after its header
+    int typeDeclaration(int i) {
+        int kind = tokens[i];
+        boolean annotation = kind == INTERFACE && previous(i) == AT;
+        if (annotation) {
+            count(NodeKind.ANNOTATION_DECLARATION);
+        } else if (kind != ENUM) {
+            count(NodeKind.CLASS_OR_INTERFACE_DECLARATION);
+            if (braceDepth > 0 && braces[braceDepth - 1] == BLOCK) {
+                count(NodeKind.TYPE_DECLARATION_STMT);
+            }
+        }
+        int j = i + 1;
+        if (tokens[j] == IDENTIFIER) {
+            j++;
+        }
+        if (tokens[j] == LT) {
+            int end = typeParameters(j, false);
+            if (end > 0) {
+                typeParameters(j, true);
+                j = end;
+            }
+        }
+        while (tokens[j] == EXTENDS || tokens[j] == IMPLEMENTS || tokens[j] == COMMA) {
+            int end = classType(j + 1, false);
+            if (end < 0) {
+                break;
+            }
+            classType(j + 1, true);
+            j = end;
+        }
+        nextBrace = annotation ? ANNOTATION_BODY : kind == ENUM ? ENUM_CONSTANTS : BODY;
+        return j;
+    }
+
+    // counts the annotation starting with the "@" at token i, and returns the token after its name
+    int annotation(int i) {
+        if (tokens[i + 1] == INTERFACE) {
+            return i + 1;
+        }
+        int j = name(i + 1);
+        if (tokens[j] == LPAREN) {
+            boolean normal = tokens[j + 1] == RPAREN || tokens[j + 1] == IDENTIFIER && tokens[j + 2] == ASSIGN;
+            count(normal ? NodeKind.NORMAL_ANNOTATION_EXPR : NodeKind.SINGLE_MEMBER_ANNOTATION_EXPR);
+            nextParen = ANNOTATION;
+        } else {
+            count(NodeKind.MARKER_ANNOTATION_EXPR);
+            declarationStart = j;
+        }
+        return j;
+    }
+
+    // counts the array or object creation starting with the "new" at token i, and returns the token after its type
+    int allocation(int i) {
+        int j = i + 1;
+        if (tokens[j] == LT) {
+            int end = typeArguments(j, false);
+            if (end > 0) {
+                typeArguments(j, true);
+                j = end;
+            }
+        }
+        if (primitive(tokens[j])) {
+            count(NodeKind.ARRAY_CREATION_EXPR);
+            count(NodeKind.PRIMITIVE_TYPE);
+            nextDimension = j + 1;
+            return j + 1;
+        }
+        int end = classType(j, false);
+        if (end < 0) {
+            return j;
+        }
+        classType(j, true);
+        if (tokens[end] == LBRACKET) {
+            count(NodeKind.ARRAY_CREATION_EXPR);
+            nextDimension = end;
+        } else {
+            count(NodeKind.OBJECT_CREATION_EXPR);
+            if (tokens[end] == LPAREN) {
+                nextParen = ARGUMENTS;
+            }
+        }
+        return end;
+    }
+
+    // returns whether the header of the for statement at token i declares the variable of a foreach statement
+    boolean foreach(int i) {
+        int depth = 0, conditionals = 0;
+        for (int j = i + 1; j < length; j++) {
+            switch (tokens[j]) {
+            case LPAREN: case LBRACE: case LBRACKET:
+                depth++;
+                break;
+            case RPAREN: case RBRACE: case RBRACKET:
+                if (--depth == 0) {
+                    return false;
+                }
+                break;
+            case SEMICOLON:
+                if (depth == 1) {
+                    return false;
+                }
+                break;
+            case HOOK:
+                // not a wildcard
+                if (depth == 1 && tokens[j - 1] != LT && tokens[j - 1] != COMMA) {
+                    conditionals++;
+                }
+                break;
+            case COLON:
+                if (depth == 1 && conditionals-- == 0) {
+                    return true;
+                }
+                break;
+            }
+        }
+        return false;
+    }
+
+    int openParen(int i) {
+        int kind = nextParen;
+        nextParen = -1;
+        if (kind < 0) {
+            kind = EXPRESSION;
+            int previous = previous(i);
+            if (!operandEnds(previous) && previous != IF && previous != WHILE && previous != SWITCH
+                    && previous != SYNCHRONIZED) {
+                // a type in parentheses followed by an operand is a cast
+                int end = type(i + 1, false);
+                if (end > 0 && tokens[end] == RPAREN
+                        && castOperand(tokens[end + 1], end == i + 2 && primitive(tokens[i + 1]))) {
+                    count(NodeKind.CAST_EXPR);
+                    type(i + 1, true);
+                    castEnd = end + 1;
+                    return end + 1;
+                }
+            }
+        }
+        if (parenDepth == parens.length) {
+            parens = Arrays.copyOf(parens, parenDepth * 2);
+        }
+        parens[parenDepth++] = kind;
+        return i + 1;
+    }
+
+    int closeParen(int i) {
+        if (parenDepth > (braceDepth > 0 ? braceParens[braceDepth - 1] : 0)) {
+            int kind = parens[--parenDepth];
+            if (kind == ANNOTATION) {
+                declarationStart = i + 1;
+            } else if (kind == ARGUMENTS && tokens[i + 1] == LBRACE) {
+                // an anonymous class
+                nextBrace = BODY;
+            }
+        }
+        if (declaring && parenDepth < declaringParens) {
+            declaring = false;
+        }
+        return i + 1;
+    }
+
+    int openBrace(int i) {
+        int kind = nextBrace;
+        nextBrace = -1;
+        if (kind < 0) {
+            int previous = previous(i);
+            boolean inInitializer = braceDepth > 0 && braces[braceDepth - 1] == INITIALIZER
+                && parenDepth == braceParens[braceDepth - 1];
+            boolean inAnnotation = parenDepth > 0 && parens[parenDepth - 1] == ANNOTATION;
+            // (the dimensions of an array creation, not those after the parameters of a method)
+            if (previous == ASSIGN || previous == RBRACKET && previous(i - 2) != RPAREN
+                    || (inInitializer || inAnnotation) && (previous == LBRACE || previous == LPAREN || previous == COMMA)) {
+                kind = INITIALIZER;
+                count(NodeKind.ARRAY_INITIALIZER_EXPR);
+            } else {
+                kind = BLOCK;
+                if (memberLevel() && (previous == LBRACE || previous == RBRACE || previous == SEMICOLON)) {
+                    count(NodeKind.INITIALIZER_DECLARATION);
+                }
+            }
+        }
+        if (braceDepth == braces.length) {
+            braces = Arrays.copyOf(braces, braceDepth * 2);
+            braceParens = Arrays.copyOf(braceParens, braceDepth * 2);
+        }
+        braces[braceDepth] = kind;
+        braceParens[braceDepth] = parenDepth;
+        braceDepth++;
+        return i + 1;
+    }
+
+    int closeBrace(int i) {
+        if (braceDepth > 0) {
+            braceDepth--;
+            parenDepth = braceParens[braceDepth];
+        }
+        if (declaring && braceDepth < declaringBraces) {
+            declaring = false;
+        }
+        return i + 1;
+    }
+
+    int openBracket(int i) {
+        if (tokens[i + 1] == RBRACKET) {
+            // the dimensions of a type, which are not counted
+            return i + 2;
+        }
+        int kind = i == nextDimension ? DIMENSION : INDEX;
+        if (kind == INDEX) {
+            count(NodeKind.ARRAY_ACCESS_EXPR);
+        }
+        if (bracketDepth == brackets.length) {
+            brackets = Arrays.copyOf(brackets, bracketDepth * 2);
+        }
+        brackets[bracketDepth++] = kind;
+        return i + 1;
+    }
+
+    int closeBracket(int i) {
+        if (bracketDepth > 0 && brackets[--bracketDepth] == DIMENSION && tokens[i + 1] == LBRACKET) {
+            nextDimension = i + 1;
+        }
+        return i + 1;
+    }
+
+    // whether a declaration may start at token i
+    boolean declarationMayStart(int i) {
+        if (i == declarationStart) {
+            return true;
+        }
+        switch (previous(i)) {
+        case EOF: case SEMICOLON: case LBRACE: case RBRACE: case COLON:
+        case FINAL: case STATIC: case PUBLIC: case PROTECTED: case PRIVATE: case ABSTRACT:
+        case NATIVE: case TRANSIENT: case VOLATILE: case SYNCHRONIZED: case STRICTFP:
+            return true;
+        case LPAREN:
+            return inParameters() || parenDepth > 0 && parens[parenDepth - 1] == FOR_HEADER;
+        case COMMA:
+            return inParameters();
+        default:
+            return false;
+        }
+    }
+
+    // whether a statement may start after a token of the given kind
+    static boolean statementMayStart(int previous) {
+        return previous == SEMICOLON || previous == LBRACE || previous == RBRACE || previous == COLON
+            || previous == ELSE || previous == DO;
+    }
+
+    // whether the members of a type are declared at the current token
+    boolean memberLevel() {
+        if (braceDepth == 0) {
+            return false;
+        }
+        int kind = braces[braceDepth - 1];
+        return (kind == BODY || kind == ENUM_CONSTANTS || kind == ANNOTATION_BODY)
+            && parenDepth == braceParens[braceDepth - 1];
+    }
+
+    // whether the parameters of a method, a constructor or a catch clause are declared at the current token
+    boolean inParameters() {
+        return parenDepth > 0 && parens[parenDepth - 1] == PARAMETERS
+            && (braceDepth == 0 || parenDepth > braceParens[braceDepth - 1]);
+    }
+
+    // whether the current token is in the declaration of variables, rather than in a type or a block inside it
+    boolean initializing() {
+        return declaring && braceDepth == declaringBraces && parenDepth == declaringParens;
+    }
+
+    static boolean primitive(int kind) {
+        switch (kind) {
+        case BOOLEAN: case BYTE: case CHAR: case SHORT: case INT: case LONG: case FLOAT: case DOUBLE:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    // whether a token of the given kind closes type arguments or type parameters
+    static boolean closes(int kind) {
+        return kind == GT || kind == RSIGNEDSHIFT || kind == RUNSIGNEDSHIFT;
+    }
+
+    // whether a token of the given kind may be the last token of an operand
+    static boolean operandEnds(int kind) {
+        switch (kind) {
+        case IDENTIFIER: case INTEGER_LITERAL: case LONG_LITERAL: case FLOATING_POINT_LITERAL:
+        case CHARACTER_LITERAL: case STRING_LITERAL: case TRUE: case FALSE: case NULL: case THIS:
+        case SUPER: case CLASS: case RPAREN: case RBRACKET: case INCR: case DECR:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    // whether a token of the given kind may start the operand of a cast; only a cast to a
+    // primitive type may be followed by a sign or an increment
+    static boolean castOperand(int kind, boolean primitive) {
+        switch (kind) {
+        case IDENTIFIER: case INTEGER_LITERAL: case LONG_LITERAL: case FLOATING_POINT_LITERAL:
+        case CHARACTER_LITERAL: case STRING_LITERAL: case TRUE: case FALSE: case NULL: case THIS:
+        case SUPER: case NEW: case LPAREN: case BANG: case TILDE:
+            return true;
+        case PLUS: case MINUS: case INCR: case DECR:
+            return primitive;
+        default:
+            return primitive(kind);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * NodeBuckets.java
+ * Groups the nodes of a parse tree by their type, as they are visited.
+ *
+ * A NodeBuckets object listens to the traversal of a heuristic and puts
+ * every visited node into the list of nodes of its kind, in the order
+ * the nodes are visited. These are the same lists the AllPairs heuristics
+ * and the ModifiedBaker heuristic build while they visit a file, so their
+ * scores can be computed from one traversal instead of three. The lists
+ * are kept in an array indexed by the ordinal of the NodeKind.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.heuristics;
+
+import japa.parser.ast.Node;
+import japa.parser.ast.NodeKind;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class NodeBuckets implements NodeListener {
+
+    // the list of visited nodes of each kind, indexed by the ordinal of the kind
+    final List<List<Node>> lists = new ArrayList<List<Node>>(NodeKind.COUNT);
+
+    public NodeBuckets() {
+        for (int k = 0; k < NodeKind.COUNT; k++) {
+            lists.add(new ArrayList<Node>());
+        }
+    }
+
+    public void nodeVisited(Node n) {
+        NodeKind kind = n.getKind();
+        // a node class outside japa, which none of the heuristics look at
+        if (kind == null) {
+            return;
+        }
+        lists.get(kind.ordinal()).add(n);
+    }
+
+    // forgets the nodes of the previous file, keeping the lists around for the next one
+    public void clear() {
+        for (List<Node> list : lists) {
+            list.clear();
+        }
+    }
+
+    // returns the lists of nodes of each kind, indexed by the ordinal of the kind
+    public List<List<Node>> lists() {
+        return lists;
+    }
+
+    // returns the list of visited nodes of the given kind
+    public List<Node> get(NodeKind kind) {
+        return lists.get(kind.ordinal());
+    }
+
+    // returns the number of visited nodes of each of the given kinds
+    public int[] counts(NodeKind[] kinds) {
+        int[] counts = new int[kinds.length];
+        for (int k = 0; k < kinds.length; k++) {
+            counts[k] = lists.get(kinds[k].ordinal()).size();
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * NodeListener.java
+ * Receives the nodes of a parse tree as a heuristic visits them.
+ *
+ * A listener attached to a heuristic is told about every node the
+ * heuristic visits, once per node, in the order they are visited.
+ * This lets several heuristics share the work of a single traversal.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.heuristics;
+
+import japa.parser.ast.Node;
+
+public interface NodeListener {
+
+    // called when the heuristic starts visiting the node n
+    public void nodeVisited(Node n);
+
+}
@@ -0,0 +1,227 @@
+/**
+ * SuffixArrayHeuristic.java
+ * Computes dryness scores from repeated sequences of tokens.
+ *
+ * Like Baker's dup tool, we look for sequences of tokens that occur more
+ * than once in the file. Identifiers and literals are parameterised: every
+ * identifier is the same token, and so is every literal of one kind, so a
+ * copy with renamed variables or changed constants is still a repeat.
+ * The score is the fraction of tokens that are covered by a repeated
+ * sequence of at least minLength tokens, so a file without repeats gets 0
+ * and a file that consists of copies of the same code gets close to 1.
+ *
+ * The repeats are found with a suffix array of the token sequence, built
+ * by prefix doubling with counting sorts in O(n log n) time (in fact, one
+ * pass per doubling of the longest repeat), and its LCP array, built with
+ * Kasai's algorithm in O(n) time. The longest repeat starting at a token
+ * is the longer LCP of its suffix with its two neighbours in the suffix
+ * array, so the covered tokens are found in one more pass. All arrays are
+ * int arrays, kept between files. The tokens are read straight from the
+ * source code of the file, which is not parsed at all.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.heuristics;
+
+import japa.parser.ASTParserConstants;
+import japa.parser.Token;
+
+public class SuffixArrayHeuristic<A> extends TokenHeuristic<A> {
+
+    // version of the scores of this heuristic; change it whenever the scores change,
+    // so that scores cached by an older version are not used
+    public static final int version = 2;
+
+    // default minimum length of a repeated sequence of tokens
+    public static final int defaultMinLength = 20;
+
+    // the number of kinds of tokens
+    static final int alphabet = ASTParserConstants.tokenImage.length;
+
+    int minLength = defaultMinLength;
+
+    // the parameterised tokens of the file, and their number
+    int[] tokens = new int[1024];
+    int length = 0;
+
+    // the suffix array, the rank of each suffix in it, and scratch space for the construction
+    int[] suffixes = new int[0];
+    int[] ranks = new int[0];
+    int[] scratch = new int[0];
+    int[] counts = new int[0];
+
+    public SuffixArrayHeuristic(boolean comments) {
+        setComments(comments);
+    }
+    public SuffixArrayHeuristic() {
+        this(false);
+    }
+
+    // sets the minimum number of tokens of a repeated sequence that counts as duplication
+    public void setMinLength(int minLength) {
+        if (minLength < 1) {
+            throw new IllegalArgumentException("minLength must be at least 1");
+        }
+        this.minLength = minLength;
+    }
+
+    // the repeats are found in the tokens of the source, so there is no need for a parse tree
+    public boolean readsSource() {
+        return true;
+    }
+
+    // forgets the tokens of the previous file, keeping the arrays around for the next one
+    public void reset() {
+        length = 0;
+    }
+
+    public void tokenRead(Token t) {
+        if (length == tokens.length) {
+            int[] newTokens = new int[length * 2];
+            System.arraycopy(tokens, 0, newTokens, 0, length);
+            tokens = newTokens;
+        }
+        tokens[length++] = parameterise(t.kind);
+    }
+
+    // every identifier is the same token, and so is every literal of one kind
+    static int parameterise(int kind) {
+        // true and false are keywords, but they are the two boolean literals
+        return kind == ASTParserConstants.FALSE ? ASTParserConstants.TRUE : kind;
+    }
+
+    // computes the fraction of tokens covered by repeats of at least minLength tokens
+    public Double score() {
+        int n = length;
+        if (n == 0) {
+            return new Double(0);
+        }
+        buildSuffixArray(n);
+        // the LCP of each suffix with the one before it in the suffix array
+        int[] lcp = scratch;
+        buildLcpArray(n, lcp);
+        int covered = 0;
+        int end = 0;
+        for (int i = 0; i < n; i++) {
+            int r = ranks[i];
+            int repeat = Math.max(lcp[r], r + 1 < n ? lcp[r + 1] : 0);
+            if (repeat >= minLength) {
+                end = Math.max(end, i + repeat);
+            }
+            if (i < end) {
+                covered++;
+            }
+        }
+        return (double) covered / n;
+    }
+
+    // sorts the suffixes of the first n tokens into suffixes, and their ranks into ranks
+    void buildSuffixArray(int n) {
+        if (suffixes.length < n) {
+            int size = Math.max(n, suffixes.length * 2);
+            suffixes = new int[size];
+            ranks = new int[size];
+            scratch = new int[size];
+        }
+        if (counts.length < Math.max(n, alphabet)) {
+            counts = new int[Math.max(Math.max(n, alphabet), counts.length * 2)];
+        }
+        int[] sa = suffixes, rank = ranks, tmp = scratch, count = counts;
+        // sort by the first token
+        int classes = alphabet;
+        for (int c = 0; c < classes; c++) {
+            count[c] = 0;
+        }
+        for (int i = 0; i < n; i++) {
+            rank[i] = tokens[i];
+            count[rank[i]]++;
+        }
+        for (int c = 1; c < classes; c++) {
+            count[c] += count[c - 1];
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            sa[--count[rank[i]]] = i;
+        }
+        classes = renumber(n, 0, sa, rank, tmp);
+        int[] t = rank;
+        rank = tmp;
+        tmp = t;
+        // sort by the first 2k tokens, knowing the order by the first k tokens
+        for (int k = 1; classes < n; k <<= 1) {
+            // by the second half: the suffixes without one first, then in the order of their second half
+            int p = 0;
+            for (int i = Math.max(n - k, 0); i < n; i++) {
+                tmp[p++] = i;
+            }
+            for (int j = 0; j < n; j++) {
+                if (sa[j] >= k) {
+                    tmp[p++] = sa[j] - k;
+                }
+            }
+            // then stably by the first half
+            for (int c = 0; c < classes; c++) {
+                count[c] = 0;
+            }
+            for (int i = 0; i < n; i++) {
+                count[rank[i]]++;
+            }
+            for (int c = 1; c < classes; c++) {
+                count[c] += count[c - 1];
+            }
+            for (int j = n - 1; j >= 0; j--) {
+                sa[--count[rank[tmp[j]]]] = tmp[j];
+            }
+            classes = renumber(n, k, sa, rank, tmp);
+            t = rank;
+            rank = tmp;
+            tmp = t;
+        }
+        // the ranks and the scratch space may have traded places
+        ranks = rank;
+        scratch = tmp;
+    }
+
+    // numbers the classes of suffixes that are equal in their first 2k tokens
+    // (their first token if k is 0) into next, and returns the number of classes
+    static int renumber(int n, int k, int[] sa, int[] rank, int[] next) {
+        int classes = 1;
+        next[sa[0]] = 0;
+        for (int j = 1; j < n; j++) {
+            int a = sa[j - 1], b = sa[j];
+            boolean same = rank[a] == rank[b];
+            if (same && k > 0) {
+                int ra = a + k < n ? rank[a + k] : -1;
+                int rb = b + k < n ? rank[b + k] : -1;
+                same = ra == rb;
+            }
+            next[b] = same ? classes - 1 : classes++;
+        }
+        return classes;
+    }
+
+    // computes the LCP of each suffix with the one before it in the suffix array (Kasai et al.)
+    void buildLcpArray(int n, int[] lcp) {
+        int[] sa = suffixes, rank = ranks;
+        lcp[0] = 0;
+        int h = 0;
+        for (int i = 0; i < n; i++) {
+            int r = rank[i];
+            if (r == 0) {
+                h = 0;
+                continue;
+            }
+            int j = sa[r - 1];
+            while (i + h < n && j + h < n && tokens[i + h] == tokens[j + h]) {
+                h++;
+            }
+            lcp[r] = h;
+            if (h > 0) {
+                h--;
+            }
+        }
+    }
+}
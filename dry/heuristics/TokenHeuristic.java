@@ -0,0 +1,488 @@
+/**
+ * TokenHeuristic.java
+ * Base class of the heuristics that only look at the tokens of a file.
+ *
+ * Heuristics in the tradition of Baker's dup tool do not need the parse
+ * tree at all: they read the token stream of the ASTParserTokenManager
+ * (without comments) and compute the score from it. A TokenHeuristic
+ * hands every token to tokenRead(), and when the source is over, score()
+ * computes the score. The tokens come either straight from the source
+ * code (score(CharBuffer)), or, when a node is visited like in any other
+ * heuristic, from the code of the node printed by a DumpVisitor, which
+ * has the same tokens as the source apart from its layout.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.heuristics;
+
+import japa.parser.ASTParserConstants;
+import japa.parser.ReusableLexer;
+import japa.parser.Token;
+import japa.parser.ast.BlockComment;
+import japa.parser.ast.CompilationUnit;
+import japa.parser.ast.ImportDeclaration;
+import japa.parser.ast.LineComment;
+import japa.parser.ast.Node;
+import japa.parser.ast.PackageDeclaration;
+import japa.parser.ast.TypeParameter;
+import japa.parser.ast.body.AnnotationDeclaration;
+import japa.parser.ast.body.AnnotationMemberDeclaration;
+import japa.parser.ast.body.ClassOrInterfaceDeclaration;
+import japa.parser.ast.body.ConstructorDeclaration;
+import japa.parser.ast.body.EmptyMemberDeclaration;
+import japa.parser.ast.body.EmptyTypeDeclaration;
+import japa.parser.ast.body.EnumConstantDeclaration;
+import japa.parser.ast.body.EnumDeclaration;
+import japa.parser.ast.body.FieldDeclaration;
+import japa.parser.ast.body.InitializerDeclaration;
+import japa.parser.ast.body.JavadocComment;
+import japa.parser.ast.body.MethodDeclaration;
+import japa.parser.ast.body.Parameter;
+import japa.parser.ast.body.VariableDeclarator;
+import japa.parser.ast.body.VariableDeclaratorId;
+import japa.parser.ast.expr.ArrayAccessExpr;
+import japa.parser.ast.expr.ArrayCreationExpr;
+import japa.parser.ast.expr.ArrayInitializerExpr;
+import japa.parser.ast.expr.AssignExpr;
+import japa.parser.ast.expr.BinaryExpr;
+import japa.parser.ast.expr.BooleanLiteralExpr;
+import japa.parser.ast.expr.CastExpr;
+import japa.parser.ast.expr.CharLiteralExpr;
+import japa.parser.ast.expr.ClassExpr;
+import japa.parser.ast.expr.ConditionalExpr;
+import japa.parser.ast.expr.DoubleLiteralExpr;
+import japa.parser.ast.expr.EnclosedExpr;
+import japa.parser.ast.expr.FieldAccessExpr;
+import japa.parser.ast.expr.InstanceOfExpr;
+import japa.parser.ast.expr.IntegerLiteralExpr;
+import japa.parser.ast.expr.IntegerLiteralMinValueExpr;
+import japa.parser.ast.expr.LongLiteralExpr;
+import japa.parser.ast.expr.LongLiteralMinValueExpr;
+import japa.parser.ast.expr.MarkerAnnotationExpr;
+import japa.parser.ast.expr.MemberValuePair;
+import japa.parser.ast.expr.MethodCallExpr;
+import japa.parser.ast.expr.NameExpr;
+import japa.parser.ast.expr.NormalAnnotationExpr;
+import japa.parser.ast.expr.NullLiteralExpr;
+import japa.parser.ast.expr.ObjectCreationExpr;
+import japa.parser.ast.expr.QualifiedNameExpr;
+import japa.parser.ast.expr.SingleMemberAnnotationExpr;
+import japa.parser.ast.expr.StringLiteralExpr;
+import japa.parser.ast.expr.SuperExpr;
+import japa.parser.ast.expr.ThisExpr;
+import japa.parser.ast.expr.UnaryExpr;
+import japa.parser.ast.expr.VariableDeclarationExpr;
+import japa.parser.ast.stmt.AssertStmt;
+import japa.parser.ast.stmt.BlockStmt;
+import japa.parser.ast.stmt.BreakStmt;
+import japa.parser.ast.stmt.CatchClause;
+import japa.parser.ast.stmt.ContinueStmt;
+import japa.parser.ast.stmt.DoStmt;
+import japa.parser.ast.stmt.EmptyStmt;
+import japa.parser.ast.stmt.ExplicitConstructorInvocationStmt;
+import japa.parser.ast.stmt.ExpressionStmt;
+import japa.parser.ast.stmt.ForStmt;
+import japa.parser.ast.stmt.ForeachStmt;
+import japa.parser.ast.stmt.IfStmt;
+import japa.parser.ast.stmt.LabeledStmt;
+import japa.parser.ast.stmt.ReturnStmt;
+import japa.parser.ast.stmt.SwitchEntryStmt;
+import japa.parser.ast.stmt.SwitchStmt;
+import japa.parser.ast.stmt.SynchronizedStmt;
+import japa.parser.ast.stmt.ThrowStmt;
+import japa.parser.ast.stmt.TryStmt;
+import japa.parser.ast.stmt.TypeDeclarationStmt;
+import japa.parser.ast.stmt.WhileStmt;
+import japa.parser.ast.type.ClassOrInterfaceType;
+import japa.parser.ast.type.PrimitiveType;
+import japa.parser.ast.type.ReferenceType;
+import japa.parser.ast.type.VoidType;
+import japa.parser.ast.type.WildcardType;
+import japa.parser.ast.visitor.DumpVisitor;
+
+import java.nio.CharBuffer;
+
+public abstract class TokenHeuristic<A> implements Heuristic<A> {
+
+    // told about the scored nodes, if not null
+    Tracer tracer = null;
+    final ReusableLexer lexer = new ReusableLexer();
+    // the printed code of the visited node
+    final StringBuilder code = new StringBuilder();
+    char[] chars = new char[1024];
+
+    public void setComments(boolean val) {
+        setTracer(val ? Tracer.standardOutput() : null);
+    }
+
+    public void setTracer(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    // called for every token of the source, in order; the end of the source is not a token
+    public abstract void tokenRead(Token t);
+
+    // computes the score from the tokens read since the last reset()
+    public abstract Double score();
+
+    // whether the score of a file is to be computed from its source code, so that the file is
+    // not parsed at all; otherwise its tokens are read from the printed parse tree
+    public boolean readsSource() {
+        return false;
+    }
+
+    /**
+     * Hands every token of the given source code to tokenRead(), and returns the score.
+     * Throws a TokenMgrError if the source cannot be tokenized.
+    */
+    public Double score(CharBuffer source) {
+        lexer.reset(source);
+        return read();
+    }
+
+    /**
+     * Hands every token of the printed code of the given node to tokenRead(), and returns the score.
+    */
+    public Double score(Node n) {
+        long start = tracer != null ? System.nanoTime() : 0;
+        code.setLength(0);
+        n.accept(new DumpVisitor(code), null);
+        if (chars.length < code.length()) {
+            chars = new char[Math.max(code.length(), chars.length * 2)];
+        }
+        code.getChars(0, code.length(), chars, 0);
+        lexer.reset(chars, 0, code.length());
+        Double score = read();
+        if (tracer != null) {
+            tracer.exit(n, 0, score, System.nanoTime() - start);
+        }
+        return score;
+    }
+
+    Double read() {
+        for (Token t = lexer.next(); t.kind != ASTParserConstants.EOF; t = lexer.next()) {
+            tokenRead(t);
+        }
+        return score();
+    }
+
+    public Double visit(CompilationUnit n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(PackageDeclaration n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ImportDeclaration n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(TypeParameter n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(LineComment n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(BlockComment n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ClassOrInterfaceDeclaration n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(EnumDeclaration n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(EmptyTypeDeclaration n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(EnumConstantDeclaration n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(AnnotationDeclaration n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(AnnotationMemberDeclaration n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(FieldDeclaration n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(VariableDeclarator n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(VariableDeclaratorId n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ConstructorDeclaration n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(MethodDeclaration n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(Parameter n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(EmptyMemberDeclaration n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(InitializerDeclaration n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(JavadocComment n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ClassOrInterfaceType n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(PrimitiveType n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ReferenceType n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(VoidType n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(WildcardType n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ArrayAccessExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ArrayCreationExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ArrayInitializerExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(AssignExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(BinaryExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(CastExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ClassExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ConditionalExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(EnclosedExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(FieldAccessExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(InstanceOfExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(StringLiteralExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(IntegerLiteralExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(LongLiteralExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(IntegerLiteralMinValueExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(LongLiteralMinValueExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(CharLiteralExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(DoubleLiteralExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(BooleanLiteralExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(NullLiteralExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(MethodCallExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(NameExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ObjectCreationExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(QualifiedNameExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ThisExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(SuperExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(UnaryExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(VariableDeclarationExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(MarkerAnnotationExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(SingleMemberAnnotationExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(NormalAnnotationExpr n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(MemberValuePair n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ExplicitConstructorInvocationStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(TypeDeclarationStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(AssertStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(BlockStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(LabeledStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(EmptyStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ExpressionStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(SwitchStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(SwitchEntryStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(BreakStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ReturnStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(IfStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(WhileStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ContinueStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(DoStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ForeachStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ForStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(ThrowStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(SynchronizedStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(TryStmt n, A arg) {
+        return score(n);
+    }
+
+    public Double visit(CatchClause n, A arg) {
+        return score(n);
+    }
+}
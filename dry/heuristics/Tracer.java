@@ -0,0 +1,243 @@
+/**
+ * Tracer.java
+ * Records what a heuristic does while it walks a parse tree.
+ *
+ * A heuristic with a tracer reports an event when it reaches a node
+ * (enter) and when it has computed the score of a node (exit). An event
+ * only holds numbers: the kind of the node, its position, its depth in
+ * the tree, and for an exit the score and the time the node took. The
+ * events go into a ring buffer, and a background thread turns them into
+ * text and writes them out, so tracing costs the heuristic a constant
+ * amount of work per node, however large the node is. When the buffer is
+ * full, the heuristic waits for the writer. Each event is one line of
+ * tab-separated columns:
+ *      enter   depth   kind   beginLine:beginColumn-endLine:endColumn
+ *      exit    depth   kind   beginLine:beginColumn-endLine:endColumn   score   nanoseconds
+ *
+ * Several threads may record events into one Tracer at the same time;
+ * their lines are interleaved. close() (or flush()) makes sure that all
+ * events have been written.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.heuristics;
+
+import japa.parser.ast.Node;
+import japa.parser.ast.NodeKind;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+public class Tracer implements Closeable {
+
+    // default number of events the buffer holds
+    public static final int defaultCapacity = 1 << 14;
+
+    static final byte ENTER = 0;
+    static final byte EXIT = 1;
+
+    static final NodeKind[] kinds = NodeKind.values();
+
+    // the tracer writing to standard output, created when it is first used
+    static Tracer standardOutput = null;
+
+    final Appendable out;
+    final int capacity;
+
+    // the ring buffer, one array per column; the events waiting to be written
+    // are the count events starting at head
+    final byte[] events;
+    final int[] kindOrdinals;
+    final int[] depths;
+    final int[] beginLines, beginColumns, endLines, endColumns;
+    final double[] scores;
+    final long[] nanos;
+    int head = 0;
+    int count = 0;
+
+    boolean closed = false;
+    // the first error writing the events; later events are dropped
+    IOException error = null;
+
+    final Thread writer;
+
+    public Tracer(Appendable out) {
+        this(out, defaultCapacity);
+    }
+
+    public Tracer(Appendable out, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.out = out;
+        this.capacity = capacity;
+        events = new byte[capacity];
+        kindOrdinals = new int[capacity];
+        depths = new int[capacity];
+        beginLines = new int[capacity];
+        beginColumns = new int[capacity];
+        endLines = new int[capacity];
+        endColumns = new int[capacity];
+        scores = new double[capacity];
+        nanos = new long[capacity];
+        writer = new Thread("dry-tracer") {
+            @Override
+            public void run() {
+                write();
+            }
+        };
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Returns the tracer that writes to standard output. It is shared by
+     * everything that traces to standard output, and flushed when the JVM exits.
+    */
+    public static synchronized Tracer standardOutput() {
+        if (standardOutput == null) {
+            final Tracer tracer = new Tracer(System.out);
+            Runtime.getRuntime().addShutdownHook(new Thread() {
+                @Override
+                public void run() {
+                    tracer.flush();
+                }
+            });
+            standardOutput = tracer;
+        }
+        return standardOutput;
+    }
+
+    // records that node n at the given depth was reached
+    public void enter(Node n, int depth) {
+        record(ENTER, n, depth, 0, 0);
+    }
+
+    // records that the score of node n at the given depth is score, which took the given time
+    public void exit(Node n, int depth, double score, long nanoseconds) {
+        record(EXIT, n, depth, score, nanoseconds);
+    }
+
+    synchronized void record(byte event, Node n, int depth, double score, long nanoseconds) {
+        while (count == capacity && !closed) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (closed) {
+            return;
+        }
+        int i = (head + count) % capacity;
+        NodeKind kind = n.getKind();
+        events[i] = event;
+        kindOrdinals[i] = kind == null ? -1 : kind.ordinal();
+        depths[i] = depth;
+        beginLines[i] = n.getBeginLine();
+        beginColumns[i] = n.getBeginColumn();
+        endLines[i] = n.getEndLine();
+        endColumns[i] = n.getEndColumn();
+        scores[i] = score;
+        nanos[i] = nanoseconds;
+        if (count++ == 0) {
+            // the writer may be waiting for an event
+            notifyAll();
+        }
+    }
+
+    // the writer thread: formats and writes the events, a batch at a time
+    void write() {
+        StringBuilder line = new StringBuilder(128);
+        while (true) {
+            int first, n;
+            synchronized (this) {
+                while (count == 0 && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // only close() stops the writer
+                    }
+                }
+                if (count == 0) {
+                    return;
+                }
+                first = head;
+                n = count;
+            }
+            // the recorders do not touch these events until they are taken off the buffer
+            try {
+                if (error == null) {
+                    for (int e = 0; e < n; e++) {
+                        format(line, (first + e) % capacity);
+                        out.append(line);
+                    }
+                    if (out instanceof Flushable) {
+                        ((Flushable) out).flush();
+                    }
+                }
+            } catch (IOException e) {
+                error = e;
+            }
+            synchronized (this) {
+                head = (first + n) % capacity;
+                count -= n;
+                notifyAll();
+            }
+        }
+    }
+
+    void format(StringBuilder line, int i) {
+        line.setLength(0);
+        line.append(events[i] == ENTER ? "enter" : "exit").append('\t');
+        line.append(depths[i]).append('\t');
+        line.append(kindOrdinals[i] < 0 ? "?" : kinds[kindOrdinals[i]].name()).append('\t');
+        line.append(beginLines[i]).append(':').append(beginColumns[i]).append('-');
+        line.append(endLines[i]).append(':').append(endColumns[i]);
+        if (events[i] == EXIT) {
+            line.append('\t').append(scores[i]).append('\t').append(nanos[i]);
+        }
+        line.append('\n');
+    }
+
+    /**
+     * Waits until all events recorded so far have been written.
+    */
+    public synchronized void flush() {
+        while (count > 0 && writer.isAlive()) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes the remaining events and stops the writer. Events recorded
+     * afterwards are dropped. Throws the first error writing the events, if any.
+    */
+    public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Type2NaiveHeuristic.java
+ * The AllPairsNaiveHeuristic, counting renamed copies as equal.
+ *
+ * Two nodes of the same kind are counted as an equal pair when one is a
+ * copy of the other with its variables and literals consistently renamed
+ * (a "type 2 clone"), so `fact = fact * i;` and `result = result * k;` are
+ * equal, but `fact = fact * i;` and `fact = i * i;` are not. Equality is
+ * decided by the fingerprints of japa.parser.ast.visitor.NormalizedHasher,
+ * which are computed for the whole file in one walk, so no nodes are
+ * compared pairwise. Renaming only applies to subtrees of at least minSize
+ * nodes: smaller ones, and leaves in particular, are counted as in the
+ * AllPairsNaiveHeuristic, since up to renaming every name is a copy of
+ * every other one. Everything else is the same as in the
+ * AllPairsNaiveHeuristic.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.heuristics;
+
+import japa.parser.ast.Node;
+import japa.parser.ast.visitor.NormalizedHasher;
+
+public class Type2NaiveHeuristic<A> extends AllPairsNaiveHeuristic<A> {
+
+    // version of the scores of this heuristic; change it whenever the scores change,
+    // so that scores cached by an older version are not used
+    public static final int version = 2;
+
+    // subtrees with fewer nodes than this (the size of `x = y + z;`) are only counted as
+    // equal if they are equal without renaming
+    public static final int minSize = 6;
+
+    // the fingerprints of the nodes of the walked tree
+    final NormalizedHasher hasher = new NormalizedHasher();
+
+    public Type2NaiveHeuristic(boolean comments) {
+        super(comments);
+    }
+    public Type2NaiveHeuristic() {
+        this(false);
+    }
+
+    public Double walk(Node root) {
+        hasher.hash(root);
+        return super.walk(root);
+    }
+
+    // computes the pairwise dryness score from the lists, grouping larger nodes by their fingerprints
+    public Double score() {
+        return computePairwiseDrynessScore(EqualPairs.count(hasher, minSize), EqualPairs.allEach(lists));
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Type2WeightedHeuristic.java
+ * The AllPairsWeightedHeuristic, counting renamed copies as equal.
+ *
+ * Pairs of nodes are counted as equal when they are copies of each other
+ * up to consistent renaming of variables and literals, as in the
+ * Type2NaiveHeuristic; the scores of the kinds of nodes are weighted as in
+ * the AllPairsWeightedHeuristic.
+ *
+ * @author J. Hassler Thurston
+ *
+ * CSC200H Research Project
+ * Fall 2014
+*/
+
+package dry.heuristics;
+
+import japa.parser.ast.Node;
+import japa.parser.ast.visitor.NormalizedHasher;
+
+public class Type2WeightedHeuristic<A> extends AllPairsWeightedHeuristic<A> {
+
+    // version of the scores of this heuristic; change it whenever the scores change,
+    // so that scores cached by an older version are not used
+    public static final int version = 2;
+
+    // the fingerprints of the nodes of the walked tree
+    final NormalizedHasher hasher = new NormalizedHasher();
+
+    public Type2WeightedHeuristic(boolean comments) {
+        super(comments);
+    }
+    public Type2WeightedHeuristic() {
+        this(false);
+    }
+
+    public Double walk(Node root) {
+        hasher.hash(root);
+        return super.walk(root);
+    }
+
+    // computes the pairwise dryness score from the lists, grouping larger nodes by their fingerprints
+    public Double score() {
+        return computePairwiseDrynessScore(EqualPairs.count(hasher, Type2NaiveHeuristic.minSize), EqualPairs.allEach(lists));
+    }
+}
@@ -102,17 +102,24 @@ import japa.parser.ast.visitor.GenericVisitor;
 /**
  * @author J. Hassler Thurston
  */
-public class ZeroHeuristic<A> implements GenericVisitor<Double, A> {
+public class ZeroHeuristic<A> implements Heuristic<A> {
 
-    boolean comments = false;
+    // version of the scores of this heuristic; change it whenever the scores change,
+    // so that scores cached by an older version are not used
+    public static final int version = 1;
+
+    // this heuristic has nothing to trace
     public ZeroHeuristic(boolean comments) {
-        this.comments = comments;
     }
     public ZeroHeuristic() {
-        this.comments = false;
     }
     public void setComments(boolean val) {
-        this.comments = val;
+    }
+    public void setTracer(Tracer tracer) {
+    }
+
+    // this heuristic keeps no state between visits
+    public void reset() {
     }
 
     public Double visit(AnnotationDeclaration n, A arg) {
@@ -1,6 +1,7 @@
 package japa.parser;
 
 import japa.parser.ast.CompilationUnit;
+import japa.parser.ast.Node;
 import japa.parser.ast.body.BodyDeclaration;
 import japa.parser.ast.body.FieldDeclaration;
 import japa.parser.ast.body.MethodDeclaration;
@@ -151,6 +152,7 @@ public final class ASTHelper {
             method.setParameters(parameters);
         }
         parameters.add(parameter);
+        Node.invalidateHashCodes();
     }
 
     /**
@@ -169,6 +171,7 @@ public final class ASTHelper {
             call.setArgs(args);
         }
         args.add(arg);
+        Node.invalidateHashCodes();
     }
 
     /**
@@ -187,6 +190,7 @@ public final class ASTHelper {
             cu.setTypes(types);
         }
         types.add(type);
+        Node.invalidateHashCodes();
 
     }
 
@@ -230,6 +234,7 @@ public final class ASTHelper {
             block.setStmts(stmts);
         }
         stmts.add(stmt);
+        Node.invalidateHashCodes();
     }
 
     /**
@@ -259,6 +264,7 @@ public final class ASTHelper {
             type.setMembers(members);
         }
         members.add(decl);
+        Node.invalidateHashCodes();
     }
 
 }
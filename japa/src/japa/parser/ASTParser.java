@@ -106,6 +106,9 @@ import japa.parser.ast.type.VoidType;
 import japa.parser.ast.type.WildcardType;
 
 import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.CharBuffer;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -119,8 +122,73 @@ import java.util.List;
 final class ASTParser implements ASTParserConstants {
 
     void reset(InputStream in, String encoding) {
-        ReInit(in, encoding);
+        try {
+            jj_input_stream.ReInit(in, encoding, 1, 1);
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException(e);
+        }
+        restart();
+    }
+
+    /** Creates a parser for a source that has already been decoded as a whole. */
+    public ASTParser(CharBuffer source) {
+        this(new ASTParserTokenManager(new JavaCharStream(source)));
+        jj_input_stream = token_source.input_stream;
+    }
+
+    void reset(CharBuffer source) {
+        jj_input_stream.ReInit(source);
+        restart();
+    }
+
+    /*
+     * Starts a new parse of the reinitialised input stream. Unlike the
+     * generated ReInit methods, it reuses the lookahead records of the
+     * previous parse instead of allocating new ones.
+     */
+    private void restart() {
+        token_source.ReInit(jj_input_stream);
         token_source.clearComments();
+        token = new Token();
+        jj_ntk = -1;
+        jj_gen = 0;
+        jj_found = false;
+        Arrays.fill(jj_la1, -1);
+        for (JJCalls calls : jj_2_rtns) {
+            for (JJCalls c = calls; c != null; c = c.next) {
+                c.gen = 0;
+                c.first = null;
+                c.arg = 0;
+            }
+        }
+    }
+
+    /**
+     * Sets the table in which the lexer interns identifiers and literals,
+     * or <code>null</code> to give every token its own image.
+     */
+    void setSymbolTable(SymbolTable symbols) {
+        token_source.setSymbolTable(symbols);
+    }
+
+    /**
+     * Set when a syntactic lookahead has scanned as many tokens as it needed.
+     * Every scan then fails at once, so the scanning methods return without
+     * looking at more tokens, and the lookahead reports success.
+     */
+    private boolean jj_found = false;
+
+    /** Whether to keep what is needed to list the expected tokens in a ParseException. */
+    private boolean jj_diagnostics = true;
+
+    /**
+     * Sets whether a ParseException lists all the tokens that were expected
+     * where the error was found. Without diagnostics, the parser does not
+     * record the syntactic lookaheads it tried, which saves time when only
+     * the AST is needed; a ParseException still tells where the error is.
+     */
+    void setDiagnostics(boolean diagnostics) {
+        jj_diagnostics = diagnostics;
     }
 
     private List add(List list, Object obj) {
@@ -4801,517 +4869,388 @@ final class ASTParser implements ASTParserConstants {
     private boolean jj_2_1(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_1();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(0, xla);
-        }
+        boolean found = !jj_3_1() || jj_found;
+        jj_found = false;
+        jj_save(0, xla);
+        return found;
     }
 
     private boolean jj_2_2(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_2();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(1, xla);
-        }
+        boolean found = !jj_3_2() || jj_found;
+        jj_found = false;
+        jj_save(1, xla);
+        return found;
     }
 
     private boolean jj_2_3(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_3();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(2, xla);
-        }
+        boolean found = !jj_3_3() || jj_found;
+        jj_found = false;
+        jj_save(2, xla);
+        return found;
     }
 
     private boolean jj_2_4(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_4();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(3, xla);
-        }
+        boolean found = !jj_3_4() || jj_found;
+        jj_found = false;
+        jj_save(3, xla);
+        return found;
     }
 
     private boolean jj_2_5(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_5();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(4, xla);
-        }
+        boolean found = !jj_3_5() || jj_found;
+        jj_found = false;
+        jj_save(4, xla);
+        return found;
     }
 
     private boolean jj_2_6(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_6();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(5, xla);
-        }
+        boolean found = !jj_3_6() || jj_found;
+        jj_found = false;
+        jj_save(5, xla);
+        return found;
     }
 
     private boolean jj_2_7(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_7();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(6, xla);
-        }
+        boolean found = !jj_3_7() || jj_found;
+        jj_found = false;
+        jj_save(6, xla);
+        return found;
     }
 
     private boolean jj_2_8(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_8();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(7, xla);
-        }
+        boolean found = !jj_3_8() || jj_found;
+        jj_found = false;
+        jj_save(7, xla);
+        return found;
     }
 
     private boolean jj_2_9(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_9();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(8, xla);
-        }
+        boolean found = !jj_3_9() || jj_found;
+        jj_found = false;
+        jj_save(8, xla);
+        return found;
     }
 
     private boolean jj_2_10(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_10();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(9, xla);
-        }
+        boolean found = !jj_3_10() || jj_found;
+        jj_found = false;
+        jj_save(9, xla);
+        return found;
     }
 
     private boolean jj_2_11(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_11();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(10, xla);
-        }
+        boolean found = !jj_3_11() || jj_found;
+        jj_found = false;
+        jj_save(10, xla);
+        return found;
     }
 
     private boolean jj_2_12(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_12();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(11, xla);
-        }
+        boolean found = !jj_3_12() || jj_found;
+        jj_found = false;
+        jj_save(11, xla);
+        return found;
     }
 
     private boolean jj_2_13(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_13();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(12, xla);
-        }
+        boolean found = !jj_3_13() || jj_found;
+        jj_found = false;
+        jj_save(12, xla);
+        return found;
     }
 
     private boolean jj_2_14(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_14();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(13, xla);
-        }
+        boolean found = !jj_3_14() || jj_found;
+        jj_found = false;
+        jj_save(13, xla);
+        return found;
     }
 
     private boolean jj_2_15(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_15();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(14, xla);
-        }
+        boolean found = !jj_3_15() || jj_found;
+        jj_found = false;
+        jj_save(14, xla);
+        return found;
     }
 
     private boolean jj_2_16(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_16();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(15, xla);
-        }
+        boolean found = !jj_3_16() || jj_found;
+        jj_found = false;
+        jj_save(15, xla);
+        return found;
     }
 
     private boolean jj_2_17(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_17();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(16, xla);
-        }
+        boolean found = !jj_3_17() || jj_found;
+        jj_found = false;
+        jj_save(16, xla);
+        return found;
     }
 
     private boolean jj_2_18(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_18();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(17, xla);
-        }
+        boolean found = !jj_3_18() || jj_found;
+        jj_found = false;
+        jj_save(17, xla);
+        return found;
     }
 
     private boolean jj_2_19(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_19();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(18, xla);
-        }
+        boolean found = !jj_3_19() || jj_found;
+        jj_found = false;
+        jj_save(18, xla);
+        return found;
     }
 
     private boolean jj_2_20(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_20();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(19, xla);
-        }
+        boolean found = !jj_3_20() || jj_found;
+        jj_found = false;
+        jj_save(19, xla);
+        return found;
     }
 
     private boolean jj_2_21(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_21();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(20, xla);
-        }
+        boolean found = !jj_3_21() || jj_found;
+        jj_found = false;
+        jj_save(20, xla);
+        return found;
     }
 
     private boolean jj_2_22(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_22();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(21, xla);
-        }
+        boolean found = !jj_3_22() || jj_found;
+        jj_found = false;
+        jj_save(21, xla);
+        return found;
     }
 
     private boolean jj_2_23(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_23();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(22, xla);
-        }
+        boolean found = !jj_3_23() || jj_found;
+        jj_found = false;
+        jj_save(22, xla);
+        return found;
     }
 
     private boolean jj_2_24(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_24();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(23, xla);
-        }
+        boolean found = !jj_3_24() || jj_found;
+        jj_found = false;
+        jj_save(23, xla);
+        return found;
     }
 
     private boolean jj_2_25(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_25();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(24, xla);
-        }
+        boolean found = !jj_3_25() || jj_found;
+        jj_found = false;
+        jj_save(24, xla);
+        return found;
     }
 
     private boolean jj_2_26(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_26();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(25, xla);
-        }
+        boolean found = !jj_3_26() || jj_found;
+        jj_found = false;
+        jj_save(25, xla);
+        return found;
     }
 
     private boolean jj_2_27(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_27();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(26, xla);
-        }
+        boolean found = !jj_3_27() || jj_found;
+        jj_found = false;
+        jj_save(26, xla);
+        return found;
     }
 
     private boolean jj_2_28(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_28();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(27, xla);
-        }
+        boolean found = !jj_3_28() || jj_found;
+        jj_found = false;
+        jj_save(27, xla);
+        return found;
     }
 
     private boolean jj_2_29(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_29();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(28, xla);
-        }
+        boolean found = !jj_3_29() || jj_found;
+        jj_found = false;
+        jj_save(28, xla);
+        return found;
     }
 
     private boolean jj_2_30(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_30();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(29, xla);
-        }
+        boolean found = !jj_3_30() || jj_found;
+        jj_found = false;
+        jj_save(29, xla);
+        return found;
     }
 
     private boolean jj_2_31(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_31();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(30, xla);
-        }
+        boolean found = !jj_3_31() || jj_found;
+        jj_found = false;
+        jj_save(30, xla);
+        return found;
     }
 
     private boolean jj_2_32(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_32();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(31, xla);
-        }
+        boolean found = !jj_3_32() || jj_found;
+        jj_found = false;
+        jj_save(31, xla);
+        return found;
     }
 
     private boolean jj_2_33(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_33();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(32, xla);
-        }
+        boolean found = !jj_3_33() || jj_found;
+        jj_found = false;
+        jj_save(32, xla);
+        return found;
     }
 
     private boolean jj_2_34(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_34();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(33, xla);
-        }
+        boolean found = !jj_3_34() || jj_found;
+        jj_found = false;
+        jj_save(33, xla);
+        return found;
     }
 
     private boolean jj_2_35(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_35();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(34, xla);
-        }
+        boolean found = !jj_3_35() || jj_found;
+        jj_found = false;
+        jj_save(34, xla);
+        return found;
     }
 
     private boolean jj_2_36(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_36();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(35, xla);
-        }
+        boolean found = !jj_3_36() || jj_found;
+        jj_found = false;
+        jj_save(35, xla);
+        return found;
     }
 
     private boolean jj_2_37(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_37();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(36, xla);
-        }
+        boolean found = !jj_3_37() || jj_found;
+        jj_found = false;
+        jj_save(36, xla);
+        return found;
     }
 
     private boolean jj_2_38(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_38();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(37, xla);
-        }
+        boolean found = !jj_3_38() || jj_found;
+        jj_found = false;
+        jj_save(37, xla);
+        return found;
     }
 
     private boolean jj_2_39(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_39();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(38, xla);
-        }
+        boolean found = !jj_3_39() || jj_found;
+        jj_found = false;
+        jj_save(38, xla);
+        return found;
     }
 
     private boolean jj_2_40(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_40();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(39, xla);
-        }
+        boolean found = !jj_3_40() || jj_found;
+        jj_found = false;
+        jj_save(39, xla);
+        return found;
     }
 
     private boolean jj_2_41(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_41();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(40, xla);
-        }
+        boolean found = !jj_3_41() || jj_found;
+        jj_found = false;
+        jj_save(40, xla);
+        return found;
     }
 
     private boolean jj_2_42(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_42();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(41, xla);
-        }
+        boolean found = !jj_3_42() || jj_found;
+        jj_found = false;
+        jj_save(41, xla);
+        return found;
     }
 
     private boolean jj_2_43(int xla) {
         jj_la = xla;
         jj_lastpos = jj_scanpos = token;
-        try {
-            return !jj_3_43();
-        } catch (LookaheadSuccess ls) {
-            return true;
-        } finally {
-            jj_save(42, xla);
-        }
+        boolean found = !jj_3_43() || jj_found;
+        jj_found = false;
+        jj_save(42, xla);
+        return found;
     }
 
     private boolean jj_3R_101() {
@@ -9920,12 +9859,10 @@ final class ASTParser implements ASTParserConstants {
         throw generateParseException();
     }
 
-    static private final class LookaheadSuccess extends java.lang.Error {
-    }
-
-    final private LookaheadSuccess jj_ls = new LookaheadSuccess();
-
     private boolean jj_scan_token(int kind) {
+        if (jj_found) {
+            return true;
+        }
         if (jj_scanpos == jj_lastpos) {
             jj_la--;
             if (jj_scanpos.next == null) {
@@ -9951,7 +9888,8 @@ final class ASTParser implements ASTParserConstants {
             return true;
         }
         if (jj_la == 0 && jj_scanpos == jj_lastpos) {
-            throw jj_ls;
+            jj_found = true;
+            return true;
         }
         return false;
     }
@@ -10085,153 +10023,157 @@ final class ASTParser implements ASTParserConstants {
     private void jj_rescan_token() {
         jj_rescan = true;
         for (int i = 0; i < 43; i++) {
-            try {
-                JJCalls p = jj_2_rtns[i];
-                do {
-                    if (p.gen > jj_gen) {
-                        jj_la = p.arg;
-                        jj_lastpos = jj_scanpos = p.first;
-                        switch (i) {
-                            case 0:
-                                jj_3_1();
-                                break;
-                            case 1:
-                                jj_3_2();
-                                break;
-                            case 2:
-                                jj_3_3();
-                                break;
-                            case 3:
-                                jj_3_4();
-                                break;
-                            case 4:
-                                jj_3_5();
-                                break;
-                            case 5:
-                                jj_3_6();
-                                break;
-                            case 6:
-                                jj_3_7();
-                                break;
-                            case 7:
-                                jj_3_8();
-                                break;
-                            case 8:
-                                jj_3_9();
-                                break;
-                            case 9:
-                                jj_3_10();
-                                break;
-                            case 10:
-                                jj_3_11();
-                                break;
-                            case 11:
-                                jj_3_12();
-                                break;
-                            case 12:
-                                jj_3_13();
-                                break;
-                            case 13:
-                                jj_3_14();
-                                break;
-                            case 14:
-                                jj_3_15();
-                                break;
-                            case 15:
-                                jj_3_16();
-                                break;
-                            case 16:
-                                jj_3_17();
-                                break;
-                            case 17:
-                                jj_3_18();
-                                break;
-                            case 18:
-                                jj_3_19();
-                                break;
-                            case 19:
-                                jj_3_20();
-                                break;
-                            case 20:
-                                jj_3_21();
-                                break;
-                            case 21:
-                                jj_3_22();
-                                break;
-                            case 22:
-                                jj_3_23();
-                                break;
-                            case 23:
-                                jj_3_24();
-                                break;
-                            case 24:
-                                jj_3_25();
-                                break;
-                            case 25:
-                                jj_3_26();
-                                break;
-                            case 26:
-                                jj_3_27();
-                                break;
-                            case 27:
-                                jj_3_28();
-                                break;
-                            case 28:
-                                jj_3_29();
-                                break;
-                            case 29:
-                                jj_3_30();
-                                break;
-                            case 30:
-                                jj_3_31();
-                                break;
-                            case 31:
-                                jj_3_32();
-                                break;
-                            case 32:
-                                jj_3_33();
-                                break;
-                            case 33:
-                                jj_3_34();
-                                break;
-                            case 34:
-                                jj_3_35();
-                                break;
-                            case 35:
-                                jj_3_36();
-                                break;
-                            case 36:
-                                jj_3_37();
-                                break;
-                            case 37:
-                                jj_3_38();
-                                break;
-                            case 38:
-                                jj_3_39();
-                                break;
-                            case 39:
-                                jj_3_40();
-                                break;
-                            case 40:
-                                jj_3_41();
-                                break;
-                            case 41:
-                                jj_3_42();
-                                break;
-                            case 42:
-                                jj_3_43();
-                                break;
-                        }
+            JJCalls p = jj_2_rtns[i];
+            do {
+                if (p.gen > jj_gen) {
+                    jj_la = p.arg;
+                    jj_lastpos = jj_scanpos = p.first;
+                    switch (i) {
+                        case 0:
+                            jj_3_1();
+                            break;
+                        case 1:
+                            jj_3_2();
+                            break;
+                        case 2:
+                            jj_3_3();
+                            break;
+                        case 3:
+                            jj_3_4();
+                            break;
+                        case 4:
+                            jj_3_5();
+                            break;
+                        case 5:
+                            jj_3_6();
+                            break;
+                        case 6:
+                            jj_3_7();
+                            break;
+                        case 7:
+                            jj_3_8();
+                            break;
+                        case 8:
+                            jj_3_9();
+                            break;
+                        case 9:
+                            jj_3_10();
+                            break;
+                        case 10:
+                            jj_3_11();
+                            break;
+                        case 11:
+                            jj_3_12();
+                            break;
+                        case 12:
+                            jj_3_13();
+                            break;
+                        case 13:
+                            jj_3_14();
+                            break;
+                        case 14:
+                            jj_3_15();
+                            break;
+                        case 15:
+                            jj_3_16();
+                            break;
+                        case 16:
+                            jj_3_17();
+                            break;
+                        case 17:
+                            jj_3_18();
+                            break;
+                        case 18:
+                            jj_3_19();
+                            break;
+                        case 19:
+                            jj_3_20();
+                            break;
+                        case 20:
+                            jj_3_21();
+                            break;
+                        case 21:
+                            jj_3_22();
+                            break;
+                        case 22:
+                            jj_3_23();
+                            break;
+                        case 23:
+                            jj_3_24();
+                            break;
+                        case 24:
+                            jj_3_25();
+                            break;
+                        case 25:
+                            jj_3_26();
+                            break;
+                        case 26:
+                            jj_3_27();
+                            break;
+                        case 27:
+                            jj_3_28();
+                            break;
+                        case 28:
+                            jj_3_29();
+                            break;
+                        case 29:
+                            jj_3_30();
+                            break;
+                        case 30:
+                            jj_3_31();
+                            break;
+                        case 31:
+                            jj_3_32();
+                            break;
+                        case 32:
+                            jj_3_33();
+                            break;
+                        case 33:
+                            jj_3_34();
+                            break;
+                        case 34:
+                            jj_3_35();
+                            break;
+                        case 35:
+                            jj_3_36();
+                            break;
+                        case 36:
+                            jj_3_37();
+                            break;
+                        case 37:
+                            jj_3_38();
+                            break;
+                        case 38:
+                            jj_3_39();
+                            break;
+                        case 39:
+                            jj_3_40();
+                            break;
+                        case 40:
+                            jj_3_41();
+                            break;
+                        case 41:
+                            jj_3_42();
+                            break;
+                        case 42:
+                            jj_3_43();
+                            break;
                     }
-                    p = p.next;
-                } while (p != null);
-            } catch (LookaheadSuccess ls) {
-            }
+                }
+                if (jj_found) {
+                    jj_found = false;
+                    break;
+                }
+                p = p.next;
+            } while (p != null);
         }
         jj_rescan = false;
     }
 
     private void jj_save(int index, int xla) {
+        if (!jj_diagnostics) {
+            return;
+        }
         JJCalls p = jj_2_rtns[index];
         while (p.gen > jj_gen) {
             if (p.next == null) {
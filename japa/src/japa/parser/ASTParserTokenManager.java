@@ -32,6 +32,32 @@ public class ASTParserTokenManager implements ASTParserConstants
     private List<Comment> comments;
     private final Stack<JavadocComment> javadocStack = new Stack<JavadocComment>();
     private JavadocComment lastJavadoc;
+    private SymbolTable symbols;
+    // whether comments are turned into Comment nodes, which only the parser needs
+    private boolean keepComments = true;
+
+    void setSymbolTable(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    void setKeepComments(boolean keepComments) {
+        this.keepComments = keepComments;
+    }
+
+    // identifiers and literals are interned, other tokens have a fixed image or are rarely repeated
+    private static boolean interned(int kind) {
+        switch (kind) {
+            case IDENTIFIER:
+            case INTEGER_LITERAL:
+            case LONG_LITERAL:
+            case FLOATING_POINT_LITERAL:
+            case CHARACTER_LITERAL:
+            case STRING_LITERAL:
+                return true;
+            default:
+                return false;
+        }
+    }
 
     void pushJavadoc() {
         javadocStack.push(lastJavadoc);
@@ -53,7 +79,7 @@ public class ASTParserTokenManager implements ASTParserConstants
 
     private void CommonTokenAction(Token token) {
         lastJavadoc = null;
-        if (token.specialToken != null) {
+        if (token.specialToken != null && keepComments) {
                 if(comments == null) {
                     comments = new LinkedList<Comment>();
                 }
@@ -2099,7 +2125,12 @@ protected Token jjFillToken()
    final int beginColumn;
    final int endColumn;
    String im = jjstrLiteralImages[jjmatchedKind];
-   curTokenImage = (im == null) ? input_stream.GetImage() : im;
+   if (im != null)
+      curTokenImage = im;
+   else if (symbols != null && interned(jjmatchedKind))
+      curTokenImage = input_stream.GetImage(symbols);
+   else
+      curTokenImage = input_stream.GetImage();
    beginLine = input_stream.getBeginLine();
    beginColumn = input_stream.getBeginColumn();
    endLine = input_stream.getEndLine();
@@ -23,6 +23,9 @@ package japa.parser;
 /**
  * An implementation of interface CharStream, where the stream is assumed to
  * contain only ASCII characters (with java-like unicode escape processing).
+ *
+ * JavaCC does not overwrite this file once it exists, and it is maintained by
+ * hand: it reads whole decoded sources and tracks positions by checkpoints.
  */
 
 public class JavaCharStream
@@ -81,8 +84,25 @@ public class JavaCharStream
   int bufsize;
   int available;
   int tokenBegin;
-  protected int bufline[];
-  protected int bufcolumn[];
+/**
+ * Position of each character in the buffer. Positions are numbered in the
+ * order they are read; the line and column of a position are given by the
+ * last checkpoint at or before it, see lineAt and columnAt.
+ */
+  protected int bufposition[];
+/** Number of the last position read. */
+  protected int positions = 0;
+/**
+ * Checkpoints: from position cpIndex[k] on, the line is cpLine[k] and the
+ * column grows by one per position, starting at cpColumn[k]. A checkpoint
+ * is only added at the start of a line, after a tab and after a unicode
+ * escape, so there are far fewer checkpoints than characters.
+ */
+  protected int[] cpIndex = new int[64];
+  protected int[] cpLine = new int[64];
+  protected int[] cpColumn = new int[64];
+  protected int checkpoints = 0;
+  private int lastCheckpoint = 0;
 
   protected int column = 0;
   protected int line = 1;
@@ -91,6 +111,8 @@ public class JavaCharStream
   protected boolean prevCharIsLF = false;
 
   protected java.io.Reader inputStream;
+  /** Whether nextCharBuf holds the whole source, so there is no inputStream to read from. */
+  protected boolean wholeSource = false;
 
   protected char[] nextCharBuf;
   protected char[] buffer;
@@ -104,9 +126,10 @@ public class JavaCharStream
 
   protected void ExpandBuff(boolean wrapAround)
   {
-     char[] newbuffer = new char[bufsize + 2048];
-     int newbufline[] = new int[bufsize + 2048];
-     int newbufcolumn[] = new int[bufsize + 2048];
+     // grow geometrically, so that reading a huge token takes linear time
+     int newsize = bufsize + Math.max(bufsize, 2048);
+     char[] newbuffer = new char[newsize];
+     int newbufposition[] = new int[newsize];
 
      try
      {
@@ -117,13 +140,9 @@ public class JavaCharStream
                                              bufsize - tokenBegin, bufpos);
            buffer = newbuffer;
 
-           System.arraycopy(bufline, tokenBegin, newbufline, 0, bufsize - tokenBegin);
-           System.arraycopy(bufline, 0, newbufline, bufsize - tokenBegin, bufpos);
-           bufline = newbufline;
-
-           System.arraycopy(bufcolumn, tokenBegin, newbufcolumn, 0, bufsize - tokenBegin);
-           System.arraycopy(bufcolumn, 0, newbufcolumn, bufsize - tokenBegin, bufpos);
-           bufcolumn = newbufcolumn;
+           System.arraycopy(bufposition, tokenBegin, newbufposition, 0, bufsize - tokenBegin);
+           System.arraycopy(bufposition, 0, newbufposition, bufsize - tokenBegin, bufpos);
+           bufposition = newbufposition;
 
            bufpos += (bufsize - tokenBegin);
         }
@@ -132,11 +151,8 @@ public class JavaCharStream
            System.arraycopy(buffer, tokenBegin, newbuffer, 0, bufsize - tokenBegin);
            buffer = newbuffer;
 
-           System.arraycopy(bufline, tokenBegin, newbufline, 0, bufsize - tokenBegin);
-           bufline = newbufline;
-
-           System.arraycopy(bufcolumn, tokenBegin, newbufcolumn, 0, bufsize - tokenBegin);
-           bufcolumn = newbufcolumn;
+           System.arraycopy(bufposition, tokenBegin, newbufposition, 0, bufsize - tokenBegin);
+           bufposition = newbufposition;
 
            bufpos -= tokenBegin;
         }
@@ -146,17 +162,20 @@ public class JavaCharStream
         throw new Error(t.getMessage());
      }
 
-     available = (bufsize += 2048);
+     available = bufsize = newsize;
      tokenBegin = 0;
   }
 
   protected void FillBuff() throws java.io.IOException
   {
      int i;
-     if (maxNextCharInd == 4096)
+     if (!wholeSource && maxNextCharInd == 4096)
         maxNextCharInd = nextCharInd = 0;
 
      try {
+        if (wholeSource)
+           // every character of the source has been read
+           throw new java.io.IOException();
         if ((i = inputStream.read(nextCharBuf, maxNextCharInd,
                                             4096 - maxNextCharInd)) == -1)
         {
@@ -174,10 +193,7 @@ public class JavaCharStream
            backup(0);
         }
         else
-        {
-           bufline[bufpos] = line;
-           bufcolumn[bufpos] = column;
-        }
+           setPosition(bufpos);
         throw e;
      }
   }
@@ -266,8 +282,94 @@ public class JavaCharStream
            break;
      }
 
-     bufline[bufpos] = line;
-     bufcolumn[bufpos] = column;
+     setPosition(bufpos);
+  }
+
+  /** Stores the current line and column as the position of a character in the buffer. */
+  protected void setPosition(int slot)
+  {
+     int n = ++positions;
+     int k = checkpoints - 1;
+     if (k < 0 || line != cpLine[k] || column != cpColumn[k] + (n - cpIndex[k]))
+        addCheckpoint(n, line, column);
+     bufposition[slot] = n;
+  }
+
+  protected void addCheckpoint(int n, int l, int c)
+  {
+     if (checkpoints == cpIndex.length)
+     {
+        // the checkpoints before the start of the current token are not needed anymore
+        int first = checkpoint(bufposition[tokenBegin]);
+        if (first > 0)
+        {
+           checkpoints -= first;
+           System.arraycopy(cpIndex, first, cpIndex, 0, checkpoints);
+           System.arraycopy(cpLine, first, cpLine, 0, checkpoints);
+           System.arraycopy(cpColumn, first, cpColumn, 0, checkpoints);
+           lastCheckpoint = 0;
+        }
+        if (checkpoints > cpIndex.length / 2)
+        {
+           int[] newIndex = new int[cpIndex.length * 2];
+           int[] newLine = new int[cpIndex.length * 2];
+           int[] newColumn = new int[cpIndex.length * 2];
+           System.arraycopy(cpIndex, 0, newIndex, 0, checkpoints);
+           System.arraycopy(cpLine, 0, newLine, 0, checkpoints);
+           System.arraycopy(cpColumn, 0, newColumn, 0, checkpoints);
+           cpIndex = newIndex;
+           cpLine = newLine;
+           cpColumn = newColumn;
+        }
+     }
+     cpIndex[checkpoints] = n;
+     cpLine[checkpoints] = l;
+     cpColumn[checkpoints] = c;
+     checkpoints++;
+  }
+
+  /** @return the last checkpoint at or before position n */
+  protected int checkpoint(int n)
+  {
+     int k = lastCheckpoint;
+     // tokens are read in order, so the last checkpoint used is usually the right one
+     if (k < checkpoints && cpIndex[k] <= n)
+     {
+        if (k + 1 == checkpoints || n < cpIndex[k + 1])
+           return k;
+        if (k + 2 == checkpoints || n < cpIndex[k + 2])
+           return lastCheckpoint = k + 1;
+     }
+     int lo = 0, hi = checkpoints - 1;
+     while (lo < hi)
+     {
+        int mid = (lo + hi + 1) >>> 1;
+        if (cpIndex[mid] <= n)
+           lo = mid;
+        else
+           hi = mid - 1;
+     }
+     return lastCheckpoint = Math.max(lo, 0);
+  }
+
+  /** @return line of the character in the given buffer slot */
+  protected int lineAt(int slot)
+  {
+     return cpLine[checkpoint(bufposition[slot])];
+  }
+
+  /** @return column of the character in the given buffer slot */
+  protected int columnAt(int slot)
+  {
+     int n = bufposition[slot];
+     int k = checkpoint(n);
+     return cpColumn[k] + (n - cpIndex[k]);
+  }
+
+  // forgets all positions, for a new source
+  private void resetPositions()
+  {
+     positions = checkpoints = lastCheckpoint = 0;
   }
 
 /** Read a character. */
@@ -369,7 +471,7 @@ public class JavaCharStream
    * @see #getEndColumn
    */
   public int getColumn() {
-     return bufcolumn[bufpos];
+     return columnAt(bufpos);
   }
 
   @Deprecated
@@ -378,27 +480,27 @@ public class JavaCharStream
    * @see #getEndLine
    */
   public int getLine() {
-     return bufline[bufpos];
+     return lineAt(bufpos);
   }
 
 /** Get end column. */
   public int getEndColumn() {
-     return bufcolumn[bufpos];
+     return columnAt(bufpos);
   }
 
 /** Get end line. */
   public int getEndLine() {
-     return bufline[bufpos];
+     return lineAt(bufpos);
   }
 
 /** @return column of token start */
   public int getBeginColumn() {
-     return bufcolumn[tokenBegin];
+     return columnAt(tokenBegin);
   }
 
 /** @return line number of token start */
   public int getBeginLine() {
-     return bufline[tokenBegin];
+     return lineAt(tokenBegin);
   }
 
 /** Retreat. */
@@ -419,8 +521,7 @@ public class JavaCharStream
 
     available = bufsize = buffersize;
     buffer = new char[buffersize];
-    bufline = new int[buffersize];
-    bufcolumn = new int[buffersize];
+    bufposition = new int[buffersize];
     nextCharBuf = new char[4096];
   }
 
@@ -448,13 +549,17 @@ public class JavaCharStream
     {
       available = bufsize = buffersize;
       buffer = new char[buffersize];
-      bufline = new int[buffersize];
-      bufcolumn = new int[buffersize];
+      bufposition = new int[buffersize];
       nextCharBuf = new char[4096];
     }
+    else if (wholeSource)
+      // nextCharBuf is the source of the previous parse, which must not be overwritten
+      nextCharBuf = new char[4096];
+    wholeSource = false;
     prevCharIsLF = prevCharIsCR = false;
     tokenBegin = inBuf = maxNextCharInd = 0;
     nextCharInd = bufpos = -1;
+    resetPositions();
   }
 
 /** Reinitialise. */
@@ -469,6 +574,69 @@ public class JavaCharStream
   {
      ReInit(dstream, 1, 1, 4096);
   }
+/**
+ * Constructor for a source that has already been decoded as a whole.
+ * The characters are read directly from <code>source</code>, which must
+ * not change while it is being parsed.
+ */
+  public JavaCharStream(char[] source, int offset, int length)
+  {
+    available = bufsize = 4096;
+    buffer = new char[4096];
+    bufposition = new int[4096];
+    ReInit(source, offset, length);
+  }
+
+/** Constructor for a source that has already been decoded as a whole. */
+  public JavaCharStream(java.nio.CharBuffer source)
+  {
+    this(array(source), offset(source), source.remaining());
+  }
+
+/** Reinitialise with a source that has already been decoded as a whole. */
+  public void ReInit(char[] source, int offset, int length)
+  {
+    inputStream = null;
+    wholeSource = true;
+    nextCharBuf = source;
+    line = 1;
+    column = 0;
+
+    if (buffer == null)
+    {
+      available = bufsize = 4096;
+      buffer = new char[4096];
+      bufposition = new int[4096];
+    }
+    prevCharIsLF = prevCharIsCR = false;
+    tokenBegin = inBuf = 0;
+    bufpos = -1;
+    resetPositions();
+    nextCharInd = offset - 1;
+    maxNextCharInd = offset + length;
+  }
+
+/** Reinitialise with a source that has already been decoded as a whole. */
+  public void ReInit(java.nio.CharBuffer source)
+  {
+    ReInit(array(source), offset(source), source.remaining());
+  }
+
+  // the characters of a CharBuffer, copied only if it is not backed by an array
+  private static char[] array(java.nio.CharBuffer source)
+  {
+    if (source.hasArray())
+      return source.array();
+    char[] chars = new char[source.remaining()];
+    source.duplicate().get(chars);
+    return chars;
+  }
+
+  private static int offset(java.nio.CharBuffer source)
+  {
+    return source.hasArray() ? source.arrayOffset() + source.position() : 0;
+  }
+
 /** Constructor. */
   public JavaCharStream(java.io.InputStream dstream, String encoding, int startline,
   int startcolumn, int buffersize) throws java.io.UnsupportedEncodingException
@@ -556,6 +724,15 @@ public class JavaCharStream
                               new String(buffer, 0, bufpos + 1);
   }
 
+  /** @return token image, shared with the equal images in the given table */
+  public String GetImage(SymbolTable symbols)
+  {
+     if (bufpos >= tokenBegin)
+        return symbols.intern(buffer, tokenBegin, bufpos - tokenBegin + 1);
+     else
+        return symbols.intern(GetImage());
+  }
+
   /** @return suffix */
   public char[] GetSuffix(int len)
   {
@@ -578,12 +755,14 @@ public class JavaCharStream
   {
      nextCharBuf = null;
      buffer = null;
-     bufline = null;
-     bufcolumn = null;
+     bufposition = null;
   }
 
   /**
    * Method to adjust line and column numbers for the start of a token.
+   * The characters of the token on its first line keep their distance to
+   * the start of the token; the lines after it are numbered consecutively
+   * and keep their columns.
    */
   public void adjustBeginLineColumn(int newLine, int newCol)
   {
@@ -599,35 +778,47 @@ public class JavaCharStream
         len = bufsize - tokenBegin + bufpos + 1 + inBuf;
      }
 
-     int i = 0, j = 0, k = 0;
-     int nextColDiff = 0, columnDiff = 0;
-
-     while (i < len &&
-            bufline[j = start % bufsize] == bufline[k = ++start % bufsize])
+     int[] numbers = new int[len];
+     int[] lines = new int[len];
+     int[] columns = new int[len];
+     for (int i = 0; i < len; i++)
      {
-        bufline[j] = newLine;
-        nextColDiff = columnDiff + bufcolumn[k] - bufcolumn[j];
-        bufcolumn[j] = newCol + columnDiff;
-        columnDiff = nextColDiff;
-        i++;
-     } 
-
-     if (i < len)
-     {
-        bufline[j] = newLine++;
-        bufcolumn[j] = newCol + columnDiff;
+        int slot = (start + i) % bufsize;
+        numbers[i] = bufposition[slot];
+        lines[i] = lineAt(slot);
+        columns[i] = columnAt(slot);
+     }
 
-        while (i++ < len)
+     int columnDiff = newCol - columns[0];
+     int oldLine = lines[0];
+     boolean firstLine = true;
+     for (int i = 0; i < len; i++)
+     {
+        if (lines[i] != oldLine)
         {
-           if (bufline[j = start % bufsize] != bufline[++start % bufsize])
-              bufline[j] = newLine++;
-           else
-              bufline[j] = newLine;
+           oldLine = lines[i];
+           firstLine = false;
+           newLine++;
         }
+        lines[i] = newLine;
+        if (firstLine)
+           columns[i] += columnDiff;
+     }
+
+     // replace the checkpoints from the start of the token on
+     checkpoints = checkpoint(numbers[0]) + 1;
+     if (cpIndex[checkpoints - 1] >= numbers[0])
+        checkpoints--;
+     lastCheckpoint = 0;
+     for (int i = 0; i < len; i++)
+     {
+        int c = checkpoints - 1;
+        if (c < 0 || lines[i] != cpLine[c] || columns[i] != cpColumn[c] + (numbers[i] - cpIndex[c]))
+           addCheckpoint(numbers[i], lines[i], columns[i]);
      }
 
-     line = bufline[j];
-     column = bufcolumn[j];
+     line = lines[len - 1];
+     column = columns[len - 1];
   }
 
 }
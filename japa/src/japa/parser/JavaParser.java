@@ -27,13 +27,18 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 
 /**
  * <p>This class was generated automatically by javacc, do not edit.</p>
  * <p>Parse Java 1.5 source code and creates Abstract Syntax Tree classes.</p>
  * <p><b>Note:</b> To use this parser asynchronously, disable de parser cache
  * by calling the method {@link setCacheParser} with <code>false</code>
- * as argument.</p>
+ * as argument. Parses then borrow a parser from a shared {@link ParserPool},
+ * so parser instances are still reused, but never by two threads at once.</p>
  *
  * @author Jlio Vilmar Gesser
  */
@@ -43,6 +48,10 @@ public final class JavaParser {
 
     private static boolean cacheParser = true;
 
+    private static final SymbolTable symbols = new SymbolTable();
+
+    private static final ParserPool pool = new ParserPool();
+
     private JavaParser() {
         // hide the constructor
     }
@@ -78,9 +87,17 @@ public final class JavaParser {
             } else {
                 parser.reset(in, encoding);
             }
+            symbols.clear();
+            parser.setSymbolTable(symbols);
             return parser.CompilationUnit();
         }
-        return new ASTParser(in, encoding).CompilationUnit();
+        try {
+            return pool.parse(in, encoding);
+        } catch (InterruptedException e) {
+            // the shared pool has no limit, so it never waits for a parser
+            Thread.currentThread().interrupt();
+            return new ASTParser(in, encoding).CompilationUnit();
+        }
     }
 
     /**
@@ -94,9 +111,51 @@ public final class JavaParser {
         return parse(in, null);
     }
 
+    /**
+     * Parses Java code that has already been decoded as a whole and returns
+     * a {@link CompilationUnit} that represents it. The lexer reads the
+     * characters directly from the buffer, without copying them in chunks.
+     * @param source {@link CharBuffer} containing Java source code, from its position to its limit
+     * @return CompilationUnit representing the Java source code
+     * @throws ParseException if the source code has parser errors
+     */
+    public static CompilationUnit parse(CharBuffer source) throws ParseException {
+        if (cacheParser) {
+            if (parser == null) {
+                parser = new ASTParser(source);
+            } else {
+                parser.reset(source);
+            }
+            symbols.clear();
+            parser.setSymbolTable(symbols);
+            return parser.CompilationUnit();
+        }
+        try {
+            return pool.parse(source);
+        } catch (InterruptedException e) {
+            // the shared pool has no limit, so it never waits for a parser
+            Thread.currentThread().interrupt();
+            return new ASTParser(source).CompilationUnit();
+        }
+    }
+
+    /**
+     * Parses the Java code contained in a byte array and returns
+     * a {@link CompilationUnit} that represents it. The code is decoded once,
+     * as a whole, before it is parsed.
+     * @param contents the Java source code
+     * @param encoding encoding of the source code
+     * @return CompilationUnit representing the Java source code
+     * @throws ParseException if the source code has parser errors
+     */
+    public static CompilationUnit parse(byte[] contents, String encoding) throws ParseException {
+        return parse(decode(ByteBuffer.wrap(contents), encoding));
+    }
+
     /**
      * Parses the Java code contained in a {@link File} and returns 
-     * a {@link CompilationUnit} that represents it. 
+     * a {@link CompilationUnit} that represents it. The file is mapped
+     * into memory and decoded once, as a whole, before it is parsed.
      * @param file {@link File} containing Java source code
      * @param encoding encoding of the source code
      * @return CompilationUnit representing the Java source code
@@ -104,12 +163,7 @@ public final class JavaParser {
      * @throws IOException 
      */
     public static CompilationUnit parse(File file, String encoding) throws ParseException, IOException {
-        FileInputStream in = new FileInputStream(file);
-        try {
-            return parse(in, encoding);
-        } finally {
-            in.close();
-        }
+        return parse(decode(map(file), encoding));
     }
 
     /**
@@ -123,4 +177,33 @@ public final class JavaParser {
     public static CompilationUnit parse(File file) throws ParseException, IOException {
         return parse(file, null);
     }
+
+    /**
+     * Decodes Java source code as a whole, replacing malformed input
+     * the same way the {@link InputStream} based parse methods do.
+     * @param bytes the encoded source code, from its position to its limit
+     * @param encoding encoding of the source code, or <code>null</code> for the platform default
+     * @return the decoded source code
+     */
+    public static CharBuffer decode(ByteBuffer bytes, String encoding) {
+        Charset charset = encoding == null ? Charset.defaultCharset() : Charset.forName(encoding);
+        return charset.decode(bytes);
+    }
+
+    /**
+     * Maps a whole file into memory, read-only.
+     * @param file the file to map
+     * @return the contents of the file
+     * @throws IOException if the file cannot be read
+     */
+    public static ByteBuffer map(File file) throws IOException {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            FileChannel channel = in.getChannel();
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            // the mapping stays valid after the channel is closed
+            in.close();
+        }
+    }
 }
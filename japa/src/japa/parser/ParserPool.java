@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2008 Jlio Vilmar Gesser.
+ *
+ * This file is part of Java 1.5 parser and Abstract Syntax Tree.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java 1.5 parser and Abstract Syntax Tree.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package japa.parser;
+
+import japa.parser.ast.CompilationUnit;
+
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>A thread-safe pool of {@link ReusableParser} instances.</p>
+ * <p>A thread {@link #borrow() borrows} a parser, uses it for as many parses
+ * as it likes and then {@link #release(ReusableParser) releases} it, so the
+ * parser, its token manager and its character stream buffers are reused by
+ * the next thread that borrows one. No parser is ever used by two threads at
+ * the same time.</p>
+ * <p>At most <code>maxParsers</code> parsers are created; when all of them are
+ * borrowed, {@link #borrow()} waits until one is released. The pool counts
+ * how often a parser could be reused, how often a new one had to be created
+ * and how long threads waited for one.</p>
+ */
+public final class ParserPool {
+
+    private final LinkedBlockingQueue<ReusableParser> idle = new LinkedBlockingQueue<ReusableParser>();
+
+    private final int maxParsers;
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    private final AtomicLong borrows = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong waits = new AtomicLong();
+
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    /**
+     * Creates a pool that never creates more than <code>maxParsers</code> parsers.
+     * @param maxParsers the maximum number of parsers, at least 1
+     */
+    public ParserPool(int maxParsers) {
+        if (maxParsers < 1) {
+            throw new IllegalArgumentException("maxParsers must be at least 1");
+        }
+        this.maxParsers = maxParsers;
+    }
+
+    /**
+     * Creates a pool without a limit on the number of parsers.
+     */
+    public ParserPool() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Borrows a parser from the pool. An idle parser is reused if there is
+     * one; otherwise a new parser is created, unless the pool already created
+     * <code>maxParsers</code> parsers, in which case this method waits until
+     * one of them is released.
+     * @return a parser that only the calling thread may use until it is released
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public ReusableParser borrow() throws InterruptedException {
+        borrows.incrementAndGet();
+        ReusableParser parser = idle.poll();
+        if (parser != null) {
+            hits.incrementAndGet();
+            return parser;
+        }
+        while (true) {
+            int n = created.get();
+            if (n >= maxParsers) {
+                break;
+            }
+            if (created.compareAndSet(n, n + 1)) {
+                return new ReusableParser();
+            }
+        }
+        long start = System.nanoTime();
+        parser = idle.take();
+        waits.incrementAndGet();
+        waitNanos.addAndGet(System.nanoTime() - start);
+        hits.incrementAndGet();
+        return parser;
+    }
+
+    /**
+     * Gives a borrowed parser back to the pool. The parser must not be used
+     * by the calling thread afterwards.
+     * @param parser a parser borrowed from this pool
+     */
+    public void release(ReusableParser parser) {
+        if (parser != null) {
+            idle.offer(parser);
+        }
+    }
+
+    /**
+     * Parses the Java code contained in the {@link InputStream} with a parser
+     * borrowed from this pool, and returns a {@link CompilationUnit} that represents it.
+     * @param in {@link InputStream} containing Java source code
+     * @param encoding encoding of the source code
+     * @return CompilationUnit representing the Java source code
+     * @throws ParseException if the source code has parser errors
+     * @throws InterruptedException if the thread is interrupted while waiting for a parser
+     */
+    public CompilationUnit parse(InputStream in, String encoding) throws ParseException, InterruptedException {
+        ReusableParser parser = borrow();
+        try {
+            return parser.parse(in, encoding);
+        } finally {
+            release(parser);
+        }
+    }
+
+    /**
+     * Parses Java code that has already been decoded as a whole with a parser
+     * borrowed from this pool, and returns a {@link CompilationUnit} that represents it.
+     * @param source {@link CharBuffer} containing Java source code, from its position to its limit
+     * @return CompilationUnit representing the Java source code
+     * @throws ParseException if the source code has parser errors
+     * @throws InterruptedException if the thread is interrupted while waiting for a parser
+     */
+    public CompilationUnit parse(CharBuffer source) throws ParseException, InterruptedException {
+        ReusableParser parser = borrow();
+        try {
+            return parser.parse(source);
+        } finally {
+            release(parser);
+        }
+    }
+
+    /**
+     * @return the number of times a parser was borrowed
+     */
+    public long getBorrows() {
+        return borrows.get();
+    }
+
+    /**
+     * @return the number of times a borrowed parser was an existing, reused one
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of parsers created by this pool
+     */
+    public int getCreated() {
+        return created.get();
+    }
+
+    /**
+     * @return the number of times a thread had to wait for a parser to be released
+     */
+    public long getWaits() {
+        return waits.get();
+    }
+
+    /**
+     * @return the total time threads waited for a parser to be released, in nanoseconds
+     */
+    public long getWaitNanos() {
+        return waitNanos.get();
+    }
+}
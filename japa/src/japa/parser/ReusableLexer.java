@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2008 Jlio Vilmar Gesser.
+ *
+ * This file is part of Java 1.5 parser and Abstract Syntax Tree.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java 1.5 parser and Abstract Syntax Tree.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package japa.parser;
+
+import java.nio.CharBuffer;
+
+/**
+ * <p>A lexer that can be reused for many sources, keeping its token manager
+ * and character stream buffers between calls. It hands out the tokens of
+ * {@link ASTParserTokenManager} one at a time, without parsing them, for
+ * code that only needs the token stream:</p>
+ * <pre>
+ * ReusableLexer lexer = new ReusableLexer();
+ * lexer.reset(source);
+ * for (Token t = lexer.next(); t.kind != ASTParserConstants.EOF; t = lexer.next()) {
+ *     ...
+ * }
+ * </pre>
+ * <p>Comments are not returned as tokens, and no comment nodes are made of
+ * them. A lexer must not be used by two threads at the same time.</p>
+ */
+public final class ReusableLexer {
+
+    private JavaCharStream stream;
+
+    private ASTParserTokenManager tokens;
+
+    /**
+     * Starts lexing Java code that has already been decoded as a whole.
+     * The characters are read directly from the array, which must not
+     * change while it is being lexed.
+     * @param source the Java source code
+     * @param offset the index of its first character
+     * @param length the number of characters
+     */
+    public void reset(char[] source, int offset, int length) {
+        if (stream == null) {
+            stream = new JavaCharStream(source, offset, length);
+            tokens = new ASTParserTokenManager(stream);
+            tokens.setKeepComments(false);
+        } else {
+            stream.ReInit(source, offset, length);
+            tokens.ReInit(stream);
+        }
+        tokens.clearComments();
+    }
+
+    /**
+     * Starts lexing Java code that has already been decoded as a whole.
+     * @param source {@link CharBuffer} containing Java source code, from its position to its limit
+     */
+    public void reset(CharBuffer source) {
+        if (stream == null) {
+            stream = new JavaCharStream(source);
+            tokens = new ASTParserTokenManager(stream);
+            tokens.setKeepComments(false);
+        } else {
+            stream.ReInit(source);
+            tokens.ReInit(stream);
+        }
+        tokens.clearComments();
+    }
+
+    /**
+     * Reads the next token. At the end of the source, every call returns
+     * a token of kind {@link ASTParserConstants#EOF}.
+     * @return the token
+     * @throws TokenMgrError if the source contains a character sequence that is not a token
+     */
+    public Token next() {
+        if (tokens == null) {
+            throw new IllegalStateException("no source to lex");
+        }
+        return tokens.getNextToken();
+    }
+
+    /**
+     * Returns the kind of a token, telling shift operators apart. The token
+     * manager splits <code>&gt;&gt;</code> and <code>&gt;&gt;&gt;</code> into single
+     * {@link ASTParserConstants#GT} tokens, so that they can close type arguments;
+     * the first of them has the real kind {@link ASTParserConstants#RSIGNEDSHIFT}
+     * or {@link ASTParserConstants#RUNSIGNEDSHIFT}.
+     * @param t a token returned by {@link #next()}
+     * @return the real kind of the token
+     */
+    public static int realKind(Token t) {
+        if (t.kind == ASTParserConstants.GT && t instanceof ASTParser.GTToken) {
+            return ((ASTParser.GTToken) t).realKind;
+        }
+        return t.kind;
+    }
+}
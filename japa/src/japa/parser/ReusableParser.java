@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2008 Jlio Vilmar Gesser.
+ *
+ * This file is part of Java 1.5 parser and Abstract Syntax Tree.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java 1.5 parser and Abstract Syntax Tree.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package japa.parser;
+
+import japa.parser.ast.CompilationUnit;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * <p>A parser instance that can be reused for many parses, keeping its
+ * token manager and character stream buffers between calls.</p>
+ * <p>Unlike {@link JavaParser}, which shares one static parser, every
+ * <code>ReusableParser</code> owns its own state, so different threads can
+ * parse at the same time as long as each thread uses its own instance.
+ * A single instance must not be used by two threads at once.</p>
+ */
+public final class ReusableParser {
+
+    private ASTParser parser;
+
+    private boolean diagnostics = true;
+
+    private final SymbolTable symbols = new SymbolTable();
+
+    private boolean internAcrossParses = false;
+
+    /**
+     * Sets whether a {@link ParseException} lists all the tokens that were
+     * expected where the error was found. By default it does. Without
+     * diagnostics parsing is faster, and a {@link ParseException} still
+     * tells where the error was found.
+     * @param diagnostics <code>false</code> if only the AST is needed
+     */
+    public void setDiagnostics(boolean diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    /**
+     * Identifiers and literals of a parse share their images through a
+     * {@link SymbolTable}, which is emptied before every parse by default.
+     * When it is kept across parses, the ASTs of different parses share their
+     * images as well; the table then stops growing at its capacity by
+     * starting over.
+     * @param acrossParses <code>true</code> to keep the table between parses
+     */
+    public void setInternAcrossParses(boolean acrossParses) {
+        this.internAcrossParses = acrossParses;
+    }
+
+    /**
+     * @return the table in which this parser interns identifiers and literals
+     */
+    public SymbolTable getSymbolTable() {
+        return symbols;
+    }
+
+    // applies the settings of this parser to the next parse
+    private void prepare() {
+        parser.setDiagnostics(diagnostics);
+        if (!internAcrossParses) {
+            symbols.clear();
+        }
+        parser.setSymbolTable(symbols);
+    }
+
+    /**
+     * Parses the Java code contained in the {@link InputStream} and returns
+     * a {@link CompilationUnit} that represents it.
+     * @param in {@link InputStream} containing Java source code
+     * @param encoding encoding of the source code
+     * @return CompilationUnit representing the Java source code
+     * @throws ParseException if the source code has parser errors
+     */
+    public CompilationUnit parse(InputStream in, String encoding) throws ParseException {
+        if (parser == null) {
+            parser = new ASTParser(in, encoding);
+        } else {
+            parser.reset(in, encoding);
+        }
+        prepare();
+        return parser.CompilationUnit();
+    }
+
+    /**
+     * Parses the Java code contained in the {@link InputStream} and returns
+     * a {@link CompilationUnit} that represents it.
+     * @param in {@link InputStream} containing Java source code
+     * @return CompilationUnit representing the Java source code
+     * @throws ParseException if the source code has parser errors
+     */
+    public CompilationUnit parse(InputStream in) throws ParseException {
+        return parse(in, null);
+    }
+
+    /**
+     * Parses Java code that has already been decoded as a whole and returns
+     * a {@link CompilationUnit} that represents it. The lexer reads the
+     * characters directly from the buffer, without copying them in chunks.
+     * @param source {@link CharBuffer} containing Java source code, from its position to its limit
+     * @return CompilationUnit representing the Java source code
+     * @throws ParseException if the source code has parser errors
+     */
+    public CompilationUnit parse(CharBuffer source) throws ParseException {
+        if (parser == null) {
+            parser = new ASTParser(source);
+        } else {
+            parser.reset(source);
+        }
+        prepare();
+        return parser.CompilationUnit();
+    }
+
+    /**
+     * Parses the Java code contained in a byte array and returns
+     * a {@link CompilationUnit} that represents it. The code is decoded once,
+     * as a whole, before it is parsed.
+     * @param contents the Java source code
+     * @param encoding encoding of the source code
+     * @return CompilationUnit representing the Java source code
+     * @throws ParseException if the source code has parser errors
+     */
+    public CompilationUnit parse(byte[] contents, String encoding) throws ParseException {
+        return parse(JavaParser.decode(ByteBuffer.wrap(contents), encoding));
+    }
+
+    /**
+     * Parses the Java code contained in a {@link File} and returns
+     * a {@link CompilationUnit} that represents it. The file is mapped
+     * into memory and decoded once, as a whole, before it is parsed.
+     * @param file {@link File} containing Java source code
+     * @param encoding encoding of the source code
+     * @return CompilationUnit representing the Java source code
+     * @throws ParseException if the source code has parser errors
+     * @throws IOException if the file cannot be read
+     */
+    public CompilationUnit parse(File file, String encoding) throws ParseException, IOException {
+        return parse(JavaParser.decode(JavaParser.map(file), encoding));
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2008 Jlio Vilmar Gesser.
+ *
+ * This file is part of Java 1.5 parser and Abstract Syntax Tree.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java 1.5 parser and Abstract Syntax Tree.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package japa.parser;
+
+import java.util.Arrays;
+
+/**
+ * <p>A table of the token images read by the lexer, so that equal identifiers
+ * and literals share one {@link String} instead of each token allocating its
+ * own copy.</p>
+ * <p>Images are looked up directly in the lexer's character buffer, so a
+ * {@link String} is only allocated the first time an image is seen. The table
+ * holds at most <code>capacity</code> images; when it is full, it starts over.
+ * A table must not be used by two threads at the same time.</p>
+ */
+public final class SymbolTable {
+
+    /** Default maximum number of images. */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /** Images longer than this are not interned, they are rarely repeated. */
+    static final int MAX_LENGTH = 64;
+
+    private final int capacity;
+
+    private String[] images;
+
+    private int[] hashes;
+
+    private int size;
+
+    private long lookups;
+
+    private long hits;
+
+    /**
+     * Creates a table that holds at most <code>capacity</code> images.
+     * @param capacity the maximum number of images, at least 1
+     */
+    public SymbolTable(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        allocate(64);
+    }
+
+    /**
+     * Creates a table that holds at most {@link #DEFAULT_CAPACITY} images.
+     */
+    public SymbolTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Returns the image made of the given characters, allocating it only if
+     * the table does not contain it yet.
+     * @param chars characters of the image
+     * @param offset index of the first character
+     * @param length number of characters
+     * @return a {@link String} equal to the characters
+     */
+    public String intern(char[] chars, int offset, int length) {
+        if (length > MAX_LENGTH) {
+            return new String(chars, offset, length);
+        }
+        lookups++;
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int mask = images.length - 1;
+        int i = mix(hash) & mask;
+        for (String image; (image = images[i]) != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && equals(image, chars, offset, length)) {
+                hits++;
+                return image;
+            }
+        }
+        String image = new String(chars, offset, length);
+        add(i, image, hash);
+        return image;
+    }
+
+    /**
+     * Returns the image in the table that is equal to the given one, adding
+     * it to the table if there is none.
+     * @param image the image
+     * @return a {@link String} equal to the image
+     */
+    public String intern(String image) {
+        if (image.length() > MAX_LENGTH) {
+            return image;
+        }
+        lookups++;
+        int hash = image.hashCode();
+        int mask = images.length - 1;
+        int i = mix(hash) & mask;
+        for (String other; (other = images[i]) != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && other.equals(image)) {
+                hits++;
+                return other;
+            }
+        }
+        add(i, image, hash);
+        return image;
+    }
+
+    /**
+     * Removes all images from the table.
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(images, null);
+            size = 0;
+        }
+    }
+
+    /**
+     * @return the number of images in the table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the number of images looked up
+     */
+    public long getLookups() {
+        return lookups;
+    }
+
+    /**
+     * @return the number of images that were already in the table when they were looked up
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    private void add(int i, String image, int hash) {
+        if (size >= capacity) {
+            // start over rather than grow without bounds
+            clear();
+            i = mix(hash) & (images.length - 1);
+        } else if (2 * (size + 1) > images.length) {
+            // keep the table at most half full
+            rehash(images.length * 2);
+            i = slot(hash);
+        }
+        images[i] = image;
+        hashes[i] = hash;
+        size++;
+    }
+
+    private void rehash(int length) {
+        String[] oldImages = images;
+        int[] oldHashes = hashes;
+        allocate(length);
+        for (int j = 0; j < oldImages.length; j++) {
+            if (oldImages[j] != null) {
+                int i = slot(oldHashes[j]);
+                images[i] = oldImages[j];
+                hashes[i] = oldHashes[j];
+            }
+        }
+    }
+
+    private void allocate(int length) {
+        images = new String[length];
+        hashes = new int[length];
+    }
+
+    // the first free slot for the given hash
+    private int slot(int hash) {
+        int mask = images.length - 1;
+        int i = mix(hash) & mask;
+        while (images[i] != null) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    // spreads the bits of String hash codes, whose low bits are poor for short strings
+    private static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equals(String image, char[] chars, int offset, int length) {
+        if (image.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (image.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
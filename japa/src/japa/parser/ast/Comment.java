@@ -63,6 +63,7 @@ public abstract class Comment extends Node {
      *            the text of the comment to set
      */
     public void setContent(String content) {
+        invalidateHashCodes();
         this.content = content;
     }
 }
@@ -150,6 +150,7 @@ public final class CompilationUnit extends Node {
      *            the list of comments
      */
     public void setComments(List<Comment> comments) {
+        invalidateHashCodes();
         this.comments = comments;
     }
 
@@ -161,6 +162,7 @@ public final class CompilationUnit extends Node {
      *            the list of imports
      */
     public void setImports(List<ImportDeclaration> imports) {
+        invalidateHashCodes();
         this.imports = imports;
     }
 
@@ -172,6 +174,7 @@ public final class CompilationUnit extends Node {
      *            package
      */
     public void setPackage(PackageDeclaration pakage) {
+        invalidateHashCodes();
         this.pakage = pakage;
     }
 
@@ -182,6 +185,7 @@ public final class CompilationUnit extends Node {
      *            the lis of types
      */
     public void setTypes(List<TypeDeclaration> types) {
+        invalidateHashCodes();
         this.types = types;
     }
 
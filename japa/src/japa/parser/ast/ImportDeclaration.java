@@ -115,6 +115,7 @@ public final class ImportDeclaration extends Node {
      *            <code>true</code> if this import is asterisk
      */
     public void setAsterisk(boolean asterisk) {
+        invalidateHashCodes();
         this.asterisk = asterisk;
     }
 
@@ -125,6 +126,7 @@ public final class ImportDeclaration extends Node {
      *            the name to set
      */
     public void setName(NameExpr name) {
+        invalidateHashCodes();
         this.name = name;
     }
 
@@ -135,6 +137,7 @@ public final class ImportDeclaration extends Node {
      *            <code>true</code> if this import is static
      */
     public void setStatic(boolean static_) {
+        invalidateHashCodes();
         this.static_ = static_;
     }
 
@@ -24,8 +24,12 @@ package japa.parser.ast;
 import japa.parser.ast.visitor.DumpVisitor;
 import japa.parser.ast.visitor.EqualsVisitor;
 import japa.parser.ast.visitor.GenericVisitor;
+import japa.parser.ast.visitor.HashCodeVisitor;
+import japa.parser.ast.visitor.TreeWalker;
 import japa.parser.ast.visitor.VoidVisitor;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Abstract class for all nodes of the AST.
  * 
@@ -33,6 +37,22 @@ import japa.parser.ast.visitor.VoidVisitor;
  */
 public abstract class Node {
 
+    /**
+     * Counts the structural changes made to any AST. Starts at 1, so that
+     * a hash code that was never computed is never mistaken for a valid one.
+     * <p>The count is global because a node does not know its parent or the
+     * tree it belongs to, so a change cannot be told to the ancestors whose
+     * hash codes it changes. This has a cost: one setter call, on any tree
+     * and in any thread, invalidates the cached hash codes of every node in
+     * the JVM, and the next {@link #hashCode()} of each node walks its whole
+     * subtree again. Every hashCode() also reads this shared counter; the
+     * read is cheap as long as nobody writes it, but each write makes the
+     * threads that hash nodes fetch it again. The parser never calls the
+     * setters, so parsing and hashing on several threads are not affected;
+     * code that edits trees while other threads hash theirs is.</p>
+     */
+    private static final AtomicInteger modifications = new AtomicInteger(1);
+
     private int beginLine;
 
     private int beginColumn;
@@ -46,6 +66,17 @@ public abstract class Node {
      */
     private Object data;
 
+    /**
+     * The cached structural hash code (low 32 bits) and the value of
+     * {@link #modifications} when it was computed (high 32 bits).
+     */
+    private volatile long cachedHashCode;
+
+    /**
+     * The kind of this node, looked up once from its class.
+     */
+    private final NodeKind kind = NodeKind.of(getClass());
+
     public Node() {
     }
 
@@ -83,6 +114,16 @@ public abstract class Node {
      */
     public abstract <A> void accept(VoidVisitor<A> v, A arg);
 
+    /**
+     * Returns the kind of this node. Unlike the class, the kind can index
+     * a table: see {@link NodeKind}.
+     * 
+     * @return the kind of this node
+     */
+    public final NodeKind getKind() {
+        return kind;
+    }
+
     /**
      * Return the begin column of this node.
      * 
@@ -185,9 +226,53 @@ public abstract class Node {
         return visitor.getSource();
     }
 
+    /**
+     * Returns the structural hash code of this node, which is consistent
+     * with {@link #equals(Object)}. It is computed the first time it is
+     * needed and then cached, so hashing a whole tree is linear in its size
+     * and later calls take constant time. Changing any AST invalidates the
+     * cached values.
+     * <p>The nodes below this one whose hash codes are not cached are walked
+     * by a {@link TreeWalker}, and {@link HashCodeVisitor} hashes each of them
+     * on its exit, when the hash codes of its children are already cached.
+     * So the hash code of a deeply nested tree is computed without recursion.</p>
+     */
     @Override
     public final int hashCode() {
-        return toString().hashCode();
+        long cached = cachedHashCode;
+        int stamp = modifications.get();
+        if ((int) (cached >>> 32) == stamp) {
+            return (int) cached;
+        }
+        int hash = 0;
+        TreeWalker walker = new TreeWalker(this);
+        while (walker.hasNext()) {
+            TreeWalker.Event event = walker.next();
+            Node n = walker.getNode();
+            boolean valid = (int) (n.cachedHashCode >>> 32) == stamp;
+            if (event == TreeWalker.Event.ENTER) {
+                if (valid) {
+                    walker.skipChildren();
+                }
+            } else {
+                hash = valid ? (int) n.cachedHashCode : HashCodeVisitor.hashCode(n);
+                n.cachedHashCode = ((long) stamp << 32) | (hash & 0xFFFFFFFFL);
+            }
+        }
+        // the root is the last node to exit
+        return hash;
+    }
+
+    /**
+     * Invalidates the cached hash codes of all nodes. The setters of the
+     * nodes call this method; code that changes a list of child nodes in
+     * place must call it as well.
+     */
+    public static void invalidateHashCodes() {
+        if (modifications.incrementAndGet() == 0) {
+            // skip the value of a hash code that was never computed
+            modifications.incrementAndGet();
+        }
     }
 
     @Override
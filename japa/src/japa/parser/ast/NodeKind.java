@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2008 Jlio Vilmar Gesser.
+ *
+ * This file is part of Java 1.5 parser and Abstract Syntax Tree.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java 1.5 parser and Abstract Syntax Tree.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package japa.parser.ast;
+
+import japa.parser.ast.body.AnnotationDeclaration;
+import japa.parser.ast.body.AnnotationMemberDeclaration;
+import japa.parser.ast.body.ClassOrInterfaceDeclaration;
+import japa.parser.ast.body.ConstructorDeclaration;
+import japa.parser.ast.body.EmptyMemberDeclaration;
+import japa.parser.ast.body.EmptyTypeDeclaration;
+import japa.parser.ast.body.EnumConstantDeclaration;
+import japa.parser.ast.body.EnumDeclaration;
+import japa.parser.ast.body.FieldDeclaration;
+import japa.parser.ast.body.InitializerDeclaration;
+import japa.parser.ast.body.JavadocComment;
+import japa.parser.ast.body.MethodDeclaration;
+import japa.parser.ast.body.Parameter;
+import japa.parser.ast.body.VariableDeclarator;
+import japa.parser.ast.body.VariableDeclaratorId;
+import japa.parser.ast.expr.ArrayAccessExpr;
+import japa.parser.ast.expr.ArrayCreationExpr;
+import japa.parser.ast.expr.ArrayInitializerExpr;
+import japa.parser.ast.expr.AssignExpr;
+import japa.parser.ast.expr.BinaryExpr;
+import japa.parser.ast.expr.BooleanLiteralExpr;
+import japa.parser.ast.expr.CastExpr;
+import japa.parser.ast.expr.CharLiteralExpr;
+import japa.parser.ast.expr.ClassExpr;
+import japa.parser.ast.expr.ConditionalExpr;
+import japa.parser.ast.expr.DoubleLiteralExpr;
+import japa.parser.ast.expr.EnclosedExpr;
+import japa.parser.ast.expr.FieldAccessExpr;
+import japa.parser.ast.expr.InstanceOfExpr;
+import japa.parser.ast.expr.IntegerLiteralExpr;
+import japa.parser.ast.expr.IntegerLiteralMinValueExpr;
+import japa.parser.ast.expr.LongLiteralExpr;
+import japa.parser.ast.expr.LongLiteralMinValueExpr;
+import japa.parser.ast.expr.MarkerAnnotationExpr;
+import japa.parser.ast.expr.MemberValuePair;
+import japa.parser.ast.expr.MethodCallExpr;
+import japa.parser.ast.expr.NameExpr;
+import japa.parser.ast.expr.NormalAnnotationExpr;
+import japa.parser.ast.expr.NullLiteralExpr;
+import japa.parser.ast.expr.ObjectCreationExpr;
+import japa.parser.ast.expr.QualifiedNameExpr;
+import japa.parser.ast.expr.SingleMemberAnnotationExpr;
+import japa.parser.ast.expr.StringLiteralExpr;
+import japa.parser.ast.expr.SuperExpr;
+import japa.parser.ast.expr.ThisExpr;
+import japa.parser.ast.expr.UnaryExpr;
+import japa.parser.ast.expr.VariableDeclarationExpr;
+import japa.parser.ast.stmt.AssertStmt;
+import japa.parser.ast.stmt.BlockStmt;
+import japa.parser.ast.stmt.BreakStmt;
+import japa.parser.ast.stmt.CatchClause;
+import japa.parser.ast.stmt.ContinueStmt;
+import japa.parser.ast.stmt.DoStmt;
+import japa.parser.ast.stmt.EmptyStmt;
+import japa.parser.ast.stmt.ExplicitConstructorInvocationStmt;
+import japa.parser.ast.stmt.ExpressionStmt;
+import japa.parser.ast.stmt.ForStmt;
+import japa.parser.ast.stmt.ForeachStmt;
+import japa.parser.ast.stmt.IfStmt;
+import japa.parser.ast.stmt.LabeledStmt;
+import japa.parser.ast.stmt.ReturnStmt;
+import japa.parser.ast.stmt.SwitchEntryStmt;
+import japa.parser.ast.stmt.SwitchStmt;
+import japa.parser.ast.stmt.SynchronizedStmt;
+import japa.parser.ast.stmt.ThrowStmt;
+import japa.parser.ast.stmt.TryStmt;
+import japa.parser.ast.stmt.TypeDeclarationStmt;
+import japa.parser.ast.stmt.WhileStmt;
+import japa.parser.ast.type.ClassOrInterfaceType;
+import japa.parser.ast.type.PrimitiveType;
+import japa.parser.ast.type.ReferenceType;
+import japa.parser.ast.type.VoidType;
+import japa.parser.ast.type.WildcardType;
+
+/**
+ * <p>The kind of a {@link Node}: one constant per concrete node class, so
+ * that code handling many kinds of nodes can use the {@link #ordinal()} of
+ * {@link Node#getKind()} to index flat arrays of counters, lists or
+ * weights, or to <code>switch</code>, instead of overloading a method per
+ * node class or looking classes up in a map.</p>
+ * <p>The kinds are ordered by the name of their class, with the two
+ * comments last. New kinds are only ever added at the end, so tables
+ * indexed by ordinal keep their meaning.</p>
+ */
+public enum NodeKind {
+
+    ANNOTATION_DECLARATION(AnnotationDeclaration.class),
+    ANNOTATION_MEMBER_DECLARATION(AnnotationMemberDeclaration.class),
+    ARRAY_ACCESS_EXPR(ArrayAccessExpr.class),
+    ARRAY_CREATION_EXPR(ArrayCreationExpr.class),
+    ARRAY_INITIALIZER_EXPR(ArrayInitializerExpr.class),
+    ASSERT_STMT(AssertStmt.class),
+    ASSIGN_EXPR(AssignExpr.class),
+    BINARY_EXPR(BinaryExpr.class),
+    BLOCK_STMT(BlockStmt.class),
+    BOOLEAN_LITERAL_EXPR(BooleanLiteralExpr.class),
+    BREAK_STMT(BreakStmt.class),
+    CAST_EXPR(CastExpr.class),
+    CATCH_CLAUSE(CatchClause.class),
+    CHAR_LITERAL_EXPR(CharLiteralExpr.class),
+    CLASS_EXPR(ClassExpr.class),
+    CLASS_OR_INTERFACE_DECLARATION(ClassOrInterfaceDeclaration.class),
+    CLASS_OR_INTERFACE_TYPE(ClassOrInterfaceType.class),
+    COMPILATION_UNIT(CompilationUnit.class),
+    CONDITIONAL_EXPR(ConditionalExpr.class),
+    CONSTRUCTOR_DECLARATION(ConstructorDeclaration.class),
+    CONTINUE_STMT(ContinueStmt.class),
+    DO_STMT(DoStmt.class),
+    DOUBLE_LITERAL_EXPR(DoubleLiteralExpr.class),
+    EMPTY_MEMBER_DECLARATION(EmptyMemberDeclaration.class),
+    EMPTY_STMT(EmptyStmt.class),
+    EMPTY_TYPE_DECLARATION(EmptyTypeDeclaration.class),
+    ENCLOSED_EXPR(EnclosedExpr.class),
+    ENUM_CONSTANT_DECLARATION(EnumConstantDeclaration.class),
+    ENUM_DECLARATION(EnumDeclaration.class),
+    EXPLICIT_CONSTRUCTOR_INVOCATION_STMT(ExplicitConstructorInvocationStmt.class),
+    EXPRESSION_STMT(ExpressionStmt.class),
+    FIELD_ACCESS_EXPR(FieldAccessExpr.class),
+    FIELD_DECLARATION(FieldDeclaration.class),
+    FOREACH_STMT(ForeachStmt.class),
+    FOR_STMT(ForStmt.class),
+    IF_STMT(IfStmt.class),
+    IMPORT_DECLARATION(ImportDeclaration.class),
+    INITIALIZER_DECLARATION(InitializerDeclaration.class),
+    INSTANCE_OF_EXPR(InstanceOfExpr.class),
+    INTEGER_LITERAL_EXPR(IntegerLiteralExpr.class),
+    INTEGER_LITERAL_MIN_VALUE_EXPR(IntegerLiteralMinValueExpr.class),
+    JAVADOC_COMMENT(JavadocComment.class),
+    LABELED_STMT(LabeledStmt.class),
+    LONG_LITERAL_EXPR(LongLiteralExpr.class),
+    LONG_LITERAL_MIN_VALUE_EXPR(LongLiteralMinValueExpr.class),
+    MARKER_ANNOTATION_EXPR(MarkerAnnotationExpr.class),
+    MEMBER_VALUE_PAIR(MemberValuePair.class),
+    METHOD_CALL_EXPR(MethodCallExpr.class),
+    METHOD_DECLARATION(MethodDeclaration.class),
+    NAME_EXPR(NameExpr.class),
+    NORMAL_ANNOTATION_EXPR(NormalAnnotationExpr.class),
+    NULL_LITERAL_EXPR(NullLiteralExpr.class),
+    OBJECT_CREATION_EXPR(ObjectCreationExpr.class),
+    PACKAGE_DECLARATION(PackageDeclaration.class),
+    PARAMETER(Parameter.class),
+    PRIMITIVE_TYPE(PrimitiveType.class),
+    QUALIFIED_NAME_EXPR(QualifiedNameExpr.class),
+    REFERENCE_TYPE(ReferenceType.class),
+    RETURN_STMT(ReturnStmt.class),
+    SINGLE_MEMBER_ANNOTATION_EXPR(SingleMemberAnnotationExpr.class),
+    STRING_LITERAL_EXPR(StringLiteralExpr.class),
+    SUPER_EXPR(SuperExpr.class),
+    SWITCH_ENTRY_STMT(SwitchEntryStmt.class),
+    SWITCH_STMT(SwitchStmt.class),
+    SYNCHRONIZED_STMT(SynchronizedStmt.class),
+    THIS_EXPR(ThisExpr.class),
+    THROW_STMT(ThrowStmt.class),
+    TRY_STMT(TryStmt.class),
+    TYPE_DECLARATION_STMT(TypeDeclarationStmt.class),
+    TYPE_PARAMETER(TypeParameter.class),
+    UNARY_EXPR(UnaryExpr.class),
+    VARIABLE_DECLARATION_EXPR(VariableDeclarationExpr.class),
+    VARIABLE_DECLARATOR(VariableDeclarator.class),
+    VARIABLE_DECLARATOR_ID(VariableDeclaratorId.class),
+    VOID_TYPE(VoidType.class),
+    WHILE_STMT(WhileStmt.class),
+    WILDCARD_TYPE(WildcardType.class),
+    BLOCK_COMMENT(BlockComment.class),
+    LINE_COMMENT(LineComment.class);
+
+    /**
+     * The number of kinds, i.e. the length of a table indexed by ordinal.
+     */
+    public static final int COUNT = values().length;
+
+    private static final ClassValue<NodeKind> KINDS = new ClassValue<NodeKind>() {
+        @Override
+        protected NodeKind computeValue(Class<?> type) {
+            // a subclass of a node class has the kind of that class
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (NodeKind kind : values()) {
+                    if (kind.type == c) {
+                        return kind;
+                    }
+                }
+            }
+            return null;
+        }
+    };
+
+    private final Class<? extends Node> type;
+
+    private NodeKind(Class<? extends Node> type) {
+        this.type = type;
+    }
+
+    /**
+     * @return the node class of this kind
+     */
+    public Class<? extends Node> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the kind of the nodes of the given class.
+     * @param type a node class
+     * @return its kind, or <code>null</code> if it is not a concrete node class
+     */
+    public static NodeKind of(Class<?> type) {
+        return KINDS.get(type);
+    }
+}
@@ -106,6 +106,7 @@ public final class PackageDeclaration extends Node {
      *            the annotations to set
      */
     public void setAnnotations(List<AnnotationExpr> annotations) {
+        invalidateHashCodes();
         this.annotations = annotations;
     }
 
@@ -116,6 +117,7 @@ public final class PackageDeclaration extends Node {
      *            the name to set
      */
     public void setName(NameExpr name) {
+        invalidateHashCodes();
         this.name = name;
     }
 
@@ -102,6 +102,7 @@ public final class TypeParameter extends Node {
      *            the name to set
      */
     public void setName(String name) {
+        invalidateHashCodes();
         this.name = name;
     }
 
@@ -112,6 +113,7 @@ public final class TypeParameter extends Node {
      *            the typeBound to set
      */
     public void setTypeBound(List<ClassOrInterfaceType> typeBound) {
+        invalidateHashCodes();
         this.typeBound = typeBound;
     }
 
@@ -101,18 +101,22 @@ public final class AnnotationMemberDeclaration extends BodyDeclaration {
     }
 
     public void setDefaultValue(Expression defaultValue) {
+        invalidateHashCodes();
         this.defaultValue = defaultValue;
     }
 
     public void setModifiers(int modifiers) {
+        invalidateHashCodes();
         this.modifiers = modifiers;
     }
 
     public void setName(String name) {
+        invalidateHashCodes();
         this.name = name;
     }
 
     public void setType(Type type) {
+        invalidateHashCodes();
         this.type = type;
     }
 }
@@ -93,18 +93,22 @@ public final class ClassOrInterfaceDeclaration extends TypeDeclaration {
     }
 
     public void setExtends(List<ClassOrInterfaceType> extendsList) {
+        invalidateHashCodes();
         this.extendsList = extendsList;
     }
 
     public void setImplements(List<ClassOrInterfaceType> implementsList) {
+        invalidateHashCodes();
         this.implementsList = implementsList;
     }
 
     public void setInterface(boolean interface_) {
+        invalidateHashCodes();
         this.interface_ = interface_;
     }
 
     public void setTypeParameters(List<TypeParameter> typeParameters) {
+        invalidateHashCodes();
         this.typeParameters = typeParameters;
     }
 }
@@ -116,26 +116,32 @@ public final class ConstructorDeclaration extends BodyDeclaration {
     }
 
     public void setBlock(BlockStmt block) {
+        invalidateHashCodes();
         this.block = block;
     }
 
     public void setModifiers(int modifiers) {
+        invalidateHashCodes();
         this.modifiers = modifiers;
     }
 
     public void setName(String name) {
+        invalidateHashCodes();
         this.name = name;
     }
 
     public void setParameters(List<Parameter> parameters) {
+        invalidateHashCodes();
         this.parameters = parameters;
     }
 
     public void setThrows(List<NameExpr> throws_) {
+        invalidateHashCodes();
         this.throws_ = throws_;
     }
 
     public void setTypeParameters(List<TypeParameter> typeParameters) {
+        invalidateHashCodes();
         this.typeParameters = typeParameters;
     }
 }
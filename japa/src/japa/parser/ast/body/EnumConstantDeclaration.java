@@ -83,14 +83,17 @@ public final class EnumConstantDeclaration extends BodyDeclaration {
     }
 
     public void setArgs(List<Expression> args) {
+        invalidateHashCodes();
         this.args = args;
     }
 
     public void setClassBody(List<BodyDeclaration> classBody) {
+        invalidateHashCodes();
         this.classBody = classBody;
     }
 
     public void setName(String name) {
+        invalidateHashCodes();
         this.name = name;
     }
 }
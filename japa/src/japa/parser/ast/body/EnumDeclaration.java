@@ -75,10 +75,12 @@ public final class EnumDeclaration extends TypeDeclaration {
     }
 
     public void setEntries(List<EnumConstantDeclaration> entries) {
+        invalidateHashCodes();
         this.entries = entries;
     }
 
     public void setImplements(List<ClassOrInterfaceType> implementsList) {
+        invalidateHashCodes();
         this.implementsList = implementsList;
     }
 }
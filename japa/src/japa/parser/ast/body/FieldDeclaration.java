@@ -99,14 +99,17 @@ public final class FieldDeclaration extends BodyDeclaration {
     }
 
     public void setModifiers(int modifiers) {
+        invalidateHashCodes();
         this.modifiers = modifiers;
     }
 
     public void setType(Type type) {
+        invalidateHashCodes();
         this.type = type;
     }
 
     public void setVariables(List<VariableDeclarator> variables) {
+        invalidateHashCodes();
         this.variables = variables;
     }
 }
@@ -73,10 +73,12 @@ public final class InitializerDeclaration extends BodyDeclaration {
     }
 
     public void setBlock(BlockStmt block) {
+        invalidateHashCodes();
         this.block = block;
     }
 
     public void setStatic(boolean isStatic) {
+        invalidateHashCodes();
         this.isStatic = isStatic;
     }
 }
@@ -141,34 +141,42 @@ public final class MethodDeclaration extends BodyDeclaration {
     }
 
     public void setArrayCount(int arrayCount) {
+        invalidateHashCodes();
         this.arrayCount = arrayCount;
     }
 
     public void setBody(BlockStmt body) {
+        invalidateHashCodes();
         this.body = body;
     }
 
     public void setModifiers(int modifiers) {
+        invalidateHashCodes();
         this.modifiers = modifiers;
     }
 
     public void setName(String name) {
+        invalidateHashCodes();
         this.name = name;
     }
 
     public void setParameters(List<Parameter> parameters) {
+        invalidateHashCodes();
         this.parameters = parameters;
     }
 
     public void setThrows(List<NameExpr> throws_) {
+        invalidateHashCodes();
         this.throws_ = throws_;
     }
 
     public void setType(Type type) {
+        invalidateHashCodes();
         this.type = type;
     }
 
     public void setTypeParameters(List<TypeParameter> typeParameters) {
+        invalidateHashCodes();
         this.typeParameters = typeParameters;
     }
 }
@@ -104,22 +104,27 @@ public final class Parameter extends Node {
     }
 
     public void setAnnotations(List<AnnotationExpr> annotations) {
+        invalidateHashCodes();
         this.annotations = annotations;
     }
 
     public void setId(VariableDeclaratorId id) {
+        invalidateHashCodes();
         this.id = id;
     }
 
     public void setModifiers(int modifiers) {
+        invalidateHashCodes();
         this.modifiers = modifiers;
     }
 
     public void setType(Type type) {
+        invalidateHashCodes();
         this.type = type;
     }
 
     public void setVarArgs(boolean isVarArgs) {
+        invalidateHashCodes();
         this.isVarArgs = isVarArgs;
     }
 }
@@ -77,6 +77,7 @@ public abstract class TypeDeclaration extends BodyDeclaration {
     }
 
     public void setMembers(List<BodyDeclaration> members) {
+        invalidateHashCodes();
         this.members = members;
     }
 
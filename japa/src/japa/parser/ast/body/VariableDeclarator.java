@@ -72,10 +72,12 @@ public final class VariableDeclarator extends Node {
     }
 
     public void setId(VariableDeclaratorId id) {
+        invalidateHashCodes();
         this.id = id;
     }
 
     public void setInit(Expression init) {
+        invalidateHashCodes();
         this.init = init;
     }
 
@@ -66,10 +66,12 @@ public final class VariableDeclaratorId extends Node {
     }
 
     public void setArrayCount(int arrayCount) {
+        invalidateHashCodes();
         this.arrayCount = arrayCount;
     }
 
     public void setName(String name) {
+        invalidateHashCodes();
         this.name = name;
     }
 
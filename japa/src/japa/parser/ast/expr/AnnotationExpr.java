@@ -40,6 +40,7 @@ public abstract class AnnotationExpr extends Expression {
     }
 
     public void setName(NameExpr name) {
+        invalidateHashCodes();
         this.name = name;
     }
 
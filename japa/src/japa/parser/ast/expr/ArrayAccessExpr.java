@@ -66,10 +66,12 @@ public final class ArrayAccessExpr extends Expression {
     }
 
     public void setIndex(Expression index) {
+        invalidateHashCodes();
         this.index = index;
     }
 
     public void setName(Expression name) {
+        invalidateHashCodes();
         this.name = name;
     }
 
@@ -100,18 +100,22 @@ public final class ArrayCreationExpr extends Expression {
     }
 
     public void setArrayCount(int arrayCount) {
+        invalidateHashCodes();
         this.arrayCount = arrayCount;
     }
 
     public void setDimensions(List<Expression> dimensions) {
+        invalidateHashCodes();
         this.dimensions = dimensions;
     }
 
     public void setInitializer(ArrayInitializerExpr initializer) {
+        invalidateHashCodes();
         this.initializer = initializer;
     }
 
     public void setType(Type type) {
+        invalidateHashCodes();
         this.type = type;
     }
 
@@ -60,6 +60,7 @@ public final class ArrayInitializerExpr extends Expression {
     }
 
     public void setValues(List<Expression> values) {
+        invalidateHashCodes();
         this.values = values;
     }
 
@@ -89,14 +89,17 @@ public final class AssignExpr extends Expression {
     }
 
     public void setOperator(Operator op) {
+        invalidateHashCodes();
         this.op = op;
     }
 
     public void setTarget(Expression target) {
+        invalidateHashCodes();
         this.target = target;
     }
 
     public void setValue(Expression value) {
+        invalidateHashCodes();
         this.value = value;
     }
 
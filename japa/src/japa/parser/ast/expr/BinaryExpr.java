@@ -96,14 +96,17 @@ public final class BinaryExpr extends Expression {
     }
 
     public void setLeft(Expression left) {
+        invalidateHashCodes();
         this.left = left;
     }
 
     public void setOperator(Operator op) {
+        invalidateHashCodes();
         this.op = op;
     }
 
     public void setRight(Expression right) {
+        invalidateHashCodes();
         this.right = right;
     }
 
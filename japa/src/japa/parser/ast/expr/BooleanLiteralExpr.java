@@ -58,6 +58,7 @@ public final class BooleanLiteralExpr extends LiteralExpr {
     }
 
     public void setValue(boolean value) {
+        invalidateHashCodes();
         this.value = value;
     }
 }
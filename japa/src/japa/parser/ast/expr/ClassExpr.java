@@ -59,6 +59,7 @@ public final class ClassExpr extends Expression {
     }
 
     public void setType(Type type) {
+        invalidateHashCodes();
         this.type = type;
     }
 
@@ -74,14 +74,17 @@ public final class ConditionalExpr extends Expression {
     }
 
     public void setCondition(Expression condition) {
+        invalidateHashCodes();
         this.condition = condition;
     }
 
     public void setElseExpr(Expression elseExpr) {
+        invalidateHashCodes();
         this.elseExpr = elseExpr;
     }
 
     public void setThenExpr(Expression thenExpr) {
+        invalidateHashCodes();
         this.thenExpr = thenExpr;
     }
 
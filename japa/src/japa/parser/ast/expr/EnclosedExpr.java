@@ -58,6 +58,7 @@ public final class EnclosedExpr extends Expression {
     }
 
     public void setInner(Expression inner) {
+        invalidateHashCodes();
         this.inner = inner;
     }
 
@@ -76,14 +76,17 @@ public final class FieldAccessExpr extends Expression {
     }
 
     public void setField(String field) {
+        invalidateHashCodes();
         this.field = field;
     }
 
     public void setScope(Expression scope) {
+        invalidateHashCodes();
         this.scope = scope;
     }
 
     public void setTypeArgs(List<Type> typeArgs) {
+        invalidateHashCodes();
         this.typeArgs = typeArgs;
     }
 
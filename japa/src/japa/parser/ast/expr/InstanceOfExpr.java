@@ -67,10 +67,12 @@ public final class InstanceOfExpr extends Expression {
     }
 
     public void setExpr(Expression expr) {
+        invalidateHashCodes();
         this.expr = expr;
     }
 
     public void setType(Type type) {
+        invalidateHashCodes();
         this.type = type;
     }
 
@@ -67,10 +67,12 @@ public final class MemberValuePair extends Node {
     }
 
     public void setName(String name) {
+        invalidateHashCodes();
         this.name = name;
     }
 
     public void setValue(Expression value) {
+        invalidateHashCodes();
         this.value = value;
     }
 
@@ -89,18 +89,22 @@ public final class MethodCallExpr extends Expression {
     }
 
     public void setArgs(List<Expression> args) {
+        invalidateHashCodes();
         this.args = args;
     }
 
     public void setName(String name) {
+        invalidateHashCodes();
         this.name = name;
     }
 
     public void setScope(Expression scope) {
+        invalidateHashCodes();
         this.scope = scope;
     }
 
     public void setTypeArgs(List<Type> typeArgs) {
+        invalidateHashCodes();
         this.typeArgs = typeArgs;
     }
 
@@ -62,6 +62,7 @@ public final class NormalAnnotationExpr extends AnnotationExpr {
     }
 
     public void setPairs(List<MemberValuePair> pairs) {
+        invalidateHashCodes();
         this.pairs = pairs;
     }
 
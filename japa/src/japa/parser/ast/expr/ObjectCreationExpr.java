@@ -93,22 +93,27 @@ public final class ObjectCreationExpr extends Expression {
     }
 
     public void setAnonymousClassBody(List<BodyDeclaration> anonymousClassBody) {
+        invalidateHashCodes();
         this.anonymousClassBody = anonymousClassBody;
     }
 
     public void setArgs(List<Expression> args) {
+        invalidateHashCodes();
         this.args = args;
     }
 
     public void setScope(Expression scope) {
+        invalidateHashCodes();
         this.scope = scope;
     }
 
     public void setType(ClassOrInterfaceType type) {
+        invalidateHashCodes();
         this.type = type;
     }
 
     public void setTypeArgs(List<Type> typeArgs) {
+        invalidateHashCodes();
         this.typeArgs = typeArgs;
     }
 
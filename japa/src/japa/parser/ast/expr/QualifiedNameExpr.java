@@ -59,6 +59,7 @@ public final class QualifiedNameExpr extends NameExpr {
     }
 
     public void setQualifier(NameExpr qualifier) {
+        invalidateHashCodes();
         this.qualifier = qualifier;
     }
 
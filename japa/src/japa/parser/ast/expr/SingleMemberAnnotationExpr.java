@@ -60,6 +60,7 @@ public final class SingleMemberAnnotationExpr extends AnnotationExpr {
     }
 
     public void setMemberValue(Expression memberValue) {
+        invalidateHashCodes();
         this.memberValue = memberValue;
     }
 
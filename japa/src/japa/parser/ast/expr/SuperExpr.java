@@ -58,6 +58,7 @@ public final class SuperExpr extends Expression {
     }
 
     public void setClassExpr(Expression classExpr) {
+        invalidateHashCodes();
         this.classExpr = classExpr;
     }
 
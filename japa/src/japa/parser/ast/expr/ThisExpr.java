@@ -58,6 +58,7 @@ public final class ThisExpr extends Expression {
     }
 
     public void setClassExpr(Expression classExpr) {
+        invalidateHashCodes();
         this.classExpr = classExpr;
     }
 
@@ -77,10 +77,12 @@ public final class UnaryExpr extends Expression {
     }
 
     public void setExpr(Expression expr) {
+        invalidateHashCodes();
         this.expr = expr;
     }
 
     public void setOperator(Operator op) {
+        invalidateHashCodes();
         this.op = op;
     }
 
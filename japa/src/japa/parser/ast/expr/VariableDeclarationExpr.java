@@ -97,18 +97,22 @@ public final class VariableDeclarationExpr extends Expression {
     }
 
     public void setAnnotations(List<AnnotationExpr> annotations) {
+        invalidateHashCodes();
         this.annotations = annotations;
     }
 
     public void setModifiers(int modifiers) {
+        invalidateHashCodes();
         this.modifiers = modifiers;
     }
 
     public void setType(Type type) {
+        invalidateHashCodes();
         this.type = type;
     }
 
     public void setVars(List<VariableDeclarator> vars) {
+        invalidateHashCodes();
         this.vars = vars;
     }
 }
@@ -71,10 +71,12 @@ public final class AssertStmt extends Statement {
     }
 
     public void setCheck(Expression check) {
+        invalidateHashCodes();
         this.check = check;
     }
 
     public void setMessage(Expression msg) {
+        invalidateHashCodes();
         this.msg = msg;
     }
 }
@@ -60,6 +60,7 @@ public final class BlockStmt extends Statement {
     }
 
     public void setStmts(List<Statement> stmts) {
+        invalidateHashCodes();
         this.stmts = stmts;
     }
 }
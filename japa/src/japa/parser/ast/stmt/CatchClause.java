@@ -68,10 +68,12 @@ public final class CatchClause extends Node {
     }
 
     public void setCatchBlock(BlockStmt catchBlock) {
+        invalidateHashCodes();
         this.catchBlock = catchBlock;
     }
 
     public void setExcept(Parameter except) {
+        invalidateHashCodes();
         this.except = except;
     }
 }
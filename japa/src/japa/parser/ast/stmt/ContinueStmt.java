@@ -58,6 +58,7 @@ public final class ContinueStmt extends Statement {
     }
 
     public void setId(String id) {
+        invalidateHashCodes();
         this.id = id;
     }
 }
@@ -67,10 +67,12 @@ public final class DoStmt extends Statement {
     }
 
     public void setBody(Statement body) {
+        invalidateHashCodes();
         this.body = body;
     }
 
     public void setCondition(Expression condition) {
+        invalidateHashCodes();
         this.condition = condition;
     }
 }
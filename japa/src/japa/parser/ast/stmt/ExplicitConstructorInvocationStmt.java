@@ -85,18 +85,22 @@ public final class ExplicitConstructorInvocationStmt extends Statement {
     }
 
     public void setArgs(List<Expression> args) {
+        invalidateHashCodes();
         this.args = args;
     }
 
     public void setExpr(Expression expr) {
+        invalidateHashCodes();
         this.expr = expr;
     }
 
     public void setThis(boolean isThis) {
+        invalidateHashCodes();
         this.isThis = isThis;
     }
 
     public void setTypeArgs(List<Type> typeArgs) {
+        invalidateHashCodes();
         this.typeArgs = typeArgs;
     }
 }
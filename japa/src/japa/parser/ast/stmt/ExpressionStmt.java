@@ -59,6 +59,7 @@ public final class ExpressionStmt extends Statement {
     }
 
     public void setExpression(Expression expr) {
+        invalidateHashCodes();
         this.expr = expr;
     }
 }
@@ -85,18 +85,22 @@ public final class ForStmt extends Statement {
     }
 
     public void setBody(Statement body) {
+        invalidateHashCodes();
         this.body = body;
     }
 
     public void setCompare(Expression compare) {
+        invalidateHashCodes();
         this.compare = compare;
     }
 
     public void setInit(List<Expression> init) {
+        invalidateHashCodes();
         this.init = init;
     }
 
     public void setUpdate(List<Expression> update) {
+        invalidateHashCodes();
         this.update = update;
     }
 }
@@ -76,14 +76,17 @@ public final class ForeachStmt extends Statement {
     }
 
     public void setBody(Statement body) {
+        invalidateHashCodes();
         this.body = body;
     }
 
     public void setIterable(Expression iterable) {
+        invalidateHashCodes();
         this.iterable = iterable;
     }
 
     public void setVariable(VariableDeclarationExpr var) {
+        invalidateHashCodes();
         this.var = var;
     }
 }
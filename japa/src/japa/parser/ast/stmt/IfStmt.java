@@ -75,14 +75,17 @@ public final class IfStmt extends Statement {
     }
 
     public void setCondition(Expression condition) {
+        invalidateHashCodes();
         this.condition = condition;
     }
 
     public void setElseStmt(Statement elseStmt) {
+        invalidateHashCodes();
         this.elseStmt = elseStmt;
     }
 
     public void setThenStmt(Statement thenStmt) {
+        invalidateHashCodes();
         this.thenStmt = thenStmt;
     }
 }
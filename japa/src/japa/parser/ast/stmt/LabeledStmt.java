@@ -66,10 +66,12 @@ public final class LabeledStmt extends Statement {
     }
 
     public void setLabel(String label) {
+        invalidateHashCodes();
         this.label = label;
     }
 
     public void setStmt(Statement stmt) {
+        invalidateHashCodes();
         this.stmt = stmt;
     }
 }
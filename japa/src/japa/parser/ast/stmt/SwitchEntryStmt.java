@@ -69,10 +69,12 @@ public final class SwitchEntryStmt extends Statement {
     }
 
     public void setLabel(Expression label) {
+        invalidateHashCodes();
         this.label = label;
     }
 
     public void setStmts(List<Statement> stmts) {
+        invalidateHashCodes();
         this.stmts = stmts;
     }
 }
@@ -69,10 +69,12 @@ public final class SwitchStmt extends Statement {
     }
 
     public void setEntries(List<SwitchEntryStmt> entries) {
+        invalidateHashCodes();
         this.entries = entries;
     }
 
     public void setSelector(Expression selector) {
+        invalidateHashCodes();
         this.selector = selector;
     }
 }
@@ -67,10 +67,12 @@ public final class SynchronizedStmt extends Statement {
     }
 
     public void setBlock(BlockStmt block) {
+        invalidateHashCodes();
         this.block = block;
     }
 
     public void setExpr(Expression expr) {
+        invalidateHashCodes();
         this.expr = expr;
     }
 
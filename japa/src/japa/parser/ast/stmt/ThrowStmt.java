@@ -59,6 +59,7 @@ public final class ThrowStmt extends Statement {
     }
 
     public void setExpr(Expression expr) {
+        invalidateHashCodes();
         this.expr = expr;
     }
 }
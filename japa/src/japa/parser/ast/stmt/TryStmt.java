@@ -76,14 +76,17 @@ public final class TryStmt extends Statement {
     }
 
     public void setCatchs(List<CatchClause> catchs) {
+        invalidateHashCodes();
         this.catchs = catchs;
     }
 
     public void setFinallyBlock(BlockStmt finallyBlock) {
+        invalidateHashCodes();
         this.finallyBlock = finallyBlock;
     }
 
     public void setTryBlock(BlockStmt tryBlock) {
+        invalidateHashCodes();
         this.tryBlock = tryBlock;
     }
 }
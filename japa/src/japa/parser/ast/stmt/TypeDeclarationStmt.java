@@ -59,6 +59,7 @@ public final class TypeDeclarationStmt extends Statement {
     }
 
     public void setTypeDeclaration(TypeDeclaration typeDecl) {
+        invalidateHashCodes();
         this.typeDecl = typeDecl;
     }
 }
@@ -79,14 +79,17 @@ public final class ClassOrInterfaceType extends Type {
     }
 
     public void setName(String name) {
+        invalidateHashCodes();
         this.name = name;
     }
 
     public void setScope(ClassOrInterfaceType scope) {
+        invalidateHashCodes();
         this.scope = scope;
     }
 
     public void setTypeArgs(List<Type> typeArgs) {
+        invalidateHashCodes();
         this.typeArgs = typeArgs;
     }
 }
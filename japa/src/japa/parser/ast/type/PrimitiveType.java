@@ -62,6 +62,7 @@ public final class PrimitiveType extends Type {
     }
 
     public void setType(Primitive type) {
+        invalidateHashCodes();
         this.type = type;
     }
 
@@ -70,10 +70,12 @@ public final class ReferenceType extends Type {
     }
 
     public void setArrayCount(int arrayCount) {
+        invalidateHashCodes();
         this.arrayCount = arrayCount;
     }
 
     public void setType(Type type) {
+        invalidateHashCodes();
         this.type = type;
     }
 
@@ -70,10 +70,12 @@ public final class WildcardType extends Type {
     }
 
     public void setExtends(ReferenceType ext) {
+        invalidateHashCodes();
         this.ext = ext;
     }
 
     public void setSuper(ReferenceType sup) {
+        invalidateHashCodes();
         this.sup = sup;
     }
 
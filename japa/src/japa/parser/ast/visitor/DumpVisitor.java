@@ -25,6 +25,7 @@ import japa.parser.ast.BlockComment;
 import japa.parser.ast.CompilationUnit;
 import japa.parser.ast.ImportDeclaration;
 import japa.parser.ast.LineComment;
+import japa.parser.ast.Node;
 import japa.parser.ast.PackageDeclaration;
 import japa.parser.ast.TypeParameter;
 import japa.parser.ast.body.AnnotationDeclaration;
@@ -108,10 +109,18 @@ import japa.parser.ast.type.Type;
 import japa.parser.ast.type.VoidType;
 import japa.parser.ast.type.WildcardType;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
 /**
+ * Prints the source code of a node. By default the source is built in
+ * memory and returned by {@link #getSource()}; a visitor created with an
+ * {@link Appendable} writes the source to it as it goes instead, so that
+ * large units can be printed to a file or a hashing sink without building
+ * the whole source as a string.
+ *
  * @author Julio Vilmar Gesser
  */
 
@@ -119,11 +128,30 @@ public final class DumpVisitor implements VoidVisitor<Object> {
 
     private static class SourcePrinter {
 
+        // the indentation of the first levels, shared by all printers
+        private static final String[] INDENTS = new String[16];
+
+        static {
+            INDENTS[0] = "";
+            for (int i = 1; i < INDENTS.length; i++) {
+                INDENTS[i] = INDENTS[i - 1] + "    ";
+            }
+        }
+
         private int level = 0;
 
         private boolean indented = false;
 
-        private final StringBuilder buf = new StringBuilder();
+        private final Appendable out;
+
+        private final StringBuilder buf;
+
+        private IOException error;
+
+        SourcePrinter(Appendable out) {
+            this.out = out;
+            this.buf = out instanceof StringBuilder ? (StringBuilder) out : null;
+        }
 
         public void indent() {
             level++;
@@ -134,8 +162,23 @@ public final class DumpVisitor implements VoidVisitor<Object> {
         }
 
         private void makeIndent() {
-            for (int i = 0; i < level; i++) {
-                buf.append("    ");
+            int i = level;
+            for (; i >= INDENTS.length; i -= INDENTS.length - 1) {
+                append(INDENTS[INDENTS.length - 1]);
+            }
+            append(INDENTS[i]);
+        }
+
+        private void append(String s) {
+            if (buf != null) {
+                buf.append(s);
+            } else if (error == null) {
+                try {
+                    out.append(s);
+                } catch (IOException e) {
+                    // remember the first error, and stop writing
+                    error = e;
+                }
             }
         }
 
@@ -144,7 +187,7 @@ public final class DumpVisitor implements VoidVisitor<Object> {
                 makeIndent();
                 indented = true;
             }
-            buf.append(arg);
+            append(arg);
         }
 
         public void printLn(String arg) {
@@ -153,12 +196,12 @@ public final class DumpVisitor implements VoidVisitor<Object> {
         }
 
         public void printLn() {
-            buf.append("\n");
+            append("\n");
             indented = false;
         }
 
         public String getSource() {
-            return buf.toString();
+            return buf == null ? null : buf.toString();
         }
 
         @Override
@@ -167,12 +210,58 @@ public final class DumpVisitor implements VoidVisitor<Object> {
         }
     }
 
-    private final SourcePrinter printer = new SourcePrinter();
+    private final SourcePrinter printer;
+
+    /**
+     * Creates a visitor that builds the source code in memory.
+     */
+    public DumpVisitor() {
+        this(new StringBuilder());
+    }
+
+    /**
+     * Creates a visitor that writes the source code to <code>out</code> as it
+     * visits the nodes. The first {@link IOException} thrown by
+     * <code>out</code> stops the printing, see {@link #getError()}.
+     * 
+     * @param out where the source code is written
+     */
+    public DumpVisitor(Appendable out) {
+        printer = new SourcePrinter(out);
+    }
+
+    /**
+     * Writes the source code of a node to <code>out</code>, without building
+     * it as a string.
+     * 
+     * @param n the node to print
+     * @param out where the source code is written
+     * @throws IOException if <code>out</code> could not be written
+     */
+    public static void dump(Node n, Appendable out) throws IOException {
+        DumpVisitor visitor = new DumpVisitor(out);
+        n.accept(visitor, null);
+        if (visitor.getError() != null) {
+            throw visitor.getError();
+        }
+    }
 
+    /**
+     * @return the source code printed so far, or <code>null</code> if it is
+     *         written to an {@link Appendable} other than a {@link StringBuilder}
+     */
     public String getSource() {
         return printer.getSource();
     }
 
+    /**
+     * @return the first {@link IOException} thrown by the {@link Appendable}
+     *         the source code is written to, or <code>null</code>
+     */
+    public IOException getError() {
+        return printer.error;
+    }
+
     private void printModifiers(int modifiers) {
         if (ModifierSet.isPrivate(modifiers)) {
             printer.print("private ");
@@ -590,9 +679,23 @@ public final class DumpVisitor implements VoidVisitor<Object> {
     }
 
     public void visit(BinaryExpr n, Object arg) {
-        n.getLeft().accept(this, arg);
-        printer.print(" ");
-        switch (n.getOperator()) {
+        // a + b + c nests to the left, so the left operands of a long chain are printed without recursion
+        List<BinaryExpr> chain = new ArrayList<BinaryExpr>();
+        for (Expression e = n; e instanceof BinaryExpr; e = ((BinaryExpr) e).getLeft()) {
+            chain.add((BinaryExpr) e);
+        }
+        chain.get(chain.size() - 1).getLeft().accept(this, arg);
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            BinaryExpr b = chain.get(i);
+            printer.print(" ");
+            printOperator(b.getOperator());
+            printer.print(" ");
+            b.getRight().accept(this, arg);
+        }
+    }
+
+    private void printOperator(BinaryExpr.Operator operator) {
+        switch (operator) {
             case or:
                 printer.print("||");
                 break;
@@ -651,8 +754,6 @@ public final class DumpVisitor implements VoidVisitor<Object> {
                 printer.print("%");
                 break;
         }
-        printer.print(" ");
-        n.getRight().accept(this, arg);
     }
 
     public void visit(CastExpr n, Object arg) {
@@ -750,13 +851,25 @@ public final class DumpVisitor implements VoidVisitor<Object> {
     }
 
     public void visit(MethodCallExpr n, Object arg) {
-        if (n.getScope() != null) {
-            n.getScope().accept(this, arg);
+        // b.x().y().z() nests to the left, so the calls of a long chain are printed without recursion
+        List<MethodCallExpr> chain = new ArrayList<MethodCallExpr>();
+        for (Expression e = n; e instanceof MethodCallExpr; e = ((MethodCallExpr) e).getScope()) {
+            chain.add((MethodCallExpr) e);
+        }
+        Expression scope = chain.get(chain.size() - 1).getScope();
+        if (scope != null) {
+            scope.accept(this, arg);
             printer.print(".");
         }
-        printTypeArgs(n.getTypeArgs(), arg);
-        printer.print(n.getName());
-        printArguments(n.getArgs(), arg);
+        for (int i = chain.size() - 1; i >= 0; i--) {
+            MethodCallExpr call = chain.get(i);
+            printTypeArgs(call.getTypeArgs(), arg);
+            printer.print(call.getName());
+            printArguments(call.getArgs(), arg);
+            if (i > 0) {
+                printer.print(".");
+            }
+        }
     }
 
     public void visit(ObjectCreationExpr n, Object arg) {
@@ -1114,13 +1227,21 @@ public final class DumpVisitor implements VoidVisitor<Object> {
     }
 
     public void visit(IfStmt n, Object arg) {
-        printer.print("if (");
-        n.getCondition().accept(this, arg);
-        printer.print(") ");
-        n.getThenStmt().accept(this, arg);
-        if (n.getElseStmt() != null) {
-            printer.print(" else ");
-            n.getElseStmt().accept(this, arg);
+        // else if nests in the else branch, so a long chain is printed in a loop
+        Statement elseStmt = n;
+        while (elseStmt instanceof IfStmt) {
+            IfStmt s = (IfStmt) elseStmt;
+            printer.print("if (");
+            s.getCondition().accept(this, arg);
+            printer.print(") ");
+            s.getThenStmt().accept(this, arg);
+            elseStmt = s.getElseStmt();
+            if (elseStmt != null) {
+                printer.print(" else ");
+            }
+        }
+        if (elseStmt != null) {
+            elseStmt.accept(this, arg);
         }
     }
 
@@ -84,6 +84,7 @@ import japa.parser.ast.type.ReferenceType;
 import japa.parser.ast.type.VoidType;
 import japa.parser.ast.type.WildcardType;
 
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -91,16 +92,61 @@ import java.util.List;
  */
 public class EqualsVisitor implements GenericVisitor<Boolean, Node> {
 
-    private static final EqualsVisitor SINGLETON = new EqualsVisitor();
+    private static final ThreadLocal<EqualsVisitor> VISITORS = new ThreadLocal<EqualsVisitor>() {
+        @Override
+        protected EqualsVisitor initialValue() {
+            return new EqualsVisitor();
+        }
+    };
 
     public static boolean equals(Node n1, Node n2) {
-        return SINGLETON.nodeEquals(n1, n2);
+        return VISITORS.get().deepEquals(n1, n2);
     }
 
+    // the pairs of nodes whose kinds and hash codes are equal, but whose
+    // attributes and children still have to be compared
+    private Node[] pending1 = new Node[32];
+
+    private Node[] pending2 = new Node[32];
+
+    private int pending;
+
     private EqualsVisitor() {
         // hide constructor
     }
 
+    /**
+     * Compares two trees without recursion: comparing a pair of nodes only
+     * queues the pairs of their children, so comparing deeply nested trees
+     * does not overflow the stack.
+     */
+    private boolean deepEquals(Node n1, Node n2) {
+        // pairs below base belong to a comparison that is still running
+        int base = pending;
+        try {
+            if (!nodeEquals(n1, n2)) {
+                return false;
+            }
+            while (pending > base) {
+                pending--;
+                Node p1 = pending1[pending];
+                Node p2 = pending2[pending];
+                pending1[pending] = null;
+                pending2[pending] = null;
+                if (!p1.accept(this, p2).booleanValue()) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            while (pending > base) {
+                pending--;
+                pending1[pending] = null;
+                pending2[pending] = null;
+            }
+        }
+    }
+
     private <T extends Node> boolean nodesEquals(List<T> nodes1, List<T> nodes2) {
         if (nodes1 == null) {
             if (nodes2 == null) {
@@ -113,14 +159,23 @@ public class EqualsVisitor implements GenericVisitor<Boolean, Node> {
         if (nodes1.size() != nodes2.size()) {
             return false;
         }
-        for (int i = 0; i < nodes1.size(); i++) {
-            if (!nodeEquals(nodes1.get(i), nodes2.get(i))) {
+        // only compares the kinds and hash codes of the nodes; their children are compared later
+        Iterator<T> it1 = nodes1.iterator(), it2 = nodes2.iterator();
+        while (it1.hasNext()) {
+            if (!nodeEquals(it1.next(), it2.next())) {
                 return false;
             }
         }
         return true;
     }
 
+    /**
+     * Returns false if the nodes are certainly different: if only one of them
+     * is null, if they are of different kinds, or if their structural hash
+     * codes differ. Hash codes are cached, so this takes constant time once
+     * the trees have been hashed. Otherwise the pair is queued, and
+     * {@link #deepEquals(Node, Node)} compares the rest of the nodes later.
+     */
     private <T extends Node> boolean nodeEquals(T n1, T n2) {
         if (n1 == n2) {
             return true;
@@ -136,7 +191,22 @@ public class EqualsVisitor implements GenericVisitor<Boolean, Node> {
         if (n1.getClass() != n2.getClass()) {
             return false;
         }
-        return n1.accept(this, n2).booleanValue();
+        // equal nodes have equal hash codes
+        if (n1.hashCode() != n2.hashCode()) {
+            return false;
+        }
+        if (pending == pending1.length) {
+            Node[] newPending1 = new Node[pending * 2];
+            System.arraycopy(pending1, 0, newPending1, 0, pending);
+            pending1 = newPending1;
+            Node[] newPending2 = new Node[pending * 2];
+            System.arraycopy(pending2, 0, newPending2, 0, pending);
+            pending2 = newPending2;
+        }
+        pending1[pending] = n1;
+        pending2[pending] = n2;
+        pending++;
+        return true;
     }
 
     private boolean objEquals(Object n1, Object n2) {
@@ -0,0 +1,724 @@
+package japa.parser.ast.visitor;
+
+import japa.parser.ast.Node;
+import japa.parser.ast.BlockComment;
+import japa.parser.ast.CompilationUnit;
+import japa.parser.ast.ImportDeclaration;
+import japa.parser.ast.LineComment;
+import japa.parser.ast.PackageDeclaration;
+import japa.parser.ast.TypeParameter;
+import japa.parser.ast.body.AnnotationDeclaration;
+import japa.parser.ast.body.AnnotationMemberDeclaration;
+import japa.parser.ast.body.ClassOrInterfaceDeclaration;
+import japa.parser.ast.body.ConstructorDeclaration;
+import japa.parser.ast.body.EmptyMemberDeclaration;
+import japa.parser.ast.body.EmptyTypeDeclaration;
+import japa.parser.ast.body.EnumConstantDeclaration;
+import japa.parser.ast.body.EnumDeclaration;
+import japa.parser.ast.body.FieldDeclaration;
+import japa.parser.ast.body.InitializerDeclaration;
+import japa.parser.ast.body.JavadocComment;
+import japa.parser.ast.body.MethodDeclaration;
+import japa.parser.ast.body.Parameter;
+import japa.parser.ast.body.VariableDeclarator;
+import japa.parser.ast.body.VariableDeclaratorId;
+import japa.parser.ast.expr.ArrayAccessExpr;
+import japa.parser.ast.expr.ArrayCreationExpr;
+import japa.parser.ast.expr.ArrayInitializerExpr;
+import japa.parser.ast.expr.AssignExpr;
+import japa.parser.ast.expr.BinaryExpr;
+import japa.parser.ast.expr.BooleanLiteralExpr;
+import japa.parser.ast.expr.CastExpr;
+import japa.parser.ast.expr.CharLiteralExpr;
+import japa.parser.ast.expr.ClassExpr;
+import japa.parser.ast.expr.ConditionalExpr;
+import japa.parser.ast.expr.DoubleLiteralExpr;
+import japa.parser.ast.expr.EnclosedExpr;
+import japa.parser.ast.expr.FieldAccessExpr;
+import japa.parser.ast.expr.InstanceOfExpr;
+import japa.parser.ast.expr.IntegerLiteralExpr;
+import japa.parser.ast.expr.IntegerLiteralMinValueExpr;
+import japa.parser.ast.expr.LongLiteralExpr;
+import japa.parser.ast.expr.LongLiteralMinValueExpr;
+import japa.parser.ast.expr.MarkerAnnotationExpr;
+import japa.parser.ast.expr.MemberValuePair;
+import japa.parser.ast.expr.MethodCallExpr;
+import japa.parser.ast.expr.NameExpr;
+import japa.parser.ast.expr.NormalAnnotationExpr;
+import japa.parser.ast.expr.NullLiteralExpr;
+import japa.parser.ast.expr.ObjectCreationExpr;
+import japa.parser.ast.expr.QualifiedNameExpr;
+import japa.parser.ast.expr.SingleMemberAnnotationExpr;
+import japa.parser.ast.expr.StringLiteralExpr;
+import japa.parser.ast.expr.SuperExpr;
+import japa.parser.ast.expr.ThisExpr;
+import japa.parser.ast.expr.UnaryExpr;
+import japa.parser.ast.expr.VariableDeclarationExpr;
+import japa.parser.ast.stmt.AssertStmt;
+import japa.parser.ast.stmt.BlockStmt;
+import japa.parser.ast.stmt.BreakStmt;
+import japa.parser.ast.stmt.CatchClause;
+import japa.parser.ast.stmt.ContinueStmt;
+import japa.parser.ast.stmt.DoStmt;
+import japa.parser.ast.stmt.EmptyStmt;
+import japa.parser.ast.stmt.ExplicitConstructorInvocationStmt;
+import japa.parser.ast.stmt.ExpressionStmt;
+import japa.parser.ast.stmt.ForStmt;
+import japa.parser.ast.stmt.ForeachStmt;
+import japa.parser.ast.stmt.IfStmt;
+import japa.parser.ast.stmt.LabeledStmt;
+import japa.parser.ast.stmt.ReturnStmt;
+import japa.parser.ast.stmt.SwitchEntryStmt;
+import japa.parser.ast.stmt.SwitchStmt;
+import japa.parser.ast.stmt.SynchronizedStmt;
+import japa.parser.ast.stmt.ThrowStmt;
+import japa.parser.ast.stmt.TryStmt;
+import japa.parser.ast.stmt.TypeDeclarationStmt;
+import japa.parser.ast.stmt.WhileStmt;
+import japa.parser.ast.type.ClassOrInterfaceType;
+import japa.parser.ast.type.PrimitiveType;
+import japa.parser.ast.type.ReferenceType;
+import japa.parser.ast.type.VoidType;
+import japa.parser.ast.type.WildcardType;
+
+import java.util.List;
+
+/**
+ * Computes the structural hash code of a node, consistent with
+ * {@link EqualsVisitor}: nodes that are equal according to
+ * {@link EqualsVisitor} always get the same hash code.
+ * The hash code combines the class of the node, the fields that
+ * {@link EqualsVisitor} compares, and the hash codes of the children,
+ * which {@link Node#hashCode()} caches. Node#hashCode() hashes the nodes
+ * of a tree on the exit events of a {@link TreeWalker}, children first, so
+ * hashing a whole tree visits every node once without recursing into the
+ * children, and later lookups are constant time.
+ * Hash codes only depend on the source code, so they are the same in
+ * every run of the JVM.
+ */
+public class HashCodeVisitor implements GenericVisitor<Integer, Object> {
+
+    private static final HashCodeVisitor SINGLETON = new HashCodeVisitor();
+
+    /**
+     * Computes the structural hash code of the node, without using the
+     * cached value of the node itself (the cached values of its children
+     * are used).
+     */
+    public static int hashCode(Node n) {
+        return n.accept(SINGLETON, null).intValue();
+    }
+
+    private HashCodeVisitor() {
+        // hide constructor
+    }
+
+    private int seed(Node n) {
+        return n.getClass().getName().hashCode();
+    }
+
+    private int hash(Node n) {
+        return n == null ? 0 : n.hashCode();
+    }
+
+    private <T extends Node> int hash(List<T> nodes) {
+        if (nodes == null) {
+            return 0;
+        }
+        int h = 1;
+        // the parser builds linked lists, so iterate instead of indexing
+        for (T n : nodes) {
+            h = 31 * h + hash(n);
+        }
+        return h;
+    }
+
+    private int hash(Enum<?> e) {
+        return e == null ? 0 : e.ordinal() + 1;
+    }
+
+    private int hash(Object o) {
+        return o == null ? 0 : o.hashCode();
+    }
+
+    private int hash(int i) {
+        return i;
+    }
+
+    private int hash(boolean b) {
+        return b ? 1231 : 1237;
+    }
+
+    public Integer visit(CompilationUnit n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getPackage());
+        h = 31 * h + hash(n.getImports());
+        h = 31 * h + hash(n.getTypes());
+        h = 31 * h + hash(n.getComments());
+        return h;
+    }
+
+    public Integer visit(PackageDeclaration n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getAnnotations());
+        return h;
+    }
+
+    public Integer visit(ImportDeclaration n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getName());
+        return h;
+    }
+
+    public Integer visit(TypeParameter n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getTypeBound());
+        return h;
+    }
+
+    public Integer visit(LineComment n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getContent());
+        return h;
+    }
+
+    public Integer visit(BlockComment n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getContent());
+        return h;
+    }
+
+    public Integer visit(ClassOrInterfaceDeclaration n, Object arg) {
+        // javadoc are hashed at CompilationUnit, like EqualsVisitor
+        int h = seed(n);
+        h = 31 * h + hash(n.getModifiers());
+        h = 31 * h + hash(n.isInterface());
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getAnnotations());
+        h = 31 * h + hash(n.getTypeParameters());
+        h = 31 * h + hash(n.getExtends());
+        h = 31 * h + hash(n.getImplements());
+        h = 31 * h + hash(n.getMembers());
+        return h;
+    }
+
+    public Integer visit(EnumDeclaration n, Object arg) {
+        // javadoc are hashed at CompilationUnit, like EqualsVisitor
+        int h = seed(n);
+        h = 31 * h + hash(n.getModifiers());
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getAnnotations());
+        h = 31 * h + hash(n.getImplements());
+        h = 31 * h + hash(n.getEntries());
+        h = 31 * h + hash(n.getMembers());
+        return h;
+    }
+
+    public Integer visit(EmptyTypeDeclaration n, Object arg) {
+        return seed(n);
+    }
+
+    public Integer visit(EnumConstantDeclaration n, Object arg) {
+        // javadoc are hashed at CompilationUnit, like EqualsVisitor
+        int h = seed(n);
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getAnnotations());
+        h = 31 * h + hash(n.getArgs());
+        h = 31 * h + hash(n.getClassBody());
+        return h;
+    }
+
+    public Integer visit(AnnotationDeclaration n, Object arg) {
+        // javadoc are hashed at CompilationUnit, like EqualsVisitor
+        int h = seed(n);
+        h = 31 * h + hash(n.getModifiers());
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getAnnotations());
+        h = 31 * h + hash(n.getMembers());
+        return h;
+    }
+
+    public Integer visit(AnnotationMemberDeclaration n, Object arg) {
+        // javadoc are hashed at CompilationUnit, like EqualsVisitor
+        int h = seed(n);
+        h = 31 * h + hash(n.getModifiers());
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getAnnotations());
+        h = 31 * h + hash(n.getDefaultValue());
+        h = 31 * h + hash(n.getType());
+        return h;
+    }
+
+    public Integer visit(FieldDeclaration n, Object arg) {
+        // javadoc are hashed at CompilationUnit, like EqualsVisitor
+        int h = seed(n);
+        h = 31 * h + hash(n.getModifiers());
+        h = 31 * h + hash(n.getAnnotations());
+        h = 31 * h + hash(n.getType());
+        h = 31 * h + hash(n.getVariables());
+        return h;
+    }
+
+    public Integer visit(VariableDeclarator n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getId());
+        h = 31 * h + hash(n.getInit());
+        return h;
+    }
+
+    public Integer visit(VariableDeclaratorId n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getArrayCount());
+        h = 31 * h + hash(n.getName());
+        return h;
+    }
+
+    public Integer visit(ConstructorDeclaration n, Object arg) {
+        // javadoc are hashed at CompilationUnit, like EqualsVisitor
+        int h = seed(n);
+        h = 31 * h + hash(n.getModifiers());
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getAnnotations());
+        h = 31 * h + hash(n.getBlock());
+        h = 31 * h + hash(n.getParameters());
+        h = 31 * h + hash(n.getThrows());
+        h = 31 * h + hash(n.getTypeParameters());
+        return h;
+    }
+
+    public Integer visit(MethodDeclaration n, Object arg) {
+        // javadoc are hashed at CompilationUnit, like EqualsVisitor
+        int h = seed(n);
+        h = 31 * h + hash(n.getModifiers());
+        h = 31 * h + hash(n.getArrayCount());
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getType());
+        h = 31 * h + hash(n.getAnnotations());
+        h = 31 * h + hash(n.getBody());
+        h = 31 * h + hash(n.getParameters());
+        h = 31 * h + hash(n.getThrows());
+        h = 31 * h + hash(n.getTypeParameters());
+        return h;
+    }
+
+    public Integer visit(Parameter n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getModifiers());
+        h = 31 * h + hash(n.getId());
+        h = 31 * h + hash(n.getType());
+        h = 31 * h + hash(n.getAnnotations());
+        return h;
+    }
+
+    public Integer visit(EmptyMemberDeclaration n, Object arg) {
+        return seed(n);
+    }
+
+    public Integer visit(InitializerDeclaration n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getBlock());
+        h = 31 * h + hash(n.getAnnotations());
+        return h;
+    }
+
+    public Integer visit(JavadocComment n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getContent());
+        return h;
+    }
+
+    public Integer visit(ClassOrInterfaceType n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getScope());
+        h = 31 * h + hash(n.getTypeArgs());
+        return h;
+    }
+
+    public Integer visit(PrimitiveType n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getType());
+        return h;
+    }
+
+    public Integer visit(ReferenceType n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getArrayCount());
+        h = 31 * h + hash(n.getType());
+        return h;
+    }
+
+    public Integer visit(VoidType n, Object arg) {
+        return seed(n);
+    }
+
+    public Integer visit(WildcardType n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getExtends());
+        h = 31 * h + hash(n.getSuper());
+        return h;
+    }
+
+    public Integer visit(ArrayAccessExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getIndex());
+        return h;
+    }
+
+    public Integer visit(ArrayCreationExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getArrayCount());
+        h = 31 * h + hash(n.getType());
+        h = 31 * h + hash(n.getInitializer());
+        h = 31 * h + hash(n.getDimensions());
+        return h;
+    }
+
+    public Integer visit(ArrayInitializerExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getValues());
+        return h;
+    }
+
+    public Integer visit(AssignExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getOperator());
+        h = 31 * h + hash(n.getTarget());
+        h = 31 * h + hash(n.getValue());
+        return h;
+    }
+
+    public Integer visit(BinaryExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getOperator());
+        h = 31 * h + hash(n.getLeft());
+        h = 31 * h + hash(n.getRight());
+        return h;
+    }
+
+    public Integer visit(CastExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getType());
+        h = 31 * h + hash(n.getExpr());
+        return h;
+    }
+
+    public Integer visit(ClassExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getType());
+        return h;
+    }
+
+    public Integer visit(ConditionalExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getCondition());
+        h = 31 * h + hash(n.getThenExpr());
+        h = 31 * h + hash(n.getElseExpr());
+        return h;
+    }
+
+    public Integer visit(EnclosedExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getInner());
+        return h;
+    }
+
+    public Integer visit(FieldAccessExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getScope());
+        h = 31 * h + hash(n.getField());
+        h = 31 * h + hash(n.getTypeArgs());
+        return h;
+    }
+
+    public Integer visit(InstanceOfExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getExpr());
+        h = 31 * h + hash(n.getType());
+        return h;
+    }
+
+    public Integer visit(StringLiteralExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getValue());
+        return h;
+    }
+
+    public Integer visit(IntegerLiteralExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getValue());
+        return h;
+    }
+
+    public Integer visit(LongLiteralExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getValue());
+        return h;
+    }
+
+    public Integer visit(IntegerLiteralMinValueExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getValue());
+        return h;
+    }
+
+    public Integer visit(LongLiteralMinValueExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getValue());
+        return h;
+    }
+
+    public Integer visit(CharLiteralExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getValue());
+        return h;
+    }
+
+    public Integer visit(DoubleLiteralExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getValue());
+        return h;
+    }
+
+    public Integer visit(BooleanLiteralExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getValue());
+        return h;
+    }
+
+    public Integer visit(NullLiteralExpr n, Object arg) {
+        return seed(n);
+    }
+
+    public Integer visit(MethodCallExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getScope());
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getArgs());
+        h = 31 * h + hash(n.getTypeArgs());
+        return h;
+    }
+
+    public Integer visit(NameExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getName());
+        return h;
+    }
+
+    public Integer visit(ObjectCreationExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getScope());
+        h = 31 * h + hash(n.getType());
+        h = 31 * h + hash(n.getAnonymousClassBody());
+        h = 31 * h + hash(n.getArgs());
+        h = 31 * h + hash(n.getTypeArgs());
+        return h;
+    }
+
+    public Integer visit(QualifiedNameExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getQualifier());
+        h = 31 * h + hash(n.getName());
+        return h;
+    }
+
+    public Integer visit(ThisExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getClassExpr());
+        return h;
+    }
+
+    public Integer visit(SuperExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getClassExpr());
+        return h;
+    }
+
+    public Integer visit(UnaryExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getOperator());
+        h = 31 * h + hash(n.getExpr());
+        return h;
+    }
+
+    public Integer visit(VariableDeclarationExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getModifiers());
+        h = 31 * h + hash(n.getAnnotations());
+        h = 31 * h + hash(n.getType());
+        h = 31 * h + hash(n.getVars());
+        return h;
+    }
+
+    public Integer visit(MarkerAnnotationExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getName());
+        return h;
+    }
+
+    public Integer visit(SingleMemberAnnotationExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getMemberValue());
+        return h;
+    }
+
+    public Integer visit(NormalAnnotationExpr n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getPairs());
+        return h;
+    }
+
+    public Integer visit(MemberValuePair n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getName());
+        h = 31 * h + hash(n.getValue());
+        return h;
+    }
+
+    public Integer visit(ExplicitConstructorInvocationStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getExpr());
+        h = 31 * h + hash(n.getArgs());
+        h = 31 * h + hash(n.getTypeArgs());
+        return h;
+    }
+
+    public Integer visit(TypeDeclarationStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getTypeDeclaration());
+        return h;
+    }
+
+    public Integer visit(AssertStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getCheck());
+        h = 31 * h + hash(n.getMessage());
+        return h;
+    }
+
+    public Integer visit(BlockStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getStmts());
+        return h;
+    }
+
+    public Integer visit(LabeledStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getStmt());
+        return h;
+    }
+
+    public Integer visit(EmptyStmt n, Object arg) {
+        return seed(n);
+    }
+
+    public Integer visit(ExpressionStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getExpression());
+        return h;
+    }
+
+    public Integer visit(SwitchStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getSelector());
+        h = 31 * h + hash(n.getEntries());
+        return h;
+    }
+
+    public Integer visit(SwitchEntryStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getLabel());
+        h = 31 * h + hash(n.getStmts());
+        return h;
+    }
+
+    public Integer visit(BreakStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getId());
+        return h;
+    }
+
+    public Integer visit(ReturnStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getExpr());
+        return h;
+    }
+
+    public Integer visit(IfStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getCondition());
+        h = 31 * h + hash(n.getThenStmt());
+        h = 31 * h + hash(n.getElseStmt());
+        return h;
+    }
+
+    public Integer visit(WhileStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getCondition());
+        h = 31 * h + hash(n.getBody());
+        return h;
+    }
+
+    public Integer visit(ContinueStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getId());
+        return h;
+    }
+
+    public Integer visit(DoStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getBody());
+        h = 31 * h + hash(n.getCondition());
+        return h;
+    }
+
+    public Integer visit(ForeachStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getVariable());
+        h = 31 * h + hash(n.getIterable());
+        h = 31 * h + hash(n.getBody());
+        return h;
+    }
+
+    public Integer visit(ForStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getInit());
+        h = 31 * h + hash(n.getCompare());
+        h = 31 * h + hash(n.getUpdate());
+        h = 31 * h + hash(n.getBody());
+        return h;
+    }
+
+    public Integer visit(ThrowStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getExpr());
+        return h;
+    }
+
+    public Integer visit(SynchronizedStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getExpr());
+        h = 31 * h + hash(n.getBlock());
+        return h;
+    }
+
+    public Integer visit(TryStmt n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getTryBlock());
+        h = 31 * h + hash(n.getCatchs());
+        h = 31 * h + hash(n.getFinallyBlock());
+        return h;
+    }
+
+    public Integer visit(CatchClause n, Object arg) {
+        int h = seed(n);
+        h = 31 * h + hash(n.getExcept());
+        h = 31 * h + hash(n.getCatchBlock());
+        return h;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2008 Jlio Vilmar Gesser.
+ *
+ * This file is part of Java 1.5 parser and Abstract Syntax Tree.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java 1.5 parser and Abstract Syntax Tree.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package japa.parser.ast.visitor;
+
+import japa.parser.ast.Node;
+
+/**
+ * <p>An {@link Appendable} that does not keep what is appended to it, but
+ * feeds it into a 128-bit MurmurHash3 (x64 variant, over the UTF-16LE
+ * encoding of the characters). Given to a {@link DumpVisitor}, it computes a
+ * fingerprint of the source code of a node without building that source as
+ * a string:</p>
+ * <pre>
+ * HashingSink sink = new HashingSink();
+ * long fingerprint = sink.hash(node).getLow();
+ * </pre>
+ * <p>The fingerprint of a node only depends on its pretty-printed source, so
+ * it can be compared across files and runs. A sink can be reused after
+ * {@link #reset()}; it must not be used by two threads at the same time.</p>
+ */
+public final class HashingSink implements Appendable {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private final long seed;
+
+    private long h1, h2;
+
+    // the current 16 byte block, filled one character at a time
+    private long k1, k2;
+
+    private int pending;
+
+    private long length;
+
+    /**
+     * Creates a sink with seed 0.
+     */
+    public HashingSink() {
+        this(0);
+    }
+
+    /**
+     * Creates a sink with the given seed.
+     * @param seed the seed of the hash
+     */
+    public HashingSink(long seed) {
+        this.seed = seed;
+        reset();
+    }
+
+    /**
+     * Forgets everything appended so far.
+     * @return this sink
+     */
+    public HashingSink reset() {
+        h1 = h2 = seed;
+        k1 = k2 = 0;
+        pending = 0;
+        length = 0;
+        return this;
+    }
+
+    /**
+     * Appends the source code of a node, as printed by {@link DumpVisitor}.
+     * @param n the node
+     * @return this sink
+     */
+    public HashingSink hash(Node n) {
+        n.accept(new DumpVisitor(this), null);
+        return this;
+    }
+
+    public HashingSink append(char c) {
+        if (pending < 4) {
+            k1 |= (long) c << (pending << 4);
+        } else {
+            k2 |= (long) c << ((pending - 4) << 4);
+        }
+        if (++pending == 8) {
+            mixBlock();
+        }
+        length++;
+        return this;
+    }
+
+    public HashingSink append(CharSequence csq) {
+        if (csq == null) {
+            return append("null");
+        }
+        return append(csq, 0, csq.length());
+    }
+
+    public HashingSink append(CharSequence csq, int start, int end) {
+        if (csq == null) {
+            return append("null", start, end);
+        }
+        for (int i = start; i < end; i++) {
+            append(csq.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * @return the number of characters appended since the sink was created or reset
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @return the low 64 bits of the hash of everything appended so far
+     */
+    public long getLow() {
+        return finish(false);
+    }
+
+    /**
+     * @return the high 64 bits of the hash of everything appended so far
+     */
+    public long getHigh() {
+        return finish(true);
+    }
+
+    private void mixBlock() {
+        h1 ^= mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        h2 ^= mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+
+        k1 = k2 = 0;
+        pending = 0;
+    }
+
+    // half of the hash of everything appended so far, leaving the state as it is
+    private long finish(boolean high) {
+        long f1 = h1, f2 = h2;
+        if (pending > 4) {
+            f2 ^= mixK2(k2);
+        }
+        if (pending > 0) {
+            f1 ^= mixK1(k1);
+        }
+        long bytes = length * 2;
+        f1 ^= bytes;
+        f2 ^= bytes;
+        f1 += f2;
+        f2 += f1;
+        f1 = fmix(f1);
+        f2 = fmix(f2);
+        f1 += f2;
+        f2 += f1;
+        return high ? f2 : f1;
+    }
+
+    private static long mixK1(long k) {
+        k *= C1;
+        k = Long.rotateLeft(k, 31);
+        k *= C2;
+        return k;
+    }
+
+    private static long mixK2(long k) {
+        k *= C2;
+        k = Long.rotateLeft(k, 33);
+        k *= C1;
+        return k;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
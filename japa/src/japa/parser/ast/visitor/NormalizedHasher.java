@@ -0,0 +1,851 @@
+/*
+ * Copyright (C) 2008 Jlio Vilmar Gesser.
+ *
+ * This file is part of Java 1.5 parser and Abstract Syntax Tree.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java 1.5 parser and Abstract Syntax Tree.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package japa.parser.ast.visitor;
+
+import japa.parser.ast.BlockComment;
+import japa.parser.ast.Comment;
+import japa.parser.ast.CompilationUnit;
+import japa.parser.ast.ImportDeclaration;
+import japa.parser.ast.LineComment;
+import japa.parser.ast.Node;
+import japa.parser.ast.NodeKind;
+import japa.parser.ast.PackageDeclaration;
+import japa.parser.ast.TypeParameter;
+import japa.parser.ast.body.AnnotationDeclaration;
+import japa.parser.ast.body.AnnotationMemberDeclaration;
+import japa.parser.ast.body.ClassOrInterfaceDeclaration;
+import japa.parser.ast.body.ConstructorDeclaration;
+import japa.parser.ast.body.EmptyMemberDeclaration;
+import japa.parser.ast.body.EmptyTypeDeclaration;
+import japa.parser.ast.body.EnumConstantDeclaration;
+import japa.parser.ast.body.EnumDeclaration;
+import japa.parser.ast.body.FieldDeclaration;
+import japa.parser.ast.body.InitializerDeclaration;
+import japa.parser.ast.body.JavadocComment;
+import japa.parser.ast.body.MethodDeclaration;
+import japa.parser.ast.body.Parameter;
+import japa.parser.ast.body.VariableDeclarator;
+import japa.parser.ast.body.VariableDeclaratorId;
+import japa.parser.ast.expr.ArrayAccessExpr;
+import japa.parser.ast.expr.ArrayCreationExpr;
+import japa.parser.ast.expr.ArrayInitializerExpr;
+import japa.parser.ast.expr.AssignExpr;
+import japa.parser.ast.expr.BinaryExpr;
+import japa.parser.ast.expr.BooleanLiteralExpr;
+import japa.parser.ast.expr.CastExpr;
+import japa.parser.ast.expr.CharLiteralExpr;
+import japa.parser.ast.expr.ClassExpr;
+import japa.parser.ast.expr.ConditionalExpr;
+import japa.parser.ast.expr.DoubleLiteralExpr;
+import japa.parser.ast.expr.EnclosedExpr;
+import japa.parser.ast.expr.FieldAccessExpr;
+import japa.parser.ast.expr.InstanceOfExpr;
+import japa.parser.ast.expr.IntegerLiteralExpr;
+import japa.parser.ast.expr.IntegerLiteralMinValueExpr;
+import japa.parser.ast.expr.LongLiteralExpr;
+import japa.parser.ast.expr.LongLiteralMinValueExpr;
+import japa.parser.ast.expr.MarkerAnnotationExpr;
+import japa.parser.ast.expr.MemberValuePair;
+import japa.parser.ast.expr.MethodCallExpr;
+import japa.parser.ast.expr.NameExpr;
+import japa.parser.ast.expr.NormalAnnotationExpr;
+import japa.parser.ast.expr.NullLiteralExpr;
+import japa.parser.ast.expr.ObjectCreationExpr;
+import japa.parser.ast.expr.QualifiedNameExpr;
+import japa.parser.ast.expr.SingleMemberAnnotationExpr;
+import japa.parser.ast.expr.StringLiteralExpr;
+import japa.parser.ast.expr.SuperExpr;
+import japa.parser.ast.expr.ThisExpr;
+import japa.parser.ast.expr.UnaryExpr;
+import japa.parser.ast.expr.VariableDeclarationExpr;
+import japa.parser.ast.stmt.AssertStmt;
+import japa.parser.ast.stmt.BlockStmt;
+import japa.parser.ast.stmt.BreakStmt;
+import japa.parser.ast.stmt.CatchClause;
+import japa.parser.ast.stmt.ContinueStmt;
+import japa.parser.ast.stmt.DoStmt;
+import japa.parser.ast.stmt.EmptyStmt;
+import japa.parser.ast.stmt.ExplicitConstructorInvocationStmt;
+import japa.parser.ast.stmt.ExpressionStmt;
+import japa.parser.ast.stmt.ForStmt;
+import japa.parser.ast.stmt.ForeachStmt;
+import japa.parser.ast.stmt.IfStmt;
+import japa.parser.ast.stmt.LabeledStmt;
+import japa.parser.ast.stmt.ReturnStmt;
+import japa.parser.ast.stmt.SwitchEntryStmt;
+import japa.parser.ast.stmt.SwitchStmt;
+import japa.parser.ast.stmt.SynchronizedStmt;
+import japa.parser.ast.stmt.ThrowStmt;
+import japa.parser.ast.stmt.TryStmt;
+import japa.parser.ast.stmt.TypeDeclarationStmt;
+import japa.parser.ast.stmt.WhileStmt;
+import japa.parser.ast.type.ClassOrInterfaceType;
+import japa.parser.ast.type.PrimitiveType;
+import japa.parser.ast.type.ReferenceType;
+import japa.parser.ast.type.VoidType;
+import japa.parser.ast.type.WildcardType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * <p>Computes a fingerprint of every node of a tree that ignores how
+ * variables are named and which literal values are used. Two nodes get the
+ * same fingerprint when one can be turned into the other by consistently
+ * renaming the identifiers of its {@link NameExpr}s and
+ * {@link VariableDeclaratorId}s and the values of its literals (a
+ * "type 2 clone"): <code>a = a * b</code> and <code>x = x * y</code> get
+ * the same fingerprint, but <code>a = a * b</code> and <code>x = y * y</code>
+ * do not. Everything else (operators, method, field and type names,
+ * modifiers) has to be equal, as in {@link EqualsVisitor}. Comments are
+ * ignored; a comment node is fingerprinted by its {@link Node#hashCode()}.</p>
+ * <pre>
+ * NormalizedHasher hasher = new NormalizedHasher();
+ * hasher.hash(root);
+ * for (int i = 0; i &lt; hasher.size(); i++) {
+ *     ... hasher.getNode(i) ... hasher.getFingerprint(i) ...
+ * }
+ * </pre>
+ * <p>The tree is walked once by a {@link TreeWalker} and written as a
+ * sequence of symbols: one when a node is entered, holding its kind, its
+ * fields and the number of its children, and one when it is exited. A
+ * renamed identifier or literal is written as the distance back to the
+ * previous occurrence of the same name (B. Baker's parameterized strings),
+ * so the sequences of two subtrees are equal exactly when the subtrees are
+ * equal up to consistent renaming, provided that the occurrences whose
+ * previous occurrence lies outside the subtree are written as 0. The
+ * fingerprint of a node is a polynomial hash (modulo 2<sup>61</sup>-1) of
+ * the symbols of its subtree, taken from prefix hashes of the whole
+ * sequence in constant time; the occurrences that come first within the
+ * subtree are corrected with a Fenwick tree over the positions of the
+ * sequence. So all fingerprints take O(n log n) time for a tree of n nodes,
+ * with primitive arrays that are reused by the next {@link #hash(Node)}.
+ * Fingerprints only depend on the source code, so they can be compared
+ * across files and runs. A hasher must not be used by two threads at the
+ * same time.</p>
+ */
+public final class NormalizedHasher {
+
+    // the modulus of the polynomial hash, and its base
+    private static final long MOD = (1L << 61) - 1;
+
+    private static final long BASE = 0x1ae3f1b7c7d2a91L % MOD;
+
+    private static final long BASE_INVERSE = power(BASE, MOD - 2);
+
+    private static final Labels LABELS = new Labels();
+
+    private final TreeWalker walker = new TreeWalker();
+
+    // the last position of every renamed name, by namespace (the ordinal of
+    // the NodeKind of the literal, or of NAME_EXPR for identifiers)
+    private final List<HashMap<String, int[]>> last = new ArrayList<HashMap<String, int[]>>(
+            Collections.<HashMap<String, int[]>> nCopies(NodeKind.COUNT, null));
+
+    // the hashed nodes in pre-order, their fingerprints and the positions of
+    // their enter symbol and after their exit symbol (-1 for comments)
+    private Node[] nodes = new Node[64];
+
+    private long[] fingerprints = new long[64];
+
+    private int[] starts = new int[64];
+
+    private int[] ends = new int[64];
+
+    private int size;
+
+    // the pre-order index of the open node at each depth
+    private int[] open = new int[64];
+
+    // per position of the sequence: the hash of the symbols before it, and for
+    // renamed names the position of the next occurrence (or -1) and the
+    // correction if the occurrence is the first one within a subtree
+    private long[] prefix = new long[129];
+
+    private int[] next = new int[128];
+
+    private long[] corrections = new long[128];
+
+    private long[] fenwick = new long[129];
+
+    private long[] powers = new long[] {1};
+
+    private long[] inversePowers = new long[] {1};
+
+    private int length;
+
+    // the label of the node being entered, and its name if it is renamed
+    private long label;
+
+    private int namespace;
+
+    private String name;
+
+    /**
+     * Computes the fingerprints of the given node and of every node below it.
+     * The fingerprints of the previous tree are forgotten.
+     * @param root the root of the tree
+     * @return this hasher
+     */
+    public NormalizedHasher hash(Node root) {
+        for (int i = 0; i < size; i++) {
+            nodes[i] = null;
+        }
+        for (HashMap<String, int[]> names : last) {
+            if (names != null) {
+                names.clear();
+            }
+        }
+        size = 0;
+        length = 0;
+        prefix[0] = 0;
+        walker.reset(root);
+        try {
+            while (walker.hasNext()) {
+                TreeWalker.Event event = walker.next();
+                Node n = walker.getNode();
+                if (n instanceof Comment) {
+                    if (event == TreeWalker.Event.ENTER) {
+                        int i = add(n);
+                        fingerprints[i] = mix(n.getClass().getName().hashCode() * 31L + n.hashCode());
+                        starts[i] = -1;
+                    }
+                } else if (event == TreeWalker.Event.ENTER) {
+                    enter(n, walker.getDepth());
+                } else {
+                    exit(n, walker.getDepth());
+                }
+            }
+        } finally {
+            walker.reset(null);
+        }
+        fingerprint();
+        return this;
+    }
+
+    /**
+     * @return the number of nodes hashed by the last {@link #hash(Node)}
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i the pre-order index of a node, from 0 to {@link #size()}-1
+     * @return the node
+     */
+    public Node getNode(int i) {
+        if (i >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(i));
+        }
+        return nodes[i];
+    }
+
+    /**
+     * @param i the pre-order index of a node, from 0 to {@link #size()}-1
+     * @return the fingerprint of the node
+     */
+    public long getFingerprint(int i) {
+        if (i >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(i));
+        }
+        return fingerprints[i];
+    }
+
+    /**
+     * @param i the pre-order index of a node, from 0 to {@link #size()}-1
+     * @return the number of nodes in the subtree of the node, including the
+     *         node itself but not comments (0 for a comment)
+     */
+    public int getSize(int i) {
+        if (i >= size) {
+            throw new IndexOutOfBoundsException(String.valueOf(i));
+        }
+        return starts[i] < 0 ? 0 : (ends[i] - starts[i]) / 2;
+    }
+
+    private int add(Node n) {
+        if (size == nodes.length) {
+            Node[] newNodes = new Node[size * 2];
+            System.arraycopy(nodes, 0, newNodes, 0, size);
+            nodes = newNodes;
+            fingerprints = grow(fingerprints, size * 2);
+            starts = grow(starts, size * 2);
+            ends = grow(ends, size * 2);
+        }
+        nodes[size] = n;
+        return size++;
+    }
+
+    private void enter(Node n, int depth) {
+        int i = add(n);
+        if (depth == open.length) {
+            open = grow(open, depth * 2);
+        }
+        open[depth] = i;
+        starts[i] = length;
+        label = n.getKind() == null ? n.getClass().getName().hashCode() : n.getKind().ordinal() + 1;
+        name = null;
+        n.accept(LABELS, this);
+        long symbol = symbol(label, 0);
+        long correction = 0;
+        int position = length;
+        if (name != null) {
+            HashMap<String, int[]> names = last.get(namespace);
+            if (names == null) {
+                names = new HashMap<String, int[]>();
+                last.set(namespace, names);
+            }
+            int[] previous = names.get(name);
+            if (previous == null) {
+                names.put(name, new int[] {position});
+            } else {
+                // the distance to the previous occurrence, or 0 if that lies outside the subtree
+                long renamed = symbol(label, position - previous[0]);
+                next[previous[0]] = position;
+                correction = add(symbol, MOD - renamed);
+                symbol = renamed;
+                previous[0] = position;
+            }
+        }
+        append(symbol);
+        corrections[position] = correction;
+    }
+
+    private void exit(Node n, int depth) {
+        int i = open[depth];
+        append(symbol(~(long) n.getClass().getName().hashCode(), 0));
+        ends[i] = length;
+    }
+
+    private void append(long symbol) {
+        if (length + 1 == prefix.length) {
+            prefix = grow(prefix, length * 2 + 1);
+            next = grow(next, length * 2);
+            corrections = grow(corrections, length * 2);
+        }
+        next[length] = -1;
+        prefix[length + 1] = add(multiply(prefix[length], BASE), symbol);
+        length++;
+    }
+
+    // computes the fingerprints from the sequence, sweeping the nodes in pre-order
+    private void fingerprint() {
+        if (fenwick.length < length + 1) {
+            fenwick = new long[prefix.length];
+        }
+        for (int p = 0; p <= length; p++) {
+            fenwick[p] = 0;
+        }
+        powers(length);
+        // the Fenwick tree holds the correction of every occurrence whose
+        // previous occurrence lies before the start of the current node
+        int swept = 0;
+        for (int i = 0; i < size; i++) {
+            int start = starts[i];
+            if (start < 0) {
+                continue;
+            }
+            for (; swept < start; swept++) {
+                int p = next[swept];
+                if (p >= 0) {
+                    for (int f = p + 1; f <= length; f += f & -f) {
+                        fenwick[f] = add(fenwick[f], multiply(corrections[p], inversePowers[p]));
+                    }
+                }
+            }
+            int end = ends[i];
+            long h = add(prefix[end], MOD - multiply(prefix[start], powers[end - start]));
+            long c = add(sum(end), MOD - sum(start));
+            h = add(h, multiply(c, powers[end - 1]));
+            fingerprints[i] = mix(h + (end - start) * 0x9e3779b97f4a7c15L);
+        }
+    }
+
+    // the sum of the Fenwick tree over the positions before p
+    private long sum(int p) {
+        long s = 0;
+        for (int f = p; f > 0; f -= f & -f) {
+            s = add(s, fenwick[f]);
+        }
+        return s;
+    }
+
+    private void powers(int n) {
+        if (powers.length > n) {
+            return;
+        }
+        int from = powers.length;
+        powers = grow(powers, Math.max(n + 1, from * 2));
+        inversePowers = grow(inversePowers, powers.length);
+        for (int p = from; p < powers.length; p++) {
+            powers[p] = multiply(powers[p - 1], BASE);
+            inversePowers[p] = multiply(inversePowers[p - 1], BASE_INVERSE);
+        }
+    }
+
+    private static long symbol(long label, long distance) {
+        long h = mix(label + distance * 0xc2b2ae3d27d4eb4fL);
+        h = (h & MOD) + (h >>> 61);
+        return h >= MOD ? h - MOD : h;
+    }
+
+    // the finalizer of MurmurHash3
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long add(long a, long b) {
+        long s = a + b;
+        return s >= MOD ? s - MOD : s;
+    }
+
+    // a * b modulo 2^61-1, for a and b below the modulus
+    private static long multiply(long a, long b) {
+        long a1 = a >>> 31, a0 = a & 0x7fffffffL;
+        long b1 = b >>> 31, b0 = b & 0x7fffffffL;
+        long middle = a0 * b1 + a1 * b0;
+        long h = (a1 * b1 << 1) + (middle >>> 30) + ((middle & 0x3fffffffL) << 31) + a0 * b0;
+        h = (h & MOD) + (h >>> 61);
+        return h >= MOD ? h - MOD : h;
+    }
+
+    private static long power(long b, long e) {
+        long p = 1;
+        for (; e > 0; e >>= 1) {
+            if ((e & 1) != 0) {
+                p = multiply(p, b);
+            }
+            b = multiply(b, b);
+        }
+        return p;
+    }
+
+    private static long[] grow(long[] a, int n) {
+        long[] b = new long[n];
+        System.arraycopy(a, 0, b, 0, a.length);
+        return b;
+    }
+
+    private static int[] grow(int[] a, int n) {
+        int[] b = new int[n];
+        System.arraycopy(a, 0, b, 0, a.length);
+        return b;
+    }
+
+    void add(long value) {
+        label = label * 0x9e3779b97f4a7c15L + value;
+    }
+
+    void add(Object o) {
+        add(o == null ? 0 : o.hashCode());
+    }
+
+    void add(boolean b) {
+        add(b ? 1231 : 1237);
+    }
+
+    // the shape of a child: whether it is there
+    void shape(Node n) {
+        add(n == null ? 0 : 1);
+    }
+
+    // the shape of a list of children: how many there are
+    void shape(List<? extends Node> nodes) {
+        add(nodes == null ? -1 : nodes.size());
+    }
+
+    // the node is renamed: its name is not part of its label
+    void rename(NodeKind kind, String name) {
+        this.namespace = kind.ordinal();
+        this.name = name;
+    }
+
+    /**
+     * Adds the fields of a node to its label, and the number of the children
+     * that {@link TreeWalker} walks where it can vary, so that the sequence of
+     * a node tells which child is which. Children the walker does not walk
+     * are added with their hash code.
+     */
+    private static final class Labels implements VoidVisitor<NormalizedHasher> {
+
+        public void visit(CompilationUnit n, NormalizedHasher h) {
+            h.shape(n.getPackage());
+            h.shape(n.getImports());
+            h.shape(n.getTypes());
+        }
+
+        public void visit(PackageDeclaration n, NormalizedHasher h) {
+            h.shape(n.getAnnotations());
+        }
+
+        public void visit(ImportDeclaration n, NormalizedHasher h) {
+            h.add(n.isStatic());
+            h.add(n.isAsterisk());
+        }
+
+        public void visit(TypeParameter n, NormalizedHasher h) {
+            h.add(n.getName());
+            h.shape(n.getTypeBound());
+        }
+
+        public void visit(LineComment n, NormalizedHasher h) {
+        }
+
+        public void visit(BlockComment n, NormalizedHasher h) {
+        }
+
+        public void visit(ClassOrInterfaceDeclaration n, NormalizedHasher h) {
+            h.add(n.getModifiers());
+            h.add(n.isInterface());
+            h.add(n.getName());
+            h.shape(n.getAnnotations());
+            h.shape(n.getTypeParameters());
+            h.shape(n.getExtends());
+            h.shape(n.getImplements());
+            h.shape(n.getMembers());
+        }
+
+        public void visit(EnumDeclaration n, NormalizedHasher h) {
+            h.add(n.getModifiers());
+            h.add(n.getName());
+            h.shape(n.getAnnotations());
+            h.shape(n.getImplements());
+            h.shape(n.getEntries());
+            h.shape(n.getMembers());
+        }
+
+        public void visit(EmptyTypeDeclaration n, NormalizedHasher h) {
+        }
+
+        public void visit(EnumConstantDeclaration n, NormalizedHasher h) {
+            h.add(n.getName());
+            h.shape(n.getAnnotations());
+            h.shape(n.getArgs());
+            h.shape(n.getClassBody());
+        }
+
+        public void visit(AnnotationDeclaration n, NormalizedHasher h) {
+            h.add(n.getModifiers());
+            h.add(n.getName());
+            h.shape(n.getAnnotations());
+            h.shape(n.getMembers());
+        }
+
+        public void visit(AnnotationMemberDeclaration n, NormalizedHasher h) {
+            h.add(n.getModifiers());
+            h.add(n.getName());
+            h.shape(n.getAnnotations());
+            h.shape(n.getDefaultValue());
+        }
+
+        public void visit(FieldDeclaration n, NormalizedHasher h) {
+            h.add(n.getModifiers());
+            h.shape(n.getAnnotations());
+            h.shape(n.getVariables());
+        }
+
+        public void visit(VariableDeclarator n, NormalizedHasher h) {
+            h.shape(n.getInit());
+        }
+
+        public void visit(VariableDeclaratorId n, NormalizedHasher h) {
+            h.add(n.getArrayCount());
+            h.rename(NodeKind.NAME_EXPR, n.getName());
+        }
+
+        public void visit(ConstructorDeclaration n, NormalizedHasher h) {
+            h.add(n.getModifiers());
+            h.add(n.getName());
+            h.shape(n.getAnnotations());
+            h.shape(n.getTypeParameters());
+            h.shape(n.getParameters());
+            h.shape(n.getThrows());
+        }
+
+        public void visit(MethodDeclaration n, NormalizedHasher h) {
+            h.add(n.getModifiers());
+            h.add(n.getArrayCount());
+            h.add(n.getName());
+            h.shape(n.getAnnotations());
+            h.shape(n.getTypeParameters());
+            h.shape(n.getParameters());
+            h.shape(n.getThrows());
+            h.shape(n.getBody());
+        }
+
+        public void visit(Parameter n, NormalizedHasher h) {
+            h.add(n.getModifiers());
+            h.add(n.isVarArgs());
+            h.shape(n.getAnnotations());
+        }
+
+        public void visit(EmptyMemberDeclaration n, NormalizedHasher h) {
+        }
+
+        public void visit(InitializerDeclaration n, NormalizedHasher h) {
+            h.add(n.isStatic());
+            h.add(n.getAnnotations());
+        }
+
+        public void visit(JavadocComment n, NormalizedHasher h) {
+        }
+
+        public void visit(ClassOrInterfaceType n, NormalizedHasher h) {
+            h.add(n.getName());
+            h.shape(n.getScope());
+            h.shape(n.getTypeArgs());
+        }
+
+        public void visit(PrimitiveType n, NormalizedHasher h) {
+            h.add(n.getType().ordinal());
+        }
+
+        public void visit(ReferenceType n, NormalizedHasher h) {
+            h.add(n.getArrayCount());
+        }
+
+        public void visit(VoidType n, NormalizedHasher h) {
+        }
+
+        public void visit(WildcardType n, NormalizedHasher h) {
+            h.shape(n.getExtends());
+            h.shape(n.getSuper());
+        }
+
+        public void visit(ArrayAccessExpr n, NormalizedHasher h) {
+        }
+
+        public void visit(ArrayCreationExpr n, NormalizedHasher h) {
+            h.add(n.getArrayCount());
+            h.shape(n.getDimensions());
+            h.shape(n.getInitializer());
+        }
+
+        public void visit(ArrayInitializerExpr n, NormalizedHasher h) {
+            h.shape(n.getValues());
+        }
+
+        public void visit(AssignExpr n, NormalizedHasher h) {
+            h.add(n.getOperator().ordinal());
+        }
+
+        public void visit(BinaryExpr n, NormalizedHasher h) {
+            h.add(n.getOperator().ordinal());
+        }
+
+        public void visit(CastExpr n, NormalizedHasher h) {
+        }
+
+        public void visit(ClassExpr n, NormalizedHasher h) {
+        }
+
+        public void visit(ConditionalExpr n, NormalizedHasher h) {
+        }
+
+        public void visit(EnclosedExpr n, NormalizedHasher h) {
+        }
+
+        public void visit(FieldAccessExpr n, NormalizedHasher h) {
+            h.add(n.getField());
+            h.add(n.getTypeArgs());
+        }
+
+        public void visit(InstanceOfExpr n, NormalizedHasher h) {
+        }
+
+        public void visit(StringLiteralExpr n, NormalizedHasher h) {
+            h.rename(NodeKind.STRING_LITERAL_EXPR, n.getValue());
+        }
+
+        public void visit(IntegerLiteralExpr n, NormalizedHasher h) {
+            h.rename(NodeKind.INTEGER_LITERAL_EXPR, n.getValue());
+        }
+
+        public void visit(LongLiteralExpr n, NormalizedHasher h) {
+            h.rename(NodeKind.LONG_LITERAL_EXPR, n.getValue());
+        }
+
+        public void visit(IntegerLiteralMinValueExpr n, NormalizedHasher h) {
+            h.rename(NodeKind.INTEGER_LITERAL_MIN_VALUE_EXPR, n.getValue());
+        }
+
+        public void visit(LongLiteralMinValueExpr n, NormalizedHasher h) {
+            h.rename(NodeKind.LONG_LITERAL_MIN_VALUE_EXPR, n.getValue());
+        }
+
+        public void visit(CharLiteralExpr n, NormalizedHasher h) {
+            h.rename(NodeKind.CHAR_LITERAL_EXPR, n.getValue());
+        }
+
+        public void visit(DoubleLiteralExpr n, NormalizedHasher h) {
+            h.rename(NodeKind.DOUBLE_LITERAL_EXPR, n.getValue());
+        }
+
+        public void visit(BooleanLiteralExpr n, NormalizedHasher h) {
+            h.rename(NodeKind.BOOLEAN_LITERAL_EXPR, String.valueOf(n.getValue()));
+        }
+
+        public void visit(NullLiteralExpr n, NormalizedHasher h) {
+        }
+
+        public void visit(MethodCallExpr n, NormalizedHasher h) {
+            h.add(n.getName());
+            h.shape(n.getScope());
+            h.shape(n.getTypeArgs());
+            h.shape(n.getArgs());
+        }
+
+        public void visit(NameExpr n, NormalizedHasher h) {
+            h.rename(NodeKind.NAME_EXPR, n.getName());
+        }
+
+        public void visit(ObjectCreationExpr n, NormalizedHasher h) {
+            h.shape(n.getScope());
+            h.shape(n.getTypeArgs());
+            h.shape(n.getArgs());
+            h.shape(n.getAnonymousClassBody());
+        }
+
+        public void visit(QualifiedNameExpr n, NormalizedHasher h) {
+            h.add(n.getName());
+        }
+
+        public void visit(ThisExpr n, NormalizedHasher h) {
+            h.shape(n.getClassExpr());
+        }
+
+        public void visit(SuperExpr n, NormalizedHasher h) {
+            h.shape(n.getClassExpr());
+        }
+
+        public void visit(UnaryExpr n, NormalizedHasher h) {
+            h.add(n.getOperator().ordinal());
+        }
+
+        public void visit(VariableDeclarationExpr n, NormalizedHasher h) {
+            h.add(n.getModifiers());
+            h.shape(n.getAnnotations());
+            h.shape(n.getVars());
+        }
+
+        public void visit(MarkerAnnotationExpr n, NormalizedHasher h) {
+        }
+
+        public void visit(SingleMemberAnnotationExpr n, NormalizedHasher h) {
+        }
+
+        public void visit(NormalAnnotationExpr n, NormalizedHasher h) {
+            h.shape(n.getPairs());
+        }
+
+        public void visit(MemberValuePair n, NormalizedHasher h) {
+            h.add(n.getName());
+        }
+
+        public void visit(ExplicitConstructorInvocationStmt n, NormalizedHasher h) {
+            h.add(n.isThis());
+            h.shape(n.isThis() ? null : n.getExpr());
+            h.shape(n.getTypeArgs());
+            h.shape(n.getArgs());
+        }
+
+        public void visit(TypeDeclarationStmt n, NormalizedHasher h) {
+        }
+
+        public void visit(AssertStmt n, NormalizedHasher h) {
+            h.shape(n.getMessage());
+        }
+
+        public void visit(BlockStmt n, NormalizedHasher h) {
+            h.shape(n.getStmts());
+        }
+
+        public void visit(LabeledStmt n, NormalizedHasher h) {
+            h.add(n.getLabel());
+        }
+
+        public void visit(EmptyStmt n, NormalizedHasher h) {
+        }
+
+        public void visit(ExpressionStmt n, NormalizedHasher h) {
+        }
+
+        public void visit(SwitchStmt n, NormalizedHasher h) {
+            h.shape(n.getEntries());
+        }
+
+        public void visit(SwitchEntryStmt n, NormalizedHasher h) {
+            h.shape(n.getLabel());
+            h.shape(n.getStmts());
+        }
+
+        public void visit(BreakStmt n, NormalizedHasher h) {
+            h.add(n.getId());
+        }
+
+        public void visit(ReturnStmt n, NormalizedHasher h) {
+            h.shape(n.getExpr());
+        }
+
+        public void visit(IfStmt n, NormalizedHasher h) {
+            h.shape(n.getElseStmt());
+        }
+
+        public void visit(WhileStmt n, NormalizedHasher h) {
+        }
+
+        public void visit(ContinueStmt n, NormalizedHasher h) {
+            h.add(n.getId());
+        }
+
+        public void visit(DoStmt n, NormalizedHasher h) {
+        }
+
+        public void visit(ForeachStmt n, NormalizedHasher h) {
+        }
+
+        public void visit(ForStmt n, NormalizedHasher h) {
+            h.shape(n.getInit());
+            h.shape(n.getCompare());
+            h.shape(n.getUpdate());
+        }
+
+        public void visit(ThrowStmt n, NormalizedHasher h) {
+        }
+
+        public void visit(SynchronizedStmt n, NormalizedHasher h) {
+        }
+
+        public void visit(TryStmt n, NormalizedHasher h) {
+            h.shape(n.getCatchs());
+            h.shape(n.getFinallyBlock());
+        }
+
+        public void visit(CatchClause n, NormalizedHasher h) {
+        }
+    }
+}
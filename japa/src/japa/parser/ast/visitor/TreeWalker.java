@@ -0,0 +1,925 @@
+/*
+ * Copyright (C) 2008 Jlio Vilmar Gesser.
+ *
+ * This file is part of Java 1.5 parser and Abstract Syntax Tree.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java 1.5 parser and Abstract Syntax Tree.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package japa.parser.ast.visitor;
+
+import japa.parser.ast.BlockComment;
+import japa.parser.ast.CompilationUnit;
+import japa.parser.ast.ImportDeclaration;
+import japa.parser.ast.LineComment;
+import japa.parser.ast.Node;
+import japa.parser.ast.PackageDeclaration;
+import japa.parser.ast.TypeParameter;
+import japa.parser.ast.body.AnnotationDeclaration;
+import japa.parser.ast.body.AnnotationMemberDeclaration;
+import japa.parser.ast.body.BodyDeclaration;
+import japa.parser.ast.body.ClassOrInterfaceDeclaration;
+import japa.parser.ast.body.ConstructorDeclaration;
+import japa.parser.ast.body.EmptyMemberDeclaration;
+import japa.parser.ast.body.EmptyTypeDeclaration;
+import japa.parser.ast.body.EnumConstantDeclaration;
+import japa.parser.ast.body.EnumDeclaration;
+import japa.parser.ast.body.FieldDeclaration;
+import japa.parser.ast.body.InitializerDeclaration;
+import japa.parser.ast.body.JavadocComment;
+import japa.parser.ast.body.MethodDeclaration;
+import japa.parser.ast.body.Parameter;
+import japa.parser.ast.body.TypeDeclaration;
+import japa.parser.ast.body.VariableDeclarator;
+import japa.parser.ast.body.VariableDeclaratorId;
+import japa.parser.ast.expr.AnnotationExpr;
+import japa.parser.ast.expr.ArrayAccessExpr;
+import japa.parser.ast.expr.ArrayCreationExpr;
+import japa.parser.ast.expr.ArrayInitializerExpr;
+import japa.parser.ast.expr.AssignExpr;
+import japa.parser.ast.expr.BinaryExpr;
+import japa.parser.ast.expr.BooleanLiteralExpr;
+import japa.parser.ast.expr.CastExpr;
+import japa.parser.ast.expr.CharLiteralExpr;
+import japa.parser.ast.expr.ClassExpr;
+import japa.parser.ast.expr.ConditionalExpr;
+import japa.parser.ast.expr.DoubleLiteralExpr;
+import japa.parser.ast.expr.EnclosedExpr;
+import japa.parser.ast.expr.Expression;
+import japa.parser.ast.expr.FieldAccessExpr;
+import japa.parser.ast.expr.InstanceOfExpr;
+import japa.parser.ast.expr.IntegerLiteralExpr;
+import japa.parser.ast.expr.IntegerLiteralMinValueExpr;
+import japa.parser.ast.expr.LongLiteralExpr;
+import japa.parser.ast.expr.LongLiteralMinValueExpr;
+import japa.parser.ast.expr.MarkerAnnotationExpr;
+import japa.parser.ast.expr.MemberValuePair;
+import japa.parser.ast.expr.MethodCallExpr;
+import japa.parser.ast.expr.NameExpr;
+import japa.parser.ast.expr.NormalAnnotationExpr;
+import japa.parser.ast.expr.NullLiteralExpr;
+import japa.parser.ast.expr.ObjectCreationExpr;
+import japa.parser.ast.expr.QualifiedNameExpr;
+import japa.parser.ast.expr.SingleMemberAnnotationExpr;
+import japa.parser.ast.expr.StringLiteralExpr;
+import japa.parser.ast.expr.SuperExpr;
+import japa.parser.ast.expr.ThisExpr;
+import japa.parser.ast.expr.UnaryExpr;
+import japa.parser.ast.expr.VariableDeclarationExpr;
+import japa.parser.ast.stmt.AssertStmt;
+import japa.parser.ast.stmt.BlockStmt;
+import japa.parser.ast.stmt.BreakStmt;
+import japa.parser.ast.stmt.CatchClause;
+import japa.parser.ast.stmt.ContinueStmt;
+import japa.parser.ast.stmt.DoStmt;
+import japa.parser.ast.stmt.EmptyStmt;
+import japa.parser.ast.stmt.ExplicitConstructorInvocationStmt;
+import japa.parser.ast.stmt.ExpressionStmt;
+import japa.parser.ast.stmt.ForStmt;
+import japa.parser.ast.stmt.ForeachStmt;
+import japa.parser.ast.stmt.IfStmt;
+import japa.parser.ast.stmt.LabeledStmt;
+import japa.parser.ast.stmt.ReturnStmt;
+import japa.parser.ast.stmt.Statement;
+import japa.parser.ast.stmt.SwitchEntryStmt;
+import japa.parser.ast.stmt.SwitchStmt;
+import japa.parser.ast.stmt.SynchronizedStmt;
+import japa.parser.ast.stmt.ThrowStmt;
+import japa.parser.ast.stmt.TryStmt;
+import japa.parser.ast.stmt.TypeDeclarationStmt;
+import japa.parser.ast.stmt.WhileStmt;
+import japa.parser.ast.type.ClassOrInterfaceType;
+import japa.parser.ast.type.PrimitiveType;
+import japa.parser.ast.type.ReferenceType;
+import japa.parser.ast.type.Type;
+import japa.parser.ast.type.VoidType;
+import japa.parser.ast.type.WildcardType;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Walks a tree of nodes without recursion. The walk is reported as a
+ * sequence of events: {@link Event#ENTER} when a node is reached, before
+ * its children, and {@link Event#EXIT} after all of its children, so it
+ * gives both the pre-order and the post-order of the tree:</p>
+ * <pre>
+ * TreeWalker walker = new TreeWalker(root);
+ * while (walker.hasNext()) {
+ *     if (walker.next() == TreeWalker.Event.ENTER) {
+ *         Node n = walker.getNode();
+ *         ...
+ *     }
+ * }
+ * </pre>
+ * <p>Children are walked in the order {@link VoidVisitorAdapter} visits
+ * them. The nodes still to be walked are kept in an array instead of on
+ * the call stack, so a walk uses the same small amount of stack however
+ * deeply the tree is nested; the array holds two slots per pending node.
+ * A walker can be reused for another tree after {@link #reset(Node)}; it
+ * must not be used by two threads at the same time.</p>
+ */
+public final class TreeWalker {
+
+    /**
+     * What happened to the current node of a walk.
+     */
+    public static enum Event {
+        /** the node was reached; its children come next */
+        ENTER,
+        /** all children of the node were walked */
+        EXIT
+    }
+
+    private static final Children CHILDREN = new Children();
+
+    // the pending nodes, the next one last; exits[i] tells whether only the exit of nodes[i] is pending
+    private Node[] nodes = new Node[64];
+
+    private boolean[] exits = new boolean[64];
+
+    private int size;
+
+    private Node node;
+
+    private Event event;
+
+    private int depth;
+
+    // number of nodes entered but not exited yet
+    private int open;
+
+    // whether the children of the entered node still have to be pushed
+    private boolean expand;
+
+    /**
+     * Creates a walker without a tree; call {@link #reset(Node)} before walking.
+     */
+    public TreeWalker() {
+    }
+
+    /**
+     * Creates a walker for the tree below the given node, the node included.
+     * @param root the root of the tree
+     */
+    public TreeWalker(Node root) {
+        reset(root);
+    }
+
+    /**
+     * Starts a new walk of the tree below the given node, the node included.
+     * @param root the root of the tree, or <code>null</code> for an empty walk
+     */
+    public void reset(Node root) {
+        for (int i = 0; i < size; i++) {
+            nodes[i] = null;
+        }
+        size = 0;
+        node = null;
+        event = null;
+        depth = 0;
+        open = 0;
+        expand = false;
+        if (root != null) {
+            push(root, false);
+        }
+    }
+
+    /**
+     * @return whether the walk has more events
+     */
+    public boolean hasNext() {
+        return size > 0;
+    }
+
+    /**
+     * Moves to the next event of the walk.
+     * @return the event, whose node is {@link #getNode()}
+     * @throws NoSuchElementException if the walk is over
+     */
+    public Event next() {
+        if (expand) {
+            expand = false;
+            int first = size;
+            node.accept(CHILDREN, this);
+            // the first child has to be on top
+            for (int i = first, j = size - 1; i < j; i++, j--) {
+                Node n = nodes[i];
+                nodes[i] = nodes[j];
+                nodes[j] = n;
+            }
+        }
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        size--;
+        node = nodes[size];
+        nodes[size] = null;
+        if (exits[size]) {
+            depth = --open;
+            event = Event.EXIT;
+        } else {
+            depth = open++;
+            event = Event.ENTER;
+            push(node, true);
+            expand = true;
+        }
+        return event;
+    }
+
+    /**
+     * Does not walk the children of the node just entered; the next event
+     * is the exit of that node.
+     * @throws IllegalStateException if the current event is not {@link Event#ENTER}
+     */
+    public void skipChildren() {
+        if (event != Event.ENTER) {
+            throw new IllegalStateException("no node was just entered");
+        }
+        expand = false;
+    }
+
+    /**
+     * @return the node of the current event
+     */
+    public Node getNode() {
+        return node;
+    }
+
+    /**
+     * @return the current event, or <code>null</code> before the first one
+     */
+    public Event getEvent() {
+        return event;
+    }
+
+    /**
+     * @return the depth of the node of the current event; the root has depth 0
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    private void push(Node n, boolean exit) {
+        if (size == nodes.length) {
+            Node[] newNodes = new Node[size * 2];
+            System.arraycopy(nodes, 0, newNodes, 0, size);
+            nodes = newNodes;
+            boolean[] newExits = new boolean[size * 2];
+            System.arraycopy(exits, 0, newExits, 0, size);
+            exits = newExits;
+        }
+        nodes[size] = n;
+        exits[size] = exit;
+        size++;
+    }
+
+    void push(Node child) {
+        push(child, false);
+    }
+
+    /**
+     * Pushes the children of a node in the order {@link VoidVisitorAdapter} visits them.
+     */
+    private static final class Children implements VoidVisitor<TreeWalker> {
+
+
+        public void visit(AnnotationDeclaration n, TreeWalker walker) {
+            if (n.getJavaDoc() != null) {
+                walker.push(n.getJavaDoc());
+            }
+            if (n.getAnnotations() != null) {
+                for (AnnotationExpr a : n.getAnnotations()) {
+                    walker.push(a);
+                }
+            }
+            if (n.getMembers() != null) {
+                for (BodyDeclaration member : n.getMembers()) {
+                    walker.push(member);
+                }
+            }
+        }
+
+        public void visit(AnnotationMemberDeclaration n, TreeWalker walker) {
+            if (n.getJavaDoc() != null) {
+                walker.push(n.getJavaDoc());
+            }
+            if (n.getAnnotations() != null) {
+                for (AnnotationExpr a : n.getAnnotations()) {
+                    walker.push(a);
+                }
+            }
+            walker.push(n.getType());
+            if (n.getDefaultValue() != null) {
+                walker.push(n.getDefaultValue());
+            }
+        }
+
+        public void visit(ArrayAccessExpr n, TreeWalker walker) {
+            walker.push(n.getName());
+            walker.push(n.getIndex());
+        }
+
+        public void visit(ArrayCreationExpr n, TreeWalker walker) {
+            walker.push(n.getType());
+            if (n.getDimensions() != null) {
+                for (Expression dim : n.getDimensions()) {
+                    walker.push(dim);
+                }
+            } else {
+                walker.push(n.getInitializer());
+            }
+        }
+
+        public void visit(ArrayInitializerExpr n, TreeWalker walker) {
+            if (n.getValues() != null) {
+                for (Expression expr : n.getValues()) {
+                    walker.push(expr);
+                }
+            }
+        }
+
+        public void visit(AssertStmt n, TreeWalker walker) {
+            walker.push(n.getCheck());
+            if (n.getMessage() != null) {
+                walker.push(n.getMessage());
+            }
+        }
+
+        public void visit(AssignExpr n, TreeWalker walker) {
+            walker.push(n.getTarget());
+            walker.push(n.getValue());
+        }
+
+        public void visit(BinaryExpr n, TreeWalker walker) {
+            walker.push(n.getLeft());
+            walker.push(n.getRight());
+        }
+
+        public void visit(BlockComment n, TreeWalker walker) {
+        }
+
+        public void visit(BlockStmt n, TreeWalker walker) {
+            if (n.getStmts() != null) {
+                for (Statement s : n.getStmts()) {
+                    walker.push(s);
+                }
+            }
+        }
+
+        public void visit(BooleanLiteralExpr n, TreeWalker walker) {
+        }
+
+        public void visit(BreakStmt n, TreeWalker walker) {
+        }
+
+        public void visit(CastExpr n, TreeWalker walker) {
+            walker.push(n.getType());
+            walker.push(n.getExpr());
+        }
+
+        public void visit(CatchClause n, TreeWalker walker) {
+            walker.push(n.getExcept());
+            walker.push(n.getCatchBlock());
+        }
+
+        public void visit(CharLiteralExpr n, TreeWalker walker) {
+        }
+
+        public void visit(ClassExpr n, TreeWalker walker) {
+            walker.push(n.getType());
+        }
+
+        public void visit(ClassOrInterfaceDeclaration n, TreeWalker walker) {
+            if (n.getJavaDoc() != null) {
+                walker.push(n.getJavaDoc());
+            }
+            if (n.getAnnotations() != null) {
+                for (AnnotationExpr a : n.getAnnotations()) {
+                    walker.push(a);
+                }
+            }
+            if (n.getTypeParameters() != null) {
+                for (TypeParameter t : n.getTypeParameters()) {
+                    walker.push(t);
+                }
+            }
+            if (n.getExtends() != null) {
+                for (ClassOrInterfaceType c : n.getExtends()) {
+                    walker.push(c);
+                }
+            }
+
+            if (n.getImplements() != null) {
+                for (ClassOrInterfaceType c : n.getImplements()) {
+                    walker.push(c);
+                }
+            }
+            if (n.getMembers() != null) {
+                for (BodyDeclaration member : n.getMembers()) {
+                    walker.push(member);
+                }
+            }
+        }
+
+        public void visit(ClassOrInterfaceType n, TreeWalker walker) {
+            if (n.getScope() != null) {
+                walker.push(n.getScope());
+            }
+            if (n.getTypeArgs() != null) {
+                for (Type t : n.getTypeArgs()) {
+                    walker.push(t);
+                }
+            }
+        }
+
+        public void visit(CompilationUnit n, TreeWalker walker) {
+            if (n.getPackage() != null) {
+                walker.push(n.getPackage());
+            }
+            if (n.getImports() != null) {
+                for (ImportDeclaration i : n.getImports()) {
+                    walker.push(i);
+                }
+            }
+            if (n.getTypes() != null) {
+                for (TypeDeclaration typeDeclaration : n.getTypes()) {
+                    walker.push(typeDeclaration);
+                }
+            }
+        }
+
+        public void visit(ConditionalExpr n, TreeWalker walker) {
+            walker.push(n.getCondition());
+            walker.push(n.getThenExpr());
+            walker.push(n.getElseExpr());
+        }
+
+        public void visit(ConstructorDeclaration n, TreeWalker walker) {
+            if (n.getJavaDoc() != null) {
+                walker.push(n.getJavaDoc());
+            }
+            if (n.getAnnotations() != null) {
+                for (AnnotationExpr a : n.getAnnotations()) {
+                    walker.push(a);
+                }
+            }
+            if (n.getTypeParameters() != null) {
+                for (TypeParameter t : n.getTypeParameters()) {
+                    walker.push(t);
+                }
+            }
+            if (n.getParameters() != null) {
+                for (Parameter p : n.getParameters()) {
+                    walker.push(p);
+                }
+            }
+            if (n.getThrows() != null) {
+                for (NameExpr name : n.getThrows()) {
+                    walker.push(name);
+                }
+            }
+            walker.push(n.getBlock());
+        }
+
+        public void visit(ContinueStmt n, TreeWalker walker) {
+        }
+
+        public void visit(DoStmt n, TreeWalker walker) {
+            walker.push(n.getBody());
+            walker.push(n.getCondition());
+        }
+
+        public void visit(DoubleLiteralExpr n, TreeWalker walker) {
+        }
+
+        public void visit(EmptyMemberDeclaration n, TreeWalker walker) {
+            if (n.getJavaDoc() != null) {
+                walker.push(n.getJavaDoc());
+            }
+        }
+
+        public void visit(EmptyStmt n, TreeWalker walker) {
+        }
+
+        public void visit(EmptyTypeDeclaration n, TreeWalker walker) {
+            if (n.getJavaDoc() != null) {
+                walker.push(n.getJavaDoc());
+            }
+        }
+
+        public void visit(EnclosedExpr n, TreeWalker walker) {
+            walker.push(n.getInner());
+        }
+
+        public void visit(EnumConstantDeclaration n, TreeWalker walker) {
+            if (n.getJavaDoc() != null) {
+                walker.push(n.getJavaDoc());
+            }
+            if (n.getAnnotations() != null) {
+                for (AnnotationExpr a : n.getAnnotations()) {
+                    walker.push(a);
+                }
+            }
+            if (n.getArgs() != null) {
+                for (Expression e : n.getArgs()) {
+                    walker.push(e);
+                }
+            }
+            if (n.getClassBody() != null) {
+                for (BodyDeclaration member : n.getClassBody()) {
+                    walker.push(member);
+                }
+            }
+        }
+
+        public void visit(EnumDeclaration n, TreeWalker walker) {
+            if (n.getJavaDoc() != null) {
+                walker.push(n.getJavaDoc());
+            }
+            if (n.getAnnotations() != null) {
+                for (AnnotationExpr a : n.getAnnotations()) {
+                    walker.push(a);
+                }
+            }
+            if (n.getImplements() != null) {
+                for (ClassOrInterfaceType c : n.getImplements()) {
+                    walker.push(c);
+                }
+            }
+            if (n.getEntries() != null) {
+                for (EnumConstantDeclaration e : n.getEntries()) {
+                    walker.push(e);
+                }
+            }
+            if (n.getMembers() != null) {
+                for (BodyDeclaration member : n.getMembers()) {
+                    walker.push(member);
+                }
+            }
+        }
+
+        public void visit(ExplicitConstructorInvocationStmt n, TreeWalker walker) {
+            if (!n.isThis()) {
+                if (n.getExpr() != null) {
+                    walker.push(n.getExpr());
+                }
+            }
+            if (n.getTypeArgs() != null) {
+                for (Type t : n.getTypeArgs()) {
+                    walker.push(t);
+                }
+            }
+            if (n.getArgs() != null) {
+                for (Expression e : n.getArgs()) {
+                    walker.push(e);
+                }
+            }
+        }
+
+        public void visit(ExpressionStmt n, TreeWalker walker) {
+            walker.push(n.getExpression());
+        }
+
+        public void visit(FieldAccessExpr n, TreeWalker walker) {
+            walker.push(n.getScope());
+        }
+
+        public void visit(FieldDeclaration n, TreeWalker walker) {
+            if (n.getJavaDoc() != null) {
+                walker.push(n.getJavaDoc());
+            }
+            if (n.getAnnotations() != null) {
+                for (AnnotationExpr a : n.getAnnotations()) {
+                    walker.push(a);
+                }
+            }
+            walker.push(n.getType());
+            for (VariableDeclarator var : n.getVariables()) {
+                walker.push(var);
+            }
+        }
+
+        public void visit(ForeachStmt n, TreeWalker walker) {
+            walker.push(n.getVariable());
+            walker.push(n.getIterable());
+            walker.push(n.getBody());
+        }
+
+        public void visit(ForStmt n, TreeWalker walker) {
+            if (n.getInit() != null) {
+                for (Expression e : n.getInit()) {
+                    walker.push(e);
+                }
+            }
+            if (n.getCompare() != null) {
+                walker.push(n.getCompare());
+            }
+            if (n.getUpdate() != null) {
+                for (Expression e : n.getUpdate()) {
+                    walker.push(e);
+                }
+            }
+            walker.push(n.getBody());
+        }
+
+        public void visit(IfStmt n, TreeWalker walker) {
+            walker.push(n.getCondition());
+            walker.push(n.getThenStmt());
+            if (n.getElseStmt() != null) {
+                walker.push(n.getElseStmt());
+            }
+        }
+
+        public void visit(ImportDeclaration n, TreeWalker walker) {
+            walker.push(n.getName());
+        }
+
+        public void visit(InitializerDeclaration n, TreeWalker walker) {
+            if (n.getJavaDoc() != null) {
+                walker.push(n.getJavaDoc());
+            }
+            walker.push(n.getBlock());
+        }
+
+        public void visit(InstanceOfExpr n, TreeWalker walker) {
+            walker.push(n.getExpr());
+            walker.push(n.getType());
+        }
+
+        public void visit(IntegerLiteralExpr n, TreeWalker walker) {
+        }
+
+        public void visit(IntegerLiteralMinValueExpr n, TreeWalker walker) {
+        }
+
+        public void visit(JavadocComment n, TreeWalker walker) {
+        }
+
+        public void visit(LabeledStmt n, TreeWalker walker) {
+            walker.push(n.getStmt());
+        }
+
+        public void visit(LineComment n, TreeWalker walker) {
+        }
+
+        public void visit(LongLiteralExpr n, TreeWalker walker) {
+        }
+
+        public void visit(LongLiteralMinValueExpr n, TreeWalker walker) {
+        }
+
+        public void visit(MarkerAnnotationExpr n, TreeWalker walker) {
+            walker.push(n.getName());
+        }
+
+        public void visit(MemberValuePair n, TreeWalker walker) {
+            walker.push(n.getValue());
+        }
+
+        public void visit(MethodCallExpr n, TreeWalker walker) {
+            if (n.getScope() != null) {
+                walker.push(n.getScope());
+            }
+            if (n.getTypeArgs() != null) {
+                for (Type t : n.getTypeArgs()) {
+                    walker.push(t);
+                }
+            }
+            if (n.getArgs() != null) {
+                for (Expression e : n.getArgs()) {
+                    walker.push(e);
+                }
+            }
+        }
+
+        public void visit(MethodDeclaration n, TreeWalker walker) {
+            if (n.getJavaDoc() != null) {
+                walker.push(n.getJavaDoc());
+            }
+            if (n.getAnnotations() != null) {
+                for (AnnotationExpr a : n.getAnnotations()) {
+                    walker.push(a);
+                }
+            }
+            if (n.getTypeParameters() != null) {
+                for (TypeParameter t : n.getTypeParameters()) {
+                    walker.push(t);
+                }
+            }
+            walker.push(n.getType());
+            if (n.getParameters() != null) {
+                for (Parameter p : n.getParameters()) {
+                    walker.push(p);
+                }
+            }
+            if (n.getThrows() != null) {
+                for (NameExpr name : n.getThrows()) {
+                    walker.push(name);
+                }
+            }
+            if (n.getBody() != null) {
+                walker.push(n.getBody());
+            }
+        }
+
+        public void visit(NameExpr n, TreeWalker walker) {
+        }
+
+        public void visit(NormalAnnotationExpr n, TreeWalker walker) {
+            walker.push(n.getName());
+            if (n.getPairs() != null) {
+                for (MemberValuePair m : n.getPairs()) {
+                    walker.push(m);
+                }
+            }
+        }
+
+        public void visit(NullLiteralExpr n, TreeWalker walker) {
+        }
+
+        public void visit(ObjectCreationExpr n, TreeWalker walker) {
+            if (n.getScope() != null) {
+                walker.push(n.getScope());
+            }
+            if (n.getTypeArgs() != null) {
+                for (Type t : n.getTypeArgs()) {
+                    walker.push(t);
+                }
+            }
+            walker.push(n.getType());
+            if (n.getArgs() != null) {
+                for (Expression e : n.getArgs()) {
+                    walker.push(e);
+                }
+            }
+            if (n.getAnonymousClassBody() != null) {
+                for (BodyDeclaration member : n.getAnonymousClassBody()) {
+                    walker.push(member);
+                }
+            }
+        }
+
+        public void visit(PackageDeclaration n, TreeWalker walker) {
+            if (n.getAnnotations() != null) {
+                for (AnnotationExpr a : n.getAnnotations()) {
+                    walker.push(a);
+                }
+            }
+            walker.push(n.getName());
+        }
+
+        public void visit(Parameter n, TreeWalker walker) {
+            if (n.getAnnotations() != null) {
+                for (AnnotationExpr a : n.getAnnotations()) {
+                    walker.push(a);
+                }
+            }
+            walker.push(n.getType());
+            walker.push(n.getId());
+        }
+
+        public void visit(PrimitiveType n, TreeWalker walker) {
+        }
+
+        public void visit(QualifiedNameExpr n, TreeWalker walker) {
+            walker.push(n.getQualifier());
+        }
+
+        public void visit(ReferenceType n, TreeWalker walker) {
+            walker.push(n.getType());
+        }
+
+        public void visit(ReturnStmt n, TreeWalker walker) {
+            if (n.getExpr() != null) {
+                walker.push(n.getExpr());
+            }
+        }
+
+        public void visit(SingleMemberAnnotationExpr n, TreeWalker walker) {
+            walker.push(n.getName());
+            walker.push(n.getMemberValue());
+        }
+
+        public void visit(StringLiteralExpr n, TreeWalker walker) {
+        }
+
+        public void visit(SuperExpr n, TreeWalker walker) {
+            if (n.getClassExpr() != null) {
+                walker.push(n.getClassExpr());
+            }
+        }
+
+        public void visit(SwitchEntryStmt n, TreeWalker walker) {
+            if (n.getLabel() != null) {
+                walker.push(n.getLabel());
+            }
+            if (n.getStmts() != null) {
+                for (Statement s : n.getStmts()) {
+                    walker.push(s);
+                }
+            }
+        }
+
+        public void visit(SwitchStmt n, TreeWalker walker) {
+            walker.push(n.getSelector());
+            if (n.getEntries() != null) {
+                for (SwitchEntryStmt e : n.getEntries()) {
+                    walker.push(e);
+                }
+            }
+        }
+
+        public void visit(SynchronizedStmt n, TreeWalker walker) {
+            walker.push(n.getExpr());
+            walker.push(n.getBlock());
+
+        }
+
+        public void visit(ThisExpr n, TreeWalker walker) {
+            if (n.getClassExpr() != null) {
+                walker.push(n.getClassExpr());
+            }
+        }
+
+        public void visit(ThrowStmt n, TreeWalker walker) {
+            walker.push(n.getExpr());
+        }
+
+        public void visit(TryStmt n, TreeWalker walker) {
+            walker.push(n.getTryBlock());
+            if (n.getCatchs() != null) {
+                for (CatchClause c : n.getCatchs()) {
+                    walker.push(c);
+                }
+            }
+            if (n.getFinallyBlock() != null) {
+                walker.push(n.getFinallyBlock());
+            }
+        }
+
+        public void visit(TypeDeclarationStmt n, TreeWalker walker) {
+            walker.push(n.getTypeDeclaration());
+        }
+
+        public void visit(TypeParameter n, TreeWalker walker) {
+            if (n.getTypeBound() != null) {
+                for (ClassOrInterfaceType c : n.getTypeBound()) {
+                    walker.push(c);
+                }
+            }
+        }
+
+        public void visit(UnaryExpr n, TreeWalker walker) {
+            walker.push(n.getExpr());
+        }
+
+        public void visit(VariableDeclarationExpr n, TreeWalker walker) {
+            if (n.getAnnotations() != null) {
+                for (AnnotationExpr a : n.getAnnotations()) {
+                    walker.push(a);
+                }
+            }
+            walker.push(n.getType());
+            for (VariableDeclarator v : n.getVars()) {
+                walker.push(v);
+            }
+        }
+
+        public void visit(VariableDeclarator n, TreeWalker walker) {
+            walker.push(n.getId());
+            if (n.getInit() != null) {
+                walker.push(n.getInit());
+            }
+        }
+
+        public void visit(VariableDeclaratorId n, TreeWalker walker) {
+        }
+
+        public void visit(VoidType n, TreeWalker walker) {
+        }
+
+        public void visit(WhileStmt n, TreeWalker walker) {
+            walker.push(n.getCondition());
+            walker.push(n.getBody());
+        }
+
+        public void visit(WildcardType n, TreeWalker walker) {
+            if (n.getExtends() != null) {
+                walker.push(n.getExtends());
+            }
+            if (n.getSuper() != null) {
+                walker.push(n.getSuper());
+            }
+        }
+    }
+}
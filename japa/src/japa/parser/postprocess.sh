@@ -0,0 +1,73 @@
+# patches the parser that javacc generates from java_1_5.jj; run it in this
+# directory after every javacc run. Each patch must match as often as expected,
+# otherwise nothing is written and the script fails.
+#
+# ASTParser.java: a syntactic lookahead that has scanned enough tokens sets
+# jj_found instead of throwing LookaheadSuccess, and jj_save records nothing
+# while jj_diagnostics is off (both fields are declared in java_1_5.jj).
+
+set -e
+
+# patch FILE, with the perl statements that patch it on standard input
+patch() {
+	perl -e '
+		my ($file) = @ARGV;
+		open(my $in, "<", $file) or die "$file: $!\n";
+		local $/;
+		local $_ = <$in>;
+		close($in);
+		my $nl = /\r\n/ ? "\r\n" : "\n";
+		my $errors = 0;
+		sub expect {
+			my ($what, $found, $wanted) = @_;
+			if ($found != $wanted) {
+				print STDERR "$file: $what matched " . ($found || 0) . " times instead of $wanted\n";
+				$errors++;
+			}
+		}
+		'"$(cat)"'
+		exit 1 if $errors;
+		open(my $out, ">", $file) or die "$file: $!\n";
+		print $out $_;
+		close($out);
+	' "$1"
+}
+
+patch ASTParser.java <<'EOF'
+		# the indentation step of the generated code
+		my $u = /^([ \t]*)private boolean jj_scan_token\(int kind\)\s*\{\R\1([ \t]+)/m ? $2 : "    ";
+
+		my $lookaheads = () = /private boolean jj_2_\d+\(int xla\)/g;
+		expect("jj_2_*", scalar(s{^([ \t]*)try\s*\{\s*return\s*!(jj_3_\d+)\(\);\s*\}\s*catch\s*\(\s*LookaheadSuccess\s+ls\s*\)\s*\{\s*return\s+true;\s*\}\s*finally\s*\{\s*(jj_save\(\d+,\s*xla\);)\s*\}}
+			{$1boolean found = !$2() || jj_found;$nl$1jj_found = false;$nl$1$3$nl$1return found;}gm), $lookaheads);
+
+		expect("LookaheadSuccess", scalar(s{^[ \t]*static private final class LookaheadSuccess extends java\.lang\.Error\s*\{\s*\}[ \t]*\R(?:[ \t]*\R)*[ \t]*final private LookaheadSuccess jj_ls = new LookaheadSuccess\(\);[ \t]*\R(?:[ \t]*\R)?}
+			{}m), 1);
+
+		expect("jj_scan_token", scalar(s{^([ \t]*private boolean jj_scan_token\(int kind\)\s*\{\R)([ \t]*)}
+			{$1$2if (jj_found) {$nl$2${u}return true;$nl$2}$nl$2}m), 1);
+		expect("throw jj_ls", scalar(s{^([ \t]*)if\s*\(jj_la == 0 && jj_scanpos == jj_lastpos\)\s*(?:\{\s*throw jj_ls;\s*\}|throw jj_ls;)}
+			{$1if (jj_la == 0 && jj_scanpos == jj_lastpos) {$nl$1${u}jj_found = true;$nl$1${u}return true;$nl$1}}m), 1);
+
+		# jj_rescan_token: stop scanning the records of a lookahead once it has found enough tokens
+		expect("jj_rescan_token", scalar(s{(private void jj_rescan_token\(\)\s*\{.*?^)([ \t]*)try\s*\{[ \t]*\R(.*?)^[ \t]*\}\s*catch\s*\(\s*LookaheadSuccess\s+ls\s*\)\s*\{\s*\}[ \t]*\R}{
+			my ($head, $indent, $body) = ($1, $2, $3);
+			my $step = $body =~ /^\Q$indent\E([ \t]+)/ ? length($1) : 0;
+			$body =~ s/^[ \t]{$step}//gm;
+			expect("p = p.next", scalar($body =~ s{^([ \t]*)p = p\.next;}
+				{$1if (jj_found) {$nl$1${u}jj_found = false;$nl$1${u}break;$nl$1}$nl$1p = p.next;}m), 1);
+			$head . $body;
+		}ems), 1);
+
+		expect("jj_save", scalar(s{^([ \t]*private void jj_save\(int index, int xla\)\s*\{\R)([ \t]*)}
+			{$1$2if (!jj_diagnostics) {$nl$2${u}return;$nl$2}$nl$2}m), 1);
+
+		expect("jj_ls", scalar(() = /\bjj_ls\b|LookaheadSuccess/g), 0);
+EOF
+
+# ASTParserTokenManager.java: the images of identifiers and literals are taken
+# from the symbol table (declared in java_1_5.jj) when there is one
+patch ASTParserTokenManager.java <<'EOF'
+		expect("jjFillToken", scalar(s{^([ \t]*)curTokenImage = \(im == null\) \? input_stream\.GetImage\(\) : im;(\r?\n)}
+			{$1if (im != null)$2$1   curTokenImage = im;$2$1else if (symbols != null && interned(jjmatchedKind))$2$1   curTokenImage = input_stream.GetImage(symbols);$2$1else$2$1   curTokenImage = input_stream.GetImage();$2}m), 1);
+EOF
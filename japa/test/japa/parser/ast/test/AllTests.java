@@ -15,7 +15,8 @@ import org.junit.runners.Suite.SuiteClasses;
 TestAdapters.class, //
         TestNodePositions.class, //
         TestDumper.class, //
-        TestHashCodeEquals.class })
+        TestHashCodeEquals.class, //
+        TestNormalizedHasher.class })
 public class AllTests {
 
 }
@@ -58,4 +58,39 @@ final class Helper {
         return readFile(getFile(sourceFolder, clazz));
     }
 
+    /**
+     * Returns the printed source of a class with a method that returns
+     * a + a + ... + a, an expression nested as deeply as it has terms.
+     */
+    public static String deepExpressionClass(int terms) {
+        StringBuilder ret = new StringBuilder("class Deep {\n\n    int f(int a) {\n        return a");
+        for (int i = 1; i < terms; i++) {
+            ret.append(" + a");
+        }
+        return ret.append(";\n    }\n}\n").toString();
+    }
+
+    /**
+     * Runs the task in a new thread with the given stack size, and rethrows
+     * what the task threw.
+     */
+    public static void runWithStack(long stackSize, final Runnable task) throws Throwable {
+        final Throwable[] thrown = new Throwable[1];
+        Thread thread = new Thread(null, new Runnable() {
+
+            public void run() {
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    thrown[0] = t;
+                }
+            }
+        }, "small stack", stackSize);
+        thread.start();
+        thread.join();
+        if (thrown[0] != null) {
+            throw thrown[0];
+        }
+    }
+
 }
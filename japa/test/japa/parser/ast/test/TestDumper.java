@@ -88,4 +88,18 @@ public class TestDumper {
         assertEquals(source_without_comment, cu.toString());
         assertEquals(6, cu.getComments().size());
     }
+
+    @Test
+    public void testDeepExpression() throws Throwable {
+        final String source = Helper.deepExpressionClass(50000);
+        final CompilationUnit cu = Helper.parserString(source);
+
+        // printing must not recurse once per operand of a long chain
+        Helper.runWithStack(512 * 1024, new Runnable() {
+
+            public void run() {
+                assertEquals(source, cu.toString());
+            }
+        });
+    }
 }
\ No newline at end of file
@@ -144,4 +144,19 @@ public class TestHashCodeEquals {
 
         assertEqualsAndHashCode(cu1, cu2);
     }
+
+    @Test
+    public void testDeepExpression() throws Throwable {
+        String source = Helper.deepExpressionClass(50000);
+        final CompilationUnit cu1 = Helper.parserString(source);
+        final CompilationUnit cu2 = Helper.parserString(source);
+
+        // hashing and comparing must not recurse once per nesting level
+        Helper.runWithStack(512 * 1024, new Runnable() {
+
+            public void run() {
+                assertEqualsAndHashCode(cu1, cu2);
+            }
+        });
+    }
 }
\ No newline at end of file
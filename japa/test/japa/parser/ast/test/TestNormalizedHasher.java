@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2008 Jlio Vilmar Gesser.
+ * 
+ * This file is part of Java 1.5 parser and Abstract Syntax Tree.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Java 1.5 parser and Abstract Syntax Tree is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Java 1.5 parser and Abstract Syntax Tree.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package japa.parser.ast.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import japa.parser.ast.CompilationUnit;
+import japa.parser.ast.Node;
+import japa.parser.ast.stmt.BlockStmt;
+import japa.parser.ast.stmt.ExpressionStmt;
+import japa.parser.ast.test.classes.DumperTestClass;
+import japa.parser.ast.visitor.NormalizedHasher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * @author J. Hassler Thurston
+ */
+public class TestNormalizedHasher {
+
+    // the fingerprints of the nodes of the given type, in pre-order
+    private List<Long> fingerprints(NormalizedHasher hasher, Class<? extends Node> type) {
+        List<Long> result = new ArrayList<Long>();
+        for (int i = 0; i < hasher.size(); i++) {
+            if (type.isInstance(hasher.getNode(i))) {
+                result.add(hasher.getFingerprint(i));
+            }
+        }
+        return result;
+    }
+
+    private List<Long> statements(String body) throws Exception {
+        CompilationUnit cu = Helper.parserString("class A { void f() { " + body + " } }");
+        return fingerprints(new NormalizedHasher().hash(cu), ExpressionStmt.class);
+    }
+
+    private List<Long> blocks(String body) throws Exception {
+        CompilationUnit cu = Helper.parserString("class A { void f() { " + body + " } }");
+        List<Long> blocks = fingerprints(new NormalizedHasher().hash(cu), BlockStmt.class);
+        // without the body of the method
+        return blocks.subList(1, blocks.size());
+    }
+
+    @Test
+    public void testRenamedCopies() throws Exception {
+        List<Long> f = statements("a = a * b; x = x * y; a = a * 2; x = x * 3; b = b * a;");
+        assertEquals(f.get(0), f.get(1));
+        assertEquals(f.get(2), f.get(3));
+        assertEquals(f.get(0), f.get(4));
+    }
+
+    @Test
+    public void testInconsistentRenaming() throws Exception {
+        List<Long> f = statements("a = a * b; x = y * y; x = x * x; a = b * a;");
+        assertFalse(f.get(0).equals(f.get(1)));
+        assertFalse(f.get(0).equals(f.get(2)));
+        assertFalse(f.get(0).equals(f.get(3)));
+        assertFalse(f.get(1).equals(f.get(2)));
+    }
+
+    @Test
+    public void testNotRenamed() throws Exception {
+        // operators, method names and the kinds of the renamed nodes have to be equal
+        List<Long> f = statements("a = a * b; a = a + b; a = a * f(b); a = a * g(b); a = a * 2; a = a * 2L;");
+        assertFalse(f.get(0).equals(f.get(1)));
+        assertFalse(f.get(2).equals(f.get(3)));
+        assertFalse(f.get(4).equals(f.get(5)));
+        assertFalse(f.get(0).equals(f.get(4)));
+    }
+
+    @Test
+    public void testPreviousUseOutsideSubtree() throws Exception {
+        // the first a of the second statement was used before it, x was not
+        List<Long> f = statements("a = 1; a = a * b; x = x * y;");
+        assertEquals(f.get(1), f.get(2));
+        // within the subtree, the names still have to be renamed consistently
+        f = statements("a = 1; a = b * b; x = x * y;");
+        assertFalse(f.get(1).equals(f.get(2)));
+        // the same for blocks around blocks, where the uses before the inner block lie in the outer one
+        List<Long> b = blocks("{ int a = 0; { a = a * b; } } { int x = 0; { x = x * y; } } { int c = 0; { d = d * e; } }");
+        assertEquals(b.get(0), b.get(2));
+        assertEquals(b.get(1), b.get(3));
+        assertEquals(b.get(1), b.get(5));
+        assertFalse(b.get(0).equals(b.get(4)));
+    }
+
+    @Test
+    public void testSize() throws Exception {
+        CompilationUnit cu = Helper.parserString("class A { void f() { a = a * b; } }");
+        NormalizedHasher hasher = new NormalizedHasher().hash(cu);
+        for (int i = 0; i < hasher.size(); i++) {
+            if (hasher.getNode(i) instanceof ExpressionStmt) {
+                // the statement, the assignment, the product and three names
+                assertEquals(6, hasher.getSize(i));
+            }
+        }
+    }
+
+    @Test
+    public void testIdenticalNodes() throws Exception {
+        // nodes of the same class that print the same have equal fingerprints,
+        // also when the hasher is reused for another tree
+        String source = Helper.readClass("./test", DumperTestClass.class);
+        NormalizedHasher hasher = new NormalizedHasher();
+        hasher.hash(Helper.parserString(Helper.deepExpressionClass(1000)));
+        hasher.hash(Helper.parserString(source));
+        HashMap<String, Long> printed = new HashMap<String, Long>();
+        for (int i = 0; i < hasher.size(); i++) {
+            Node n = hasher.getNode(i);
+            String key = n.getClass().getName() + " " + n;
+            Long fingerprint = printed.get(key);
+            if (fingerprint == null) {
+                printed.put(key, hasher.getFingerprint(i));
+            } else {
+                assertEquals(key, fingerprint, hasher.getFingerprint(i));
+            }
+        }
+        NormalizedHasher other = new NormalizedHasher().hash(Helper.parserString(source));
+        assertEquals(hasher.size(), other.size());
+        for (int i = 0; i < hasher.size(); i++) {
+            assertEquals(hasher.getFingerprint(i), other.getFingerprint(i));
+        }
+    }
+}